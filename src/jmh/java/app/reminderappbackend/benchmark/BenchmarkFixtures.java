@@ -0,0 +1,116 @@
+package app.reminderappbackend.benchmark;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import app.reminderappbackend.ReminderAppBackendApplication;
+import app.reminderappbackend.repository.ReminderRecord;
+import app.reminderappbackend.service.ReminderService;
+import app.reminderappbackend.util.DataTypeConverter;
+import reminderapi.model.PageDTO;
+import reminderapi.model.ReminderForm;
+import reminderapi.model.ReminderListDTO;
+
+/**
+ * ベンチマークで使うリマインダーのデータ
+ * タイトルと説明は data.sql と同程度の長さ（日本語）にそろえている
+ */
+final class BenchmarkFixtures {
+
+  private static final int INSERT_BATCH_SIZE = 500;
+  private static final LocalDate BASE_DUE_DATE = LocalDate.of(2024, 1, 1);
+  private static final LocalDateTime CREATED_AT = LocalDateTime.of(2023, 9, 14, 9, 0);
+
+  private BenchmarkFixtures() {
+  }
+
+  static ReminderRecord record(long id) {
+    return new ReminderRecord(
+      id,
+      "カレーのルーを購入する " + id,
+      "夕飯がカレーなのでカレーのルーを買います",
+      BASE_DUE_DATE.plusDays(id % 365),
+      (int) (id % 3),
+      id % 2 == 0,
+      CREATED_AT,
+      CREATED_AT,
+      0L
+    );
+  }
+
+  /**
+   * 一覧を view=summary で取得したときのレコード（description, createdAt, updatedAt は読み出さない）
+   */
+  static ReminderRecord summaryRecord(long id) {
+    var record = record(id);
+
+    return new ReminderRecord(
+      record.getId(),
+      record.getTitle(),
+      null,
+      record.getDueDate(),
+      record.getPriority(),
+      record.isCompleted(),
+      null,
+      null,
+      record.getVersion()
+    );
+  }
+
+  /**
+   * recordList を GET /reminders/（limit = recordList の件数、offset = 0）のレスポンスにする
+   */
+  static ReminderListDTO listDTO(List<ReminderRecord> recordList) {
+    var converter = new DataTypeConverter();
+    var dtoList = recordList.stream()
+      .map(record -> converter.toReminderDTO(converter.toReminderEntity(record)))
+      .collect(Collectors.toList());
+
+    var dto = new ReminderListDTO();
+    dto.setPage(new PageDTO(recordList.size(), 0L, dtoList.size()));
+    dto.setResults(dtoList);
+
+    return dto;
+  }
+
+  static ReminderForm form(long i) {
+    return new ReminderForm(
+      "カレーのルーを購入する " + i,
+      "夕飯がカレーなのでカレーのルーを買います",
+      BASE_DUE_DATE.plusDays(i % 365),
+      (int) (i % 3),
+      i % 2 == 0
+    );
+  }
+
+  /**
+   * アプリケーションのコンテキスト（Webサーバ以外）を起動し、インメモリの H2 に rowCount 件のリマインダーを登録する
+   */
+  static ConfigurableApplicationContext startApplication(int rowCount) {
+    var context = new SpringApplicationBuilder(ReminderAppBackendApplication.class)
+      .web(WebApplicationType.NONE)
+      .properties(
+        "spring.main.banner-mode=off",
+        "logging.level.root=WARN"
+      )
+      .run();
+
+    var reminderService = context.getBean(ReminderService.class);
+    for (long from = 0; from < rowCount; from += INSERT_BATCH_SIZE) {
+      var formList = LongStream.range(from, Math.min(from + INSERT_BATCH_SIZE, rowCount))
+        .mapToObj(BenchmarkFixtures::form)
+        .collect(Collectors.toList());
+      reminderService.createAll(formList);
+    }
+
+    return context;
+  }
+
+}
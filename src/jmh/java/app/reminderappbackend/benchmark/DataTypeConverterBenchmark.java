@@ -0,0 +1,48 @@
+package app.reminderappbackend.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import app.reminderappbackend.repository.ReminderRecord;
+import app.reminderappbackend.service.ReminderEntity;
+import app.reminderappbackend.util.DataTypeConverter;
+import reminderapi.model.ReminderDTO;
+
+/**
+ * 1件あたりの Record → Entity → DTO の変換コスト
+ * 一覧取得では、この変換がページの件数（最大100件）だけ繰り返される
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class DataTypeConverterBenchmark {
+
+  private final DataTypeConverter converter = new DataTypeConverter();
+
+  private ReminderRecord record;
+  private ReminderEntity entity;
+
+  @Setup
+  public void setUp() {
+    record = BenchmarkFixtures.record(1);
+    entity = converter.toReminderEntity(record);
+  }
+
+  @Benchmark
+  public ReminderEntity toReminderEntity() {
+    return converter.toReminderEntity(record);
+  }
+
+  @Benchmark
+  public ReminderDTO toReminderDTO() {
+    return converter.toReminderDTO(entity);
+  }
+
+}
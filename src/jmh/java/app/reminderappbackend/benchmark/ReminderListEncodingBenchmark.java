@@ -0,0 +1,85 @@
+package app.reminderappbackend.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import app.reminderappbackend.config.JacksonConfig;
+import reminderapi.model.ReminderListDTO;
+
+/**
+ * GET /reminders/ の limit=100 のレスポンス（ReminderListDTO）を、レスポンスの形式ごとに書き出すコスト
+ * - json: Accept: application/json（圧縮なし）
+ * - json+gzip: JSON を server.compression と同じ既定の圧縮レベルで gzip 圧縮したもの
+ * - cbor / smile: Accept: application/cbor / application/x-jackson-smile
+ * 実行時間（CPU のコスト）と、セットアップ時に出力する1レスポンスあたりのバイト数を比べて、どの形式がどれだけ得かを判断する
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ReminderListEncodingBenchmark {
+
+  private static final int LIMIT = 100;
+
+  @Param({"json", "json+gzip", "cbor", "smile"})
+  public String format;
+
+  private ObjectWriter writer;
+  private boolean gzip;
+  private ReminderListDTO listDTO;
+
+  @Setup
+  public void setUp() throws IOException {
+    var factory = switch (format) {
+      case "json", "json+gzip" -> new JsonFactory();
+      case "cbor" -> new CBORFactory();
+      case "smile" -> new SmileFactory();
+      default -> throw new IllegalArgumentException("Unknown format: " + format);
+    };
+    // WebMvcConfig / ReactiveConfig と同じく、Spring Boot と同じ設定の Jackson2ObjectMapperBuilder から作る
+    var builder = Jackson2ObjectMapperBuilder.json().factory(factory);
+    new JacksonConfig().reminderDTOInclusionCustomizer().customize(builder);
+    writer = builder.build().writerFor(ReminderListDTO.class);
+    gzip = format.endsWith("+gzip");
+
+    listDTO = BenchmarkFixtures.listDTO(LongStream.rangeClosed(1, LIMIT)
+      .mapToObj(id -> BenchmarkFixtures.record(id))
+      .collect(Collectors.toList()));
+
+    System.out.printf("%n%s: %d bytes per response%n", format, encode().length);
+  }
+
+  @Benchmark
+  public byte[] encode() throws IOException {
+    var out = new ByteArrayOutputStream();
+    if (!gzip) {
+      writer.writeValue(out, listDTO);
+      return out.toByteArray();
+    }
+
+    try (var gzipOut = new GZIPOutputStream(out)) {
+      writer.writeValue(gzipOut, listDTO);
+    }
+
+    return out.toByteArray();
+  }
+
+}
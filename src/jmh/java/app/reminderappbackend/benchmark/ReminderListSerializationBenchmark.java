@@ -0,0 +1,62 @@
+package app.reminderappbackend.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import app.reminderappbackend.config.JacksonConfig;
+import reminderapi.model.ReminderListDTO;
+
+/**
+ * GET /reminders/ の limit=100 のレスポンス（ReminderListDTO）を JSON にシリアライズするコスト
+ * ObjectMapper は Spring Boot と同じく Jackson2ObjectMapperBuilder で作る（日時は ISO-8601 の文字列で書き出す）
+ * view=summary のレスポンス（description, createdAt, updatedAt を省いたもの）と比較できるようにしている
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ReminderListSerializationBenchmark {
+
+  private static final int LIMIT = 100;
+
+  private ObjectWriter writer;
+  private ReminderListDTO listDTO;
+  private ReminderListDTO summaryListDTO;
+
+  @Setup
+  public void setUp() {
+    var builder = Jackson2ObjectMapperBuilder.json();
+    new JacksonConfig().reminderDTOInclusionCustomizer().customize(builder);
+    writer = builder.build().writerFor(ReminderListDTO.class);
+
+    listDTO = BenchmarkFixtures.listDTO(LongStream.rangeClosed(1, LIMIT)
+      .mapToObj(id -> BenchmarkFixtures.record(id))
+      .collect(Collectors.toList()));
+    summaryListDTO = BenchmarkFixtures.listDTO(LongStream.rangeClosed(1, LIMIT)
+      .mapToObj(id -> BenchmarkFixtures.summaryRecord(id))
+      .collect(Collectors.toList()));
+  }
+
+  @Benchmark
+  public byte[] writeValueAsBytes() throws JsonProcessingException {
+    return writer.writeValueAsBytes(listDTO);
+  }
+
+  @Benchmark
+  public byte[] writeSummaryValueAsBytes() throws JsonProcessingException {
+    return writer.writeValueAsBytes(summaryListDTO);
+  }
+
+}
@@ -0,0 +1,69 @@
+package app.reminderappbackend.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import app.reminderappbackend.repository.ReminderProjection;
+import app.reminderappbackend.repository.ReminderRecord;
+import app.reminderappbackend.repository.ReminderRepository;
+
+/**
+ * 同じ一覧取得（limit=100）を、静的に定義したステートメントと ReminderSqlProvider で組み立てるステートメントで比較する
+ * 静的なステートメントは起動時に1度だけ解析されるが、プロバイダは呼び出しごとに SQL を組み立てて解析し直す
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ReminderRepositoryBenchmark {
+
+  private static final int ROW_COUNT = 1_000;
+  private static final int LIMIT = 100;
+  private static final long OFFSET = 0L;
+
+  private ConfigurableApplicationContext context;
+  private ReminderRepository reminderRepository;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = BenchmarkFixtures.startApplication(ROW_COUNT);
+    reminderRepository = context.getBean(ReminderRepository.class);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public List<ReminderRecord> selectListStatic() {
+    return reminderRepository.selectList(LIMIT, OFFSET);
+  }
+
+  @Benchmark
+  public List<ReminderRecord> selectListByProvider() {
+    // 絞り込み条件が null の場合、プロバイダは selectListStatic と同じ SQL を組み立てる
+    return reminderRepository.selectListByCriteria(LIMIT, OFFSET, null, ReminderProjection.FULL);
+  }
+
+  @Benchmark
+  public List<ReminderRecord> selectSummaryList() {
+    return reminderRepository.selectSummaryList(LIMIT, OFFSET);
+  }
+
+  @Benchmark
+  public ReminderRecord selectById() {
+    return reminderRepository.selectById(1L).orElseThrow();
+  }
+
+}
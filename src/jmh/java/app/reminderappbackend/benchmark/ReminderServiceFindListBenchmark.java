@@ -0,0 +1,65 @@
+package app.reminderappbackend.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import app.reminderappbackend.service.ReminderEntity;
+import app.reminderappbackend.service.ReminderService;
+
+/**
+ * インメモリの H2 に対する ReminderService#findList（SQLの実行・マッピング・Entityへの変換）のコスト
+ * アプリケーションのコンテキスト（Webサーバ以外）をそのまま起動し、ROW_COUNT 件を登録してから計測する
+ * 同じ位置のページをカーソル（findListAfter）で取得した場合と比較できるようにしている
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ReminderServiceFindListBenchmark {
+
+  private static final int ROW_COUNT = 10_000;
+  private static final int LIMIT = 100;
+
+  // 取得するページの位置（先頭付近と末尾付近）
+  @Param({"100", "9000"})
+  public long offset;
+
+  private ConfigurableApplicationContext context;
+  private ReminderService reminderService;
+  private ReminderEntity lastOfPreviousPage;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = BenchmarkFixtures.startApplication(ROW_COUNT);
+    reminderService = context.getBean(ReminderService.class);
+
+    lastOfPreviousPage = reminderService.findList(1, offset - 1).get(0);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public List<ReminderEntity> findList() {
+    return reminderService.findList(LIMIT, offset);
+  }
+
+  @Benchmark
+  public List<ReminderEntity> findListAfter() {
+    return reminderService.findListAfter(LIMIT, lastOfPreviousPage.getDueDate(), lastOfPreviousPage.getId(), null);
+  }
+
+}
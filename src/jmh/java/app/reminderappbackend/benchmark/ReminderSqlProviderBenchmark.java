@@ -0,0 +1,48 @@
+package app.reminderappbackend.benchmark;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import app.reminderappbackend.repository.ReminderCriteria;
+import app.reminderappbackend.repository.ReminderProjection;
+import app.reminderappbackend.repository.ReminderSqlProvider;
+
+/**
+ * ReminderSqlProvider の SQL の組み立てコスト
+ * @SelectProvider の SQL はリクエストごとに組み立てられる（MyBatis はプロバイダの結果をキャッシュしない）ため、絞り込み条件を指定した読み取り経路に含まれる
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ReminderSqlProviderBenchmark {
+
+  private final ReminderSqlProvider provider = new ReminderSqlProvider();
+  private final ReminderCriteria criteria = new ReminderCriteria(false, 1, LocalDate.of(2024, 12, 31), null);
+  private final List<Long> ids = LongStream.rangeClosed(1, 10).boxed().collect(Collectors.toList());
+
+  @Benchmark
+  public String selectListByCriteria() {
+    return provider.selectListByCriteria(100, 0L, criteria, ReminderProjection.FULL);
+  }
+
+  @Benchmark
+  public String selectListAfterByCriteria() {
+    return provider.selectListAfterByCriteria(100, LocalDate.of(2024, 1, 1), 1L, criteria, ReminderProjection.FULL);
+  }
+
+  @Benchmark
+  public String selectByIds() {
+    return provider.selectByIds(ids);
+  }
+
+}
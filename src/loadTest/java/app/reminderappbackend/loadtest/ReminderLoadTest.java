@@ -0,0 +1,233 @@
+package app.reminderappbackend.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 起動中のサーバへ負荷をかける負荷試験クライアント
+ * 同時接続数ごとに、指定した時間だけ「一覧取得」と「1件取得」を交互に送り続け、スループットと p50/p99 レイテンシを出力する
+ *
+ * スレッドモデルの差はリクエストがDBの応答を待つ（ブロックする）間に現れるため、キャッシュに当たるリクエストだけでは比較にならない
+ * そのため、計測の前にキャッシュの上限（reminder.cache.maximum-size）より十分多いリマインダーを一括作成し、
+ * 1件取得はその中からランダムなIDを、一覧取得はランダムな offset を指定して、ほとんどのリクエストがDBを読むようにする
+ * 作成したリマインダーは、計測の後に一括削除する
+ *
+ * プラットフォームスレッド（デフォルト）と virtual-threads プロファイルのそれぞれでサーバを起動して実行し、結果を比較する
+ * 1万接続を張るため、クライアント・サーバともにファイルディスクリプタの上限（ulimit -n）を引き上げておくこと
+ *
+ * 受付制御（503）とレート制限（429）で拒否されたリクエストは、すぐに返るためレイテンシを小さく見せてしまう
+ * そのため、レイテンシとスループットは成功（2xx/3xx）したリクエストだけで求め、拒否された件数は rejected として別に出力する
+ * サーバは loadtest プロファイル（上限を引き上げる）を付けて起動すること
+ *
+ * 引数: baseUrl 同時接続数（カンマ区切り） 計測時間（ISO-8601） [作成するリマインダーの件数（デフォルト 100000）]
+ */
+public class ReminderLoadTest {
+
+  // リクエストごとのタイムアウト。これを超えたリクエストはエラーとして数える
+  private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+  // 計測前に、JIT コンパイルやコネクションプールを温めるための時間
+  private static final Duration WARM_UP = Duration.ofSeconds(10);
+  // 作成するリマインダーの件数のデフォルト（キャッシュの上限のデフォルト 10000 より十分多くする）
+  private static final int DEFAULT_SEED_COUNT = 100_000;
+  // 一括作成・一括削除の1リクエストあたりの件数（API の上限）
+  private static final int CREATE_BATCH_SIZE = 1_000;
+  private static final int DELETE_BATCH_SIZE = 10_000;
+  private static final Pattern CREATED_IDS = Pattern.compile("\"createdIds\"\\s*:\\s*\\[([^\\]]*)\\]");
+
+  public static void main(String[] args) throws Exception {
+    var baseUrl = args[0];
+    var concurrencyList = Arrays.stream(args[1].split(",")).map(String::trim).map(Integer::valueOf).toList();
+    var duration = Duration.parse(args[2]);
+    var seedCount = (args.length > 3) ? Integer.parseInt(args[3]) : DEFAULT_SEED_COUNT;
+
+    // クライアント側がボトルネックにならないよう、仮想スレッドで接続ごとにリクエストを送る
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      var client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .executor(executor)
+        .connectTimeout(REQUEST_TIMEOUT)
+        .build();
+
+      var seededIds = seed(client, baseUrl, seedCount);
+      try {
+        measure(client, baseUrl, concurrencyList, duration, seededIds);
+      } finally {
+        cleanUp(client, baseUrl, seededIds);
+      }
+    }
+  }
+
+  private static void measure(HttpClient client, String baseUrl, List<Integer> concurrencyList, Duration duration, long[] seededIds)
+    throws InterruptedException {
+    run(client, baseUrl, concurrencyList.get(0), WARM_UP, seededIds);
+
+    System.out.printf("%12s %12s %14s %10s %10s %10s %8s%n",
+      "concurrency", "requests", "throughput/s", "p50(ms)", "p99(ms)", "rejected", "errors");
+    long totalRejectedCount = 0;
+    for (var concurrency : concurrencyList) {
+      var result = run(client, baseUrl, concurrency, duration, seededIds);
+      System.out.printf("%12d %12d %14.1f %10.2f %10.2f %10d %8d%n",
+        concurrency,
+        result.latencyNanos.length,
+        result.latencyNanos.length / (double) duration.toSeconds(),
+        percentileMillis(result.latencyNanos, 0.50),
+        percentileMillis(result.latencyNanos, 0.99),
+        result.rejectedCount,
+        result.errorCount);
+      totalRejectedCount += result.rejectedCount;
+    }
+
+    if (totalRejectedCount > 0) {
+      System.out.println();
+      System.out.println("WARNING: " + totalRejectedCount + " requests were rejected by admission control (503) or rate limiting (429).");
+      System.out.println("         Start the server with the 'loadtest' profile to raise the limits, e.g. --spring.profiles.active=loadtest,virtual-threads");
+    }
+  }
+
+  /**
+   * 負荷をかける対象のリマインダーを、一括作成で seedCount 件作成する
+   *
+   * @return 作成したリマインダーのID
+   */
+  private static long[] seed(HttpClient client, String baseUrl, int seedCount) throws IOException, InterruptedException {
+    var item = "{\"title\":\"load test\",\"description\":\"load test\",\"dueDate\":\"2030-01-01\",\"priority\":1,\"isCompleted\":false}";
+    var idList = new ArrayList<Long>(seedCount);
+    for (int created = 0; created < seedCount; created += CREATE_BATCH_SIZE) {
+      var body = String.join(",", Collections.nCopies(Math.min(CREATE_BATCH_SIZE, seedCount - created), item));
+      var request = HttpRequest.newBuilder(URI.create(baseUrl + "/reminders/batch"))
+        .timeout(REQUEST_TIMEOUT)
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofString("[" + body + "]"))
+        .build();
+      var response = client.send(request, HttpResponse.BodyHandlers.ofString());
+      var matcher = CREATED_IDS.matcher(response.body());
+      if (response.statusCode() != 200 || !matcher.find()) {
+        throw new IllegalStateException("Failed to seed reminders: status=" + response.statusCode());
+      }
+      Arrays.stream(matcher.group(1).split(","))
+        .map(String::trim)
+        .filter(id -> !id.isEmpty())
+        .forEach(id -> idList.add(Long.valueOf(id)));
+    }
+    System.out.println("Seeded " + idList.size() + " reminders");
+
+    return idList.stream().mapToLong(Long::longValue).toArray();
+  }
+
+  /**
+   * seed で作成したリマインダーを一括削除する
+   */
+  private static void cleanUp(HttpClient client, String baseUrl, long[] seededIds) throws IOException, InterruptedException {
+    for (int from = 0; from < seededIds.length; from += DELETE_BATCH_SIZE) {
+      var ids = Arrays.stream(seededIds, from, Math.min(from + DELETE_BATCH_SIZE, seededIds.length))
+        .mapToObj(Long::toString)
+        .collect(Collectors.joining(","));
+      var request = HttpRequest.newBuilder(URI.create(baseUrl + "/reminders/batch/delete"))
+        .timeout(REQUEST_TIMEOUT)
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofString("{\"ids\":[" + ids + "]}"))
+        .build();
+      client.send(request, HttpResponse.BodyHandlers.discarding());
+    }
+  }
+
+  private static Result run(HttpClient client, String baseUrl, int concurrency, Duration duration, long[] seededIds)
+    throws InterruptedException {
+    var deadline = System.nanoTime() + duration.toNanos();
+    var latencyListPerWorker = new ArrayList<long[]>(concurrency);
+    var rejectedCount = new LongAdder();
+    var errorCount = new LongAdder();
+    var finished = new CountDownLatch(concurrency);
+
+    for (int i = 0; i < concurrency; i++) {
+      var latencies = new LatencyRecorder();
+      Thread.ofVirtual().start(() -> {
+        try {
+          while (System.nanoTime() < deadline) {
+            var request = nextRequest(baseUrl, seededIds);
+            long start = System.nanoTime();
+            try {
+              var response = client.send(request, HttpResponse.BodyHandlers.discarding());
+              if (response.statusCode() == 429 || response.statusCode() == 503) {
+                rejectedCount.increment();
+                continue;
+              }
+              if (response.statusCode() >= 400) {
+                errorCount.increment();
+                continue;
+              }
+              latencies.record(System.nanoTime() - start);
+            } catch (Exception ex) {
+              errorCount.increment();
+            }
+          }
+        } finally {
+          synchronized (latencyListPerWorker) {
+            latencyListPerWorker.add(latencies.toArray());
+          }
+          finished.countDown();
+        }
+      });
+    }
+    finished.await();
+
+    var latencyNanos = latencyListPerWorker.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+    return new Result(latencyNanos, rejectedCount.sum(), errorCount.sum());
+  }
+
+  private static HttpRequest nextRequest(String baseUrl, long[] seededIds) {
+    var random = ThreadLocalRandom.current();
+    // 一覧取得（ランダムな offset）と1件取得（作成したリマインダーのランダムなID）を半々で送る
+    // 1件取得はキャッシュの上限より多いIDに散らばるため大半がキャッシュに当たらず、一覧取得は offset の分だけ行を読み飛ばすため、どちらもDBを待つ
+    var uri = random.nextBoolean()
+      ? URI.create(baseUrl + "/reminders/?limit=10&offset=" + random.nextInt(seededIds.length))
+      : URI.create(baseUrl + "/reminders/" + seededIds[random.nextInt(seededIds.length)]);
+
+    return HttpRequest.newBuilder(uri).timeout(REQUEST_TIMEOUT).GET().build();
+  }
+
+  private static double percentileMillis(long[] sortedNanos, double percentile) {
+    if (sortedNanos.length == 0) {
+      return Double.NaN;
+    }
+    int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+    return sortedNanos[Math.max(index, 0)] / 1_000_000.0;
+  }
+
+  private record Result(long[] latencyNanos, long rejectedCount, long errorCount) {
+  }
+
+  /**
+   * 1つの仮想スレッドだけが書き込むレイテンシの記録（ロック不要）
+   */
+  private static class LatencyRecorder {
+    private long[] values = new long[1024];
+    private int size = 0;
+
+    void record(long nanos) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size * 2);
+      }
+      values[size++] = nanos;
+    }
+
+    long[] toArray() {
+      return Arrays.copyOf(values, size);
+    }
+  }
+
+}
@@ -0,0 +1,504 @@
+package app.reminderappbackend.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import org.apache.ibatis.jdbc.SQL;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.stereotype.Component;
+
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reminderapi.model.ReminderForm;
+
+/**
+ * ReminderRepository と同じ操作を、R2DBC（ノンブロッキングなDBドライバ）で実行するリポジトリ
+ * reactive プロファイルでのみ有効。SQL は ReminderSqlProvider と同じものを、DatabaseClient の名前付きパラメータ（:name）で組み立てる
+ * 統計カウンタの照合用の集計（countXxx）は、バックグラウンドで実行されるため ReminderRepository（JDBC）のまま使う
+ */
+@Component
+@Profile("reactive")
+public class ReactiveReminderRepository {
+
+  private static final String DATABASE_NAME_POSTGRESQL = "PostgreSQL";
+
+  private final DatabaseClient databaseClient;
+  private final boolean isPostgreSql;
+
+  public ReactiveReminderRepository(ConnectionFactory connectionFactory) {
+    this.databaseClient = DatabaseClient.create(connectionFactory);
+    this.isPostgreSql = DATABASE_NAME_POSTGRESQL.equals(connectionFactory.getMetadata().getName());
+  }
+
+  /**
+   * IDに紐づくリマインダーを取得する
+   *
+   * @param id リマインダーを取得する一意ID
+   * @return Mono<ReminderRecord>（IDが存在しない場合は空）
+   */
+  public Mono<ReminderRecord> selectById(Long id) {
+    var sql = new SQL() {{
+      SELECT("*");
+      FROM("REMINDER");
+      WHERE("id = :id");
+    }}.toString();
+
+    return databaseClient.sql(sql)
+      .bind("id", id)
+      .map(ReactiveReminderRepository::toReminderRecord)
+      .one();
+  }
+
+  /**
+   * IDのリストに含まれるリマインダーを取得する（並び順は不定）
+   *
+   * @param ids 取得するリマインダーのID（1件以上）
+   * @return Flux<ReminderRecord>
+   */
+  public Flux<ReminderRecord> selectByIds(List<Long> ids) {
+    var sql = new SQL() {{
+      SELECT("*");
+      FROM("REMINDER");
+      // コレクションをバインドすると、DatabaseClient が要素数分のプレースホルダに展開する
+      WHERE("id IN (:ids)");
+    }}.toString();
+
+    return databaseClient.sql(sql)
+      .bind("ids", ids)
+      .map(ReactiveReminderRepository::toReminderRecord)
+      .all();
+  }
+
+  /**
+   * 絞り込み条件に一致するリマインダーのうち、limitとoffsetに基づくリストを取得する
+   *
+   * @param limit リストに含まれるリソースの最大値
+   * @param offset オフセット
+   * @param criteria 絞り込み条件（null の場合は絞り込まない）
+   * @param projection 読み出す列の範囲
+   * @return Flux<ReminderRecord>
+   */
+  public Flux<ReminderRecord> selectList(Integer limit, Long offset, ReminderCriteria criteria, ReminderProjection projection) {
+    var sql = new SQL() {{
+      SELECT(columns(projection));
+      FROM("REMINDER");
+      if (criteria != null) {
+        whereCriteria(this, criteria);
+      }
+      ORDER_BY("due_date", "id");
+      LIMIT(":limit");
+      OFFSET(":offset");
+    }}.toString();
+
+    var spec = databaseClient.sql(sql)
+      .bind("limit", limit)
+      .bind("offset", offset);
+
+    return bindCriteria(spec, criteria)
+      .map(ReactiveReminderRepository::toReminderRecord)
+      .all();
+  }
+
+  /**
+   * 絞り込み条件に一致するリマインダーのうち、(due_date, id) が指定したキーより後ろのリストを取得する（カーソルページング用）
+   *
+   * @param limit リストに含まれるリソースの最大値
+   * @param afterDueDate 前ページ最終要素の期限
+   * @param afterId 前ページ最終要素のID
+   * @param criteria 絞り込み条件（null の場合は絞り込まない）
+   * @param projection 読み出す列の範囲
+   * @return Flux<ReminderRecord>
+   */
+  public Flux<ReminderRecord> selectListAfter(
+    Integer limit,
+    LocalDate afterDueDate,
+    Long afterId,
+    ReminderCriteria criteria,
+    ReminderProjection projection
+  ) {
+    var sql = new SQL() {{
+      SELECT(columns(projection));
+      FROM("REMINDER");
+      if (criteria != null) {
+        whereCriteria(this, criteria);
+      }
+      // (due_date, id) > (afterDueDate, afterId) を、インデックスの先頭列で範囲検索できる形に展開している
+      WHERE("due_date >= :afterDueDate");
+      WHERE("(due_date > :afterDueDate OR id > :afterId)");
+      ORDER_BY("due_date", "id");
+      LIMIT(":limit");
+    }}.toString();
+
+    var spec = databaseClient.sql(sql)
+      .bind("limit", limit)
+      .bind("afterDueDate", afterDueDate)
+      .bind("afterId", afterId);
+
+    return bindCriteria(spec, criteria)
+      .map(ReactiveReminderRepository::toReminderRecord)
+      .all();
+  }
+
+  /**
+   * 全リマインダーをID順に読み出す
+   * 購読側の要求（request(n)）に合わせて行を取り出すため、全件をメモリに載せない
+   *
+   * @return Flux<ReminderRecord>
+   */
+  public Flux<ReminderRecord> selectAll() {
+    var sql = new SQL() {{
+      SELECT("*");
+      FROM("REMINDER");
+      ORDER_BY("id");
+    }}.toString();
+
+    return databaseClient.sql(sql)
+      .filter(statement -> statement.fetchSize(1000))
+      .map(ReactiveReminderRepository::toReminderRecord)
+      .all();
+  }
+
+  /**
+   * リマインダー作成する
+   *
+   * @param record 作成するリマインダーの record（id は null）
+   * @return Mono<ReminderRecord> 自動採番されたIDをセットした record
+   */
+  public Mono<ReminderRecord> insert(ReminderRecord record) {
+    var sql = new SQL() {{
+      INSERT_INTO("REMINDER");
+      VALUES("title", ":title");
+      VALUES("description", ":description");
+      VALUES("due_date", ":dueDate");
+      VALUES("priority", ":priority");
+      VALUES("is_completed", ":isCompleted");
+      VALUES("created_at", ":createdAt");
+      VALUES("updated_at", ":updatedAt");
+      VALUES("version", ":version");
+    }}.toString();
+
+    var spec = databaseClient.sql(sql)
+      .bind("title", record.getTitle())
+      .bind("description", record.getDescription())
+      .bind("dueDate", record.getDueDate());
+    spec = bindNullable(spec, "priority", record.getPriority(), Integer.class)
+      .bind("isCompleted", record.isCompleted())
+      .bind("createdAt", record.getCreatedAt())
+      .bind("updatedAt", record.getUpdatedAt())
+      .bind("version", record.getVersion());
+
+    return spec
+      .filter(statement -> statement.returnGeneratedValues("id"))
+      .map(row -> toLong(row.get("id", Number.class)))
+      .one()
+      .map(id -> withId(record, id));
+  }
+
+  /**
+   * 版番号が expectedVersions のいずれかに一致する場合だけ、リマインダー更新する
+   *
+   * @param id 更新するリマインダーのID
+   * @param reminderForm クライアントからPOSTされるフォーム
+   * @param expectedVersions 更新前の版番号の候補（1件以上。null の場合は版番号を確認しない）
+   * @return Mono<ReminderRecord> 更新後のレコード（IDが存在しない場合、または版番号が一致しない場合は空）
+   */
+  public Mono<ReminderRecord> update(Long id, ReminderForm reminderForm, List<Long> expectedVersions) {
+    var update = new SQL() {{
+      UPDATE("REMINDER");
+      SET("title = :title");
+      SET("description = :description");
+      SET("due_date = :dueDate");
+      SET("priority = :priority");
+      SET("is_completed = :isCompleted");
+      SET("updated_at = CURRENT_TIMESTAMP");
+      SET("version = version + 1");
+      WHERE("id = :id");
+      if (expectedVersions != null) {
+        WHERE("version IN (:expectedVersions)");
+      }
+    }}.toString();
+
+    var spec = databaseClient.sql(returningAll(update))
+      .bind("id", id)
+      .bind("title", reminderForm.getTitle())
+      .bind("description", reminderForm.getDescription())
+      .bind("dueDate", reminderForm.getDueDate());
+    spec = bindNullable(spec, "priority", reminderForm.getPriority(), Integer.class);
+    spec = bindNullable(spec, "isCompleted", reminderForm.getIsCompleted(), Boolean.class);
+    if (expectedVersions != null) {
+      spec = spec.bind("expectedVersions", expectedVersions);
+    }
+
+    return spec
+      .map(ReactiveReminderRepository::toReminderRecord)
+      .one();
+  }
+
+  /**
+   * IDのリスト、または絞り込み条件に一致するリマインダーの 完了/未完了・優先度 を一括更新する
+   * ids と criteria は null の方が条件に含まれない。isCompleted と priority は null の方を更新しない
+   *
+   * @param ids 更新するリマインダーのID
+   * @param criteria 更新するリマインダーの絞り込み条件
+   * @param isCompleted 更新後の 完了/未完了
+   * @param priority 更新後の優先度
+   * @return Flux<ReminderRecord> 更新後のレコード
+   */
+  public Flux<ReminderRecord> bulkUpdate(List<Long> ids, ReminderCriteria criteria, Boolean isCompleted, Integer priority) {
+    var update = new SQL() {{
+      UPDATE("REMINDER");
+      setBulkUpdateFields(this, isCompleted, priority);
+      if (ids != null) {
+        WHERE("id IN (:ids)");
+      }
+      if (criteria != null) {
+        whereCriteria(this, criteria);
+      }
+    }}.toString();
+
+    var spec = databaseClient.sql(returningAll(update));
+    spec = bindNullable(spec, "isCompleted", isCompleted, Boolean.class);
+    spec = bindNullable(spec, "priority", priority, Integer.class);
+    if (ids != null) {
+      spec = spec.bind("ids", ids);
+    }
+
+    return bindCriteria(spec, criteria)
+      .map(ReactiveReminderRepository::toReminderRecord)
+      .all();
+  }
+
+  /**
+   * 絞り込み条件に一致するリマインダーのうち、IDが afterId より大きいものを ID 順に最大 chunkSize 件まで一括更新する
+   * （ReminderRepository#bulkUpdateChunk と同じ）
+   *
+   * @param criteria 更新するリマインダーの絞り込み条件
+   * @param isCompleted 更新後の 完了/未完了（更新しない場合は null）
+   * @param priority 更新後の優先度（更新しない場合は null）
+   * @param afterId 前回のチャンクで更新した最大のID（最初は 0）
+   * @param chunkSize 1回で更新する最大件数
+   * @return Flux<ReminderRecord> 更新後のレコード
+   */
+  public Flux<ReminderRecord> bulkUpdateChunk(
+    ReminderCriteria criteria,
+    Boolean isCompleted,
+    Integer priority,
+    Long afterId,
+    Integer chunkSize
+  ) {
+    var chunk = new SQL() {{
+      SELECT("id");
+      FROM("REMINDER");
+      whereCriteria(this, criteria);
+      WHERE("id > :afterId");
+      ORDER_BY("id");
+      LIMIT(":chunkSize");
+    }}.toString();
+    var update = new SQL() {{
+      UPDATE("REMINDER");
+      setBulkUpdateFields(this, isCompleted, priority);
+      WHERE("id IN (" + chunk + ")");
+    }}.toString();
+
+    var spec = databaseClient.sql(returningAll(update))
+      .bind("afterId", afterId)
+      .bind("chunkSize", chunkSize);
+    spec = bindNullable(spec, "isCompleted", isCompleted, Boolean.class);
+    spec = bindNullable(spec, "priority", priority, Integer.class);
+
+    return bindCriteria(spec, criteria)
+      .map(ReactiveReminderRepository::toReminderRecord)
+      .all();
+  }
+
+  /**
+   * IDのリスト、または絞り込み条件に一致するリマインダーを、最大 chunkSize 件まで削除する
+   *
+   * @param ids 削除するリマインダーのID（絞り込み条件で指定する場合は null）
+   * @param criteria 削除するリマインダーの絞り込み条件（IDで指定する場合は null）
+   * @param chunkSize 1回で削除する最大件数
+   * @return Flux<ReminderRecord> 削除したレコード
+   */
+  public Flux<ReminderRecord> deleteChunk(List<Long> ids, ReminderCriteria criteria, Integer chunkSize) {
+    var chunk = new SQL() {{
+      SELECT("id");
+      FROM("REMINDER");
+      if (ids != null) {
+        WHERE("id IN (:ids)");
+      }
+      if (criteria != null) {
+        whereCriteria(this, criteria);
+      }
+      ORDER_BY("id");
+      LIMIT(":chunkSize");
+    }}.toString();
+    var delete = new SQL() {{
+      DELETE_FROM("REMINDER");
+      WHERE("id IN (" + chunk + ")");
+    }}.toString();
+
+    var spec = databaseClient.sql(returningDeleted(delete))
+      .bind("chunkSize", chunkSize);
+    if (ids != null) {
+      spec = spec.bind("ids", ids);
+    }
+
+    return bindCriteria(spec, criteria)
+      .map(ReactiveReminderRepository::toReminderRecord)
+      .all();
+  }
+
+  /**
+   * リマインダー削除する
+   *
+   * @param id 削除するリマインダーのID
+   * @return Mono<ReminderRecord> 削除したレコード（IDが存在しない場合は空）
+   */
+  public Mono<ReminderRecord> delete(Long id) {
+    var delete = new SQL() {{
+      DELETE_FROM("REMINDER");
+      WHERE("id = :id");
+    }}.toString();
+
+    return databaseClient.sql(returningDeleted(delete))
+      .bind("id", id)
+      .map(ReactiveReminderRepository::toReminderRecord)
+      .one();
+  }
+
+  /**
+   * 一括更新で指定された項目（null でないもの）と、更新日時・版番号を SET 句に追加する
+   */
+  private static void setBulkUpdateFields(SQL sql, Boolean isCompleted, Integer priority) {
+    if (isCompleted != null) {
+      sql.SET("is_completed = :isCompleted");
+    }
+    if (priority != null) {
+      sql.SET("priority = :priority");
+    }
+    sql.SET("updated_at = CURRENT_TIMESTAMP");
+    sql.SET("version = version + 1");
+  }
+
+  /**
+   * 絞り込み条件のうち、指定されているものだけをWHERE句に追加する
+   * 更新後の値（:isCompleted など）と名前が衝突しないよう、パラメータ名に criteria を付けている
+   */
+  private static void whereCriteria(SQL sql, ReminderCriteria criteria) {
+    if (criteria.getIsCompleted() != null) {
+      sql.WHERE("is_completed = :criteriaIsCompleted");
+    }
+    if (criteria.getPriority() != null) {
+      sql.WHERE("priority = :criteriaPriority");
+    }
+    if (criteria.getDueBefore() != null) {
+      sql.WHERE("due_date < :criteriaDueBefore");
+    }
+    if (criteria.getDueAfter() != null) {
+      sql.WHERE("due_date > :criteriaDueAfter");
+    }
+  }
+
+  /**
+   * 一覧で読み出す列（summary では ReminderSqlProvider と同じく、読み出さない列を NULL にする）
+   */
+  private static String columns(ReminderProjection projection) {
+    return (projection == ReminderProjection.SUMMARY) ? ReminderSqlProvider.SUMMARY_COLUMNS : "*";
+  }
+
+  /**
+   * whereCriteria で追加したパラメータに値をバインドする
+   */
+  private static GenericExecuteSpec bindCriteria(GenericExecuteSpec spec, ReminderCriteria criteria) {
+    if (criteria == null) {
+      return spec;
+    }
+
+    if (criteria.getIsCompleted() != null) {
+      spec = spec.bind("criteriaIsCompleted", criteria.getIsCompleted());
+    }
+    if (criteria.getPriority() != null) {
+      spec = spec.bind("criteriaPriority", criteria.getPriority());
+    }
+    if (criteria.getDueBefore() != null) {
+      spec = spec.bind("criteriaDueBefore", criteria.getDueBefore());
+    }
+    if (criteria.getDueAfter() != null) {
+      spec = spec.bind("criteriaDueAfter", criteria.getDueAfter());
+    }
+
+    return spec;
+  }
+
+  /**
+   * DatabaseClient は null をそのままバインドできないため、null の場合は型を指定して bindNull する
+   */
+  private static GenericExecuteSpec bindNullable(GenericExecuteSpec spec, String name, Object value, Class<?> type) {
+    return (value == null) ? spec.bindNull(name, type) : spec.bind(name, value);
+  }
+
+  /**
+   * 更新系SQLが変更した行を、同じステートメントの結果セットとして返すSQLに変換する（ReminderSqlProvider と同じ方言の切り替え）
+   */
+  private String returningAll(String dml) {
+    return returning(dml, "FINAL");
+  }
+
+  private String returningDeleted(String dml) {
+    return returning(dml, "OLD");
+  }
+
+  private String returning(String dml, String deltaTable) {
+    if (isPostgreSql) {
+      return dml + " RETURNING *";
+    }
+
+    return "SELECT * FROM " + deltaTable + " TABLE (" + dml + ")";
+  }
+
+  private static ReminderRecord toReminderRecord(Readable row) {
+    return new ReminderRecord(
+      toLong(row.get("id", Number.class)),
+      row.get("title", String.class),
+      row.get("description", String.class),
+      row.get("due_date", LocalDate.class),
+      row.get("priority", Integer.class),
+      Boolean.TRUE.equals(row.get("is_completed", Boolean.class)),
+      toLocalDateTime(row.get("created_at", OffsetDateTime.class)),
+      toLocalDateTime(row.get("updated_at", OffsetDateTime.class)),
+      toLong(row.get("version", Number.class))
+    );
+  }
+
+  private static ReminderRecord withId(ReminderRecord record, Long id) {
+    return new ReminderRecord(
+      id,
+      record.getTitle(),
+      record.getDescription(),
+      record.getDueDate(),
+      record.getPriority(),
+      record.isCompleted(),
+      record.getCreatedAt(),
+      record.getUpdatedAt(),
+      record.getVersion()
+    );
+  }
+
+  // id は SERIAL（INTEGER）のため、R2DBC ドライバは Integer で返す（MyBatis のように Long へ自動変換されない）
+  private static Long toLong(Number number) {
+    return (number == null) ? null : number.longValue();
+  }
+
+  // TIMESTAMP WITH TIME ZONE は OffsetDateTime で返るため、JDBC（MyBatis）と同じくJVMのタイムゾーンの LocalDateTime にそろえる
+  private static LocalDateTime toLocalDateTime(OffsetDateTime odt) {
+    return (odt == null) ? null : odt.atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+  }
+
+}
@@ -0,0 +1,36 @@
+package app.reminderappbackend.repository;
+
+import java.util.List;
+
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * ReminderRepository#insert を MyBatis のバッチ実行（JDBCバッチ）でまとめて発行する
+ */
+@Component
+public class ReminderBatchInserter {
+
+  private final SqlSessionTemplate batchSqlSession;
+
+  public ReminderBatchInserter(SqlSessionFactory sqlSessionFactory) {
+    this.batchSqlSession = new SqlSessionTemplate(sqlSessionFactory, ExecutorType.BATCH);
+  }
+
+  /**
+   * レコードをまとめて登録し、自動採番されたIDを各レコードにセットする
+   * 呼び出し元のトランザクション内で実行すること（トランザクション外では1件ごとにコミットされ、バッチにならない）
+   *
+   * @param recordList 登録するレコードのリスト
+   */
+  public void insertAll(List<ReminderRecord> recordList) {
+    var mapper = batchSqlSession.getMapper(ReminderRepository.class);
+    recordList.forEach(record -> mapper.insert(record));
+
+    // ここで溜めたINSERTを送信する。送信後に、自動採番されたIDが各recordにセットされる
+    batchSqlSession.flushStatements();
+  }
+
+}
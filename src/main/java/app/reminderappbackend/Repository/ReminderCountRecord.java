@@ -0,0 +1,13 @@
+package app.reminderappbackend.repository;
+
+import lombok.Value;
+
+/**
+ * 優先度と 完了/未完了 の組み合わせごとの件数（GROUP BY の結果）
+ */
+@Value
+public class ReminderCountRecord {
+  Integer priority;
+  Boolean isCompleted;
+  Long count;
+}
@@ -0,0 +1,21 @@
+package app.reminderappbackend.repository;
+
+import java.time.LocalDate;
+
+import lombok.Value;
+
+/**
+ * リマインダーの絞り込み条件
+ * null のフィールドは条件に含めない（指定したフィールドはすべてANDで適用する）
+ */
+@Value
+public class ReminderCriteria {
+  Boolean isCompleted;
+  Integer priority;
+  LocalDate dueBefore;
+  LocalDate dueAfter;
+
+  public boolean isEmpty() {
+    return isCompleted == null && priority == null && dueBefore == null && dueAfter == null;
+  }
+}
@@ -0,0 +1,14 @@
+package app.reminderappbackend.repository;
+
+import java.time.LocalDate;
+
+import lombok.Value;
+
+/**
+ * 期限ごとの件数（GROUP BY の結果）
+ */
+@Value
+public class ReminderDueDateCountRecord {
+  LocalDate dueDate;
+  Long count;
+}
@@ -0,0 +1,11 @@
+package app.reminderappbackend.repository;
+
+/**
+ * 一覧取得で読み出す列の範囲
+ */
+public enum ReminderProjection {
+  /** 全ての列 */
+  FULL,
+  /** 一覧表示に使う列だけ（description, created_at, updated_at は読み出さず、ReminderRecord では null になる） */
+  SUMMARY
+}
@@ -15,4 +15,5 @@ public class ReminderRecord {
   boolean isCompleted;
   LocalDateTime createdAt;
   LocalDateTime updatedAt;
+  Long version;
 }
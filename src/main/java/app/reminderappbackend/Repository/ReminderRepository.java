@@ -1,31 +1,69 @@
 package app.reminderappbackend.repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
-import org.apache.ibatis.annotations.DeleteProvider;
-import org.apache.ibatis.annotations.InsertProvider;
+import org.apache.ibatis.annotations.Arg;
+import org.apache.ibatis.annotations.ConstructorArgs;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Options;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.ResultMap;
+import org.apache.ibatis.annotations.Results;
+import org.apache.ibatis.annotations.Select;
 import org.apache.ibatis.annotations.SelectProvider;
-import org.apache.ibatis.annotations.UpdateProvider;
+import org.apache.ibatis.cursor.Cursor;
 
 import jakarta.validation.constraints.Min;
 import reminderapi.model.ReminderForm;
 
+/**
+ * 条件によって形の変わらないSQLは @Select などで静的に定義する（起動時に1度だけ解析され、呼び出しごとにSQLを組み立てない）
+ * 絞り込み条件やIDのリストでSQLの形が変わるものだけ ReminderSqlProvider で組み立てる
+ * ReminderRecord へのマッピングは、どちらも列名とコンストラクタ引数の対応を明示した結果マップ（reminderRecord）で行う
+ */
 @Mapper
 public interface ReminderRepository {
 
   /**
    * IDに紐づくリマインダーを取得するマッパー
+   * ReminderRecord の結果マップ（reminderRecord）もここで定義し、他のマッパーからは @ResultMap で参照する
    *
    * @param id リマインダーを取得する一意ID
    * @return Optional<ReminderRecord>
    */
-  @SelectProvider(type = ReminderSqlProvider.class, method = "selectById")
+  @Select({
+    "SELECT " + ReminderSqlProvider.COLUMNS,
+    "FROM REMINDER",
+    "WHERE id = #{id}"
+  })
+  @Results(id = "reminderRecord")
+  @ConstructorArgs({
+    @Arg(column = "id", javaType = Long.class, id = true),
+    @Arg(column = "title", javaType = String.class),
+    @Arg(column = "description", javaType = String.class),
+    @Arg(column = "due_date", javaType = LocalDate.class),
+    @Arg(column = "priority", javaType = Integer.class),
+    @Arg(column = "is_completed", javaType = boolean.class),
+    @Arg(column = "created_at", javaType = LocalDateTime.class),
+    @Arg(column = "updated_at", javaType = LocalDateTime.class),
+    @Arg(column = "version", javaType = Long.class)
+  })
   Optional<ReminderRecord> selectById(Long id);
 
+  /**
+   * IDのリストに含まれるリマインダーを取得するマッパー（並び順は不定）
+   *
+   * @param ids 取得するリマインダーのID（1件以上）
+   * @return List<ReminderRecord>
+   */
+  @ResultMap("reminderRecord")
+  @SelectProvider(type = ReminderSqlProvider.class, method = "selectByIds")
+  List<ReminderRecord> selectByIds(@Param("ids") List<Long> ids);
+
   /**
    * limitとoffsetに基づくリマインダーのリストを取得するマッパー
    *
@@ -33,33 +71,338 @@ public interface ReminderRepository {
    * @param offset オフセット
    * @return List<ReminderRecord>
    */
-  @SelectProvider(type = ReminderSqlProvider.class, method = "selectList")
+  @Select({
+    "SELECT " + ReminderSqlProvider.COLUMNS,
+    "FROM REMINDER",
+    "ORDER BY due_date, id",
+    "LIMIT #{limit} OFFSET #{offset}"
+  })
+  @ResultMap("reminderRecord")
   List<ReminderRecord> selectList(@Param("limit") Integer limit, @Param("offset") Long offset);
 
+  /**
+   * limitとoffsetに基づくリマインダーのリストを、一覧表示に使う列だけ取得するマッパー
+   *
+   * @param limit リストに含まれるリソースの最大値
+   * @param offset オフセット
+   * @return List<ReminderRecord> description, createdAt, updatedAt は null
+   */
+  @Select({
+    "SELECT " + ReminderSqlProvider.SUMMARY_COLUMNS,
+    "FROM REMINDER",
+    "ORDER BY due_date, id",
+    "LIMIT #{limit} OFFSET #{offset}"
+  })
+  @ResultMap("reminderRecord")
+  List<ReminderRecord> selectSummaryList(@Param("limit") Integer limit, @Param("offset") Long offset);
+
+  /**
+   * 絞り込み条件に一致するリマインダーのうち、limitとoffsetに基づくリストを取得するマッパー
+   *
+   * @param limit リストに含まれるリソースの最大値
+   * @param offset オフセット
+   * @param criteria 絞り込み条件（null の場合は絞り込まない）
+   * @return List<ReminderRecord>
+   */
+  default List<ReminderRecord> selectList(Integer limit, Long offset, ReminderCriteria criteria) {
+    return selectList(limit, offset, criteria, ReminderProjection.FULL);
+  }
+
+  /**
+   * 絞り込み条件に一致するリマインダーのうち、limitとoffsetに基づくリストを、projection の列だけ取得するマッパー
+   * 絞り込み条件が無い（null または空の）場合は、静的に定義した selectList / selectSummaryList を使う
+   *
+   * @param limit リストに含まれるリソースの最大値
+   * @param offset オフセット
+   * @param criteria 絞り込み条件（null の場合は絞り込まない）
+   * @param projection 読み出す列の範囲
+   * @return List<ReminderRecord>
+   */
+  default List<ReminderRecord> selectList(Integer limit, Long offset, ReminderCriteria criteria, ReminderProjection projection) {
+    if (criteria == null || criteria.isEmpty()) {
+      return (projection == ReminderProjection.SUMMARY)
+        ? selectSummaryList(limit, offset)
+        : selectList(limit, offset);
+    }
+
+    return selectListByCriteria(limit, offset, criteria, projection);
+  }
+
+  /**
+   * 絞り込み条件に一致するリマインダーのうち、limitとoffsetに基づくリストを取得するマッパー（指定された条件に応じてSQLを組み立てる）
+   *
+   * @param limit リストに含まれるリソースの最大値
+   * @param offset オフセット
+   * @param criteria 絞り込み条件
+   * @param projection 読み出す列の範囲
+   * @return List<ReminderRecord>
+   */
+  @ResultMap("reminderRecord")
+  @SelectProvider(type = ReminderSqlProvider.class, method = "selectListByCriteria")
+  List<ReminderRecord> selectListByCriteria(
+    @Param("limit") Integer limit,
+    @Param("offset") Long offset,
+    @Param("criteria") ReminderCriteria criteria,
+    @Param("projection") ReminderProjection projection
+  );
+
+  /**
+   * (due_date, id) が指定したキーより後ろのリマインダーのリストを取得するマッパー（カーソルページング用）
+   *
+   * @param limit リストに含まれるリソースの最大値
+   * @param afterDueDate 前ページ最終要素の期限
+   * @param afterId 前ページ最終要素のID
+   * @return List<ReminderRecord>
+   */
+  @Select({
+    "SELECT " + ReminderSqlProvider.COLUMNS,
+    "FROM REMINDER",
+    "WHERE " + ReminderSqlProvider.AFTER_KEY,
+    "ORDER BY due_date, id",
+    "LIMIT #{limit}"
+  })
+  @ResultMap("reminderRecord")
+  List<ReminderRecord> selectListAfter(
+    @Param("limit") Integer limit,
+    @Param("afterDueDate") LocalDate afterDueDate,
+    @Param("afterId") Long afterId
+  );
+
+  /**
+   * (due_date, id) が指定したキーより後ろのリマインダーのリストを、一覧表示に使う列だけ取得するマッパー
+   *
+   * @param limit リストに含まれるリソースの最大値
+   * @param afterDueDate 前ページ最終要素の期限
+   * @param afterId 前ページ最終要素のID
+   * @return List<ReminderRecord> description, createdAt, updatedAt は null
+   */
+  @Select({
+    "SELECT " + ReminderSqlProvider.SUMMARY_COLUMNS,
+    "FROM REMINDER",
+    "WHERE " + ReminderSqlProvider.AFTER_KEY,
+    "ORDER BY due_date, id",
+    "LIMIT #{limit}"
+  })
+  @ResultMap("reminderRecord")
+  List<ReminderRecord> selectSummaryListAfter(
+    @Param("limit") Integer limit,
+    @Param("afterDueDate") LocalDate afterDueDate,
+    @Param("afterId") Long afterId
+  );
+
+  /**
+   * 絞り込み条件に一致するリマインダーのうち、(due_date, id) が指定したキーより後ろのリストを取得するマッパー
+   *
+   * @param limit リストに含まれるリソースの最大値
+   * @param afterDueDate 前ページ最終要素の期限
+   * @param afterId 前ページ最終要素のID
+   * @param criteria 絞り込み条件（null の場合は絞り込まない）
+   * @return List<ReminderRecord>
+   */
+  default List<ReminderRecord> selectListAfter(Integer limit, LocalDate afterDueDate, Long afterId, ReminderCriteria criteria) {
+    return selectListAfter(limit, afterDueDate, afterId, criteria, ReminderProjection.FULL);
+  }
+
+  /**
+   * 絞り込み条件に一致するリマインダーのうち、(due_date, id) が指定したキーより後ろのリストを、projection の列だけ取得するマッパー
+   * 絞り込み条件が無い（null または空の）場合は、静的に定義した selectListAfter / selectSummaryListAfter を使う
+   *
+   * @param limit リストに含まれるリソースの最大値
+   * @param afterDueDate 前ページ最終要素の期限
+   * @param afterId 前ページ最終要素のID
+   * @param criteria 絞り込み条件（null の場合は絞り込まない）
+   * @param projection 読み出す列の範囲
+   * @return List<ReminderRecord>
+   */
+  default List<ReminderRecord> selectListAfter(
+    Integer limit,
+    LocalDate afterDueDate,
+    Long afterId,
+    ReminderCriteria criteria,
+    ReminderProjection projection
+  ) {
+    if (criteria == null || criteria.isEmpty()) {
+      return (projection == ReminderProjection.SUMMARY)
+        ? selectSummaryListAfter(limit, afterDueDate, afterId)
+        : selectListAfter(limit, afterDueDate, afterId);
+    }
+
+    return selectListAfterByCriteria(limit, afterDueDate, afterId, criteria, projection);
+  }
+
+  /**
+   * 絞り込み条件に一致するリマインダーのうち、(due_date, id) が指定したキーより後ろのリストを取得するマッパー（指定された条件に応じてSQLを組み立てる）
+   *
+   * @param limit リストに含まれるリソースの最大値
+   * @param afterDueDate 前ページ最終要素の期限
+   * @param afterId 前ページ最終要素のID
+   * @param criteria 絞り込み条件
+   * @param projection 読み出す列の範囲
+   * @return List<ReminderRecord>
+   */
+  @ResultMap("reminderRecord")
+  @SelectProvider(type = ReminderSqlProvider.class, method = "selectListAfterByCriteria")
+  List<ReminderRecord> selectListAfterByCriteria(
+    @Param("limit") Integer limit,
+    @Param("afterDueDate") LocalDate afterDueDate,
+    @Param("afterId") Long afterId,
+    @Param("criteria") ReminderCriteria criteria,
+    @Param("projection") ReminderProjection projection
+  );
+
+  /**
+   * 全リマインダーを1件ずつ読み出すマッパー
+   * Cursor はトランザクション内でのみ読み出せる（トランザクションが終わるとクローズされる）
+   *
+   * @return Cursor<ReminderRecord>
+   */
+  @Options(fetchSize = 1000)
+  @Select({
+    "SELECT " + ReminderSqlProvider.COLUMNS,
+    "FROM REMINDER",
+    "ORDER BY id"
+  })
+  @ResultMap("reminderRecord")
+  Cursor<ReminderRecord> selectAll();
+
+  /**
+   * 優先度と 完了/未完了 の組み合わせごとの件数を集計するマッパー（統計カウンタの照合用）
+   *
+   * @return List<ReminderCountRecord>
+   */
+  @Select({
+    "SELECT priority, is_completed, COUNT(*)",
+    "FROM REMINDER",
+    "GROUP BY priority, is_completed"
+  })
+  List<ReminderCountRecord> countByPriorityAndCompletion();
+
+  /**
+   * 期限が指定した日付より前の未完了のリマインダーを、期限ごとに集計するマッパー（統計カウンタの照合用）
+   *
+   * @param dueBefore 期限の上限（この日付は含まない）
+   * @return List<ReminderDueDateCountRecord>
+   */
+  @Select({
+    "SELECT due_date, COUNT(*)",
+    "FROM REMINDER",
+    "WHERE is_completed = false AND due_date < #{dueBefore}",
+    "GROUP BY due_date"
+  })
+  List<ReminderDueDateCountRecord> countIncompleteByDueDateBefore(@Param("dueBefore") LocalDate dueBefore);
+
   /**
    * リマインダー作成するマッパー
    *
    * @param record クライアントからPOSTされるフォームが入ったrecord
    */
   @Options(useGeneratedKeys = true, keyProperty = "id") // 自動採番されたPK（id）を引数の form にセットする
-  @InsertProvider(type = ReminderSqlProvider.class, method = "insert")
+  @Insert({
+    "INSERT INTO REMINDER (title, description, due_date, priority, is_completed, created_at, updated_at, version)",
+    "VALUES (#{title}, #{description}, #{dueDate}, #{priority}, #{isCompleted}, #{createdAt}, #{updatedAt}, #{version})"
+  })
   void insert(ReminderRecord record);
 
   /**
    * リマインダー更新するマッパー
+   * 更新後の行を同じステートメントで返すため、SELECTとしてマッピングしている
+   *
+   * @param id 更新するリマインダーのID
+   * @param reminderForm クライアントからPOSTされるフォーム
+   * @return Optional<ReminderRecord> 更新後のレコード（IDが存在しない場合は空）
+   */
+  default Optional<ReminderRecord> update(Long id, ReminderForm reminderForm) {
+    return update(id, reminderForm, null);
+  }
+
+  /**
+   * 版番号が expectedVersions のいずれかに一致する場合だけ、リマインダー更新するマッパー（楽観的排他制御）
+   * 行ロックを取り続けないため、他の書き込みを待たせない
    *
    * @param id 更新するリマインダーのID
    * @param reminderForm クライアントからPOSTされるフォーム
+   * @param expectedVersions 更新前の版番号の候補（1件以上。null の場合は版番号を確認しない）
+   * @return Optional<ReminderRecord> 更新後のレコード（IDが存在しない場合、または版番号が一致しない場合は空）
+   */
+  @Options(flushCache = Options.FlushCachePolicy.TRUE, useCache = false)
+  @ResultMap("reminderRecord")
+  @SelectProvider(type = ReminderSqlProvider.class, method = "update")
+  Optional<ReminderRecord> update(
+    @Param("id") Long id,
+    @Param("reminderForm") ReminderForm reminderForm,
+    @Param("expectedVersions") List<Long> expectedVersions
+  );
+
+  /**
+   * IDのリスト、または絞り込み条件に一致するリマインダーの 完了/未完了・優先度 を一括更新するマッパー
+   * ids と criteria は null の方が条件に含まれない。isCompleted と priority は null の方を更新しない
+   *
+   * @param ids 更新するリマインダーのID
+   * @param criteria 更新するリマインダーの絞り込み条件
+   * @param isCompleted 更新後の 完了/未完了
+   * @param priority 更新後の優先度
+   * @return List<ReminderRecord> 更新後のレコード
+   */
+  @Options(flushCache = Options.FlushCachePolicy.TRUE, useCache = false)
+  @ResultMap("reminderRecord")
+  @SelectProvider(type = ReminderSqlProvider.class, method = "bulkUpdate")
+  List<ReminderRecord> bulkUpdate(
+    @Param("ids") List<Long> ids,
+    @Param("criteria") ReminderCriteria criteria,
+    @Param("isCompleted") Boolean isCompleted,
+    @Param("priority") Integer priority
+  );
+
+  /**
+   * 絞り込み条件に一致するリマインダーのうち、IDが afterId より大きいものを ID 順に最大 chunkSize 件まで一括更新するマッパー
+   * 絞り込み条件による大量更新は、前回更新した最大の ID を afterId にして、更新件数が chunkSize 未満になるまで繰り返し呼び出して行う
+   *
+   * @param criteria 更新するリマインダーの絞り込み条件
+   * @param isCompleted 更新後の 完了/未完了（更新しない場合は null）
+   * @param priority 更新後の優先度（更新しない場合は null）
+   * @param afterId 前回のチャンクで更新した最大のID（最初は 0）
+   * @param chunkSize 1回で更新する最大件数
+   * @return List<ReminderRecord> 更新後のレコード
+   */
+  @Options(flushCache = Options.FlushCachePolicy.TRUE, useCache = false)
+  @ResultMap("reminderRecord")
+  @SelectProvider(type = ReminderSqlProvider.class, method = "bulkUpdateChunk")
+  List<ReminderRecord> bulkUpdateChunk(
+    @Param("criteria") ReminderCriteria criteria,
+    @Param("isCompleted") Boolean isCompleted,
+    @Param("priority") Integer priority,
+    @Param("afterId") Long afterId,
+    @Param("chunkSize") Integer chunkSize
+  );
+
+  /**
+   * IDのリスト、または絞り込み条件に一致するリマインダーを、最大 chunkSize 件まで削除するマッパー
+   * 大量削除は、このマッパーを削除件数が chunkSize 未満になるまで繰り返し呼び出して行う
+   *
+   * @param ids 削除するリマインダーのID（絞り込み条件で指定する場合は null）
+   * @param criteria 削除するリマインダーの絞り込み条件（IDで指定する場合は null）
+   * @param chunkSize 1回で削除する最大件数
+   * @return List<ReminderRecord> 削除したレコード
    */
-  @UpdateProvider(type = ReminderSqlProvider.class, method = "update")
-  void update(@Param("id") Long id, @Param("reminderForm") ReminderForm reminderForm);
+  @Options(flushCache = Options.FlushCachePolicy.TRUE, useCache = false)
+  @ResultMap("reminderRecord")
+  @SelectProvider(type = ReminderSqlProvider.class, method = "deleteChunk")
+  List<ReminderRecord> deleteChunk(
+    @Param("ids") List<Long> ids,
+    @Param("criteria") ReminderCriteria criteria,
+    @Param("chunkSize") Integer chunkSize
+  );
 
   /**
    * リマインダー削除するマッパー
+   * 削除した行（の版番号）を変更通知に使うため、同じステートメントで返すようSELECTとしてマッピングしている
    *
    * @param id 削除するリマインダーのID
+   * @return Optional<ReminderRecord> 削除したレコード（IDが存在しない場合は空）
    */
-  @DeleteProvider(type = ReminderSqlProvider.class, method = "delete")
-  void delete(@Min(1) Long id);
+  @Options(flushCache = Options.FlushCachePolicy.TRUE, useCache = false)
+  @ResultMap("reminderRecord")
+  @SelectProvider(type = ReminderSqlProvider.class, method = "delete")
+  Optional<ReminderRecord> delete(@Param("id") @Min(1) Long id);
 
 }
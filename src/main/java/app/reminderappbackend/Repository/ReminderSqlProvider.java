@@ -1,46 +1,93 @@
 package app.reminderappbackend.repository;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.builder.annotation.ProviderContext;
 import org.apache.ibatis.builder.annotation.ProviderMethodResolver;
 import org.apache.ibatis.jdbc.SQL;
 
-import jakarta.validation.constraints.Min;
+import app.reminderappbackend.config.MybatisConfig;
 import reminderapi.model.ReminderForm;
 
+/**
+ * 絞り込み条件やIDのリストによって形が変わるSQLを組み立てる
+ * 形の変わらないSQLは ReminderRepository に @Select などで静的に定義している
+ */
 public class ReminderSqlProvider implements ProviderMethodResolver {
 
-  public String selectById(Long id) {
+  /**
+   * ReminderRecord の結果マップ（reminderRecord）に対応する列
+   */
+  static final String COLUMNS = "id, title, description, due_date, priority, is_completed, created_at, updated_at, version";
+
+  /**
+   * 一覧を summary で取得するときの列（結果マップを共有するため、読み出さない列は NULL として同じ位置に並べる）
+   * 上限の無い description（TEXT）を読み出さないことで、DBからの転送量とヒープの使用量を抑える
+   */
+  static final String SUMMARY_COLUMNS = "id, title, NULL AS description, due_date, priority, is_completed, NULL AS created_at, NULL AS updated_at, version";
+
+  /**
+   * (due_date, id) > (afterDueDate, afterId) を、インデックスの先頭列で範囲検索できる形に展開した条件
+   */
+  static final String AFTER_KEY = "due_date >= #{afterDueDate} AND (due_date > #{afterDueDate} OR id > #{afterId})";
+
+  public String selectByIds(@Param("ids") List<Long> ids) {
     return new SQL() {{
-      SELECT("*");
+      SELECT(COLUMNS);
       FROM("REMINDER");
-      WHERE("id = #{id}");
+      WHERE(idIn("ids", ids.size()));
     }}.toString();
   }
 
-  public String selectList(@Param("limit") Integer limit, @Param("offset") Long offset) {
+  public String selectListByCriteria(
+    @Param("limit") Integer limit,
+    @Param("offset") Long offset,
+    @Param("criteria") ReminderCriteria criteria,
+    @Param("projection") ReminderProjection projection
+  ) {
     return new SQL() {{
-      SELECT("*");
+      SELECT(columns(projection));
       FROM("REMINDER");
-      LIMIT(limit);
-      OFFSET(offset);
+      if (criteria != null) {
+        whereCriteria(this, criteria);
+      }
+      ORDER_BY("due_date", "id");
+      // 値を埋め込まずにパラメータにする（limit, offset ごとに別のSQLにならないように）
+      LIMIT("#{limit}");
+      OFFSET("#{offset}");
     }}.toString();
   }
 
-  public String insert(ReminderRecord record) {
+  public String selectListAfterByCriteria(
+    @Param("limit") Integer limit,
+    @Param("afterDueDate") LocalDate afterDueDate,
+    @Param("afterId") Long afterId,
+    @Param("criteria") ReminderCriteria criteria,
+    @Param("projection") ReminderProjection projection
+  ) {
     return new SQL() {{
-      INSERT_INTO("REMINDER");
-      VALUES("title", "#{title}");
-      VALUES("description", "#{description}");
-      VALUES("due_date", "#{dueDate}");
-      VALUES("priority", "#{priority}");
-      VALUES("is_completed", "#{isCompleted}");
-      VALUES("created_at", "#{createdAt}");
-      VALUES("updated_at", "#{updatedAt}");
+      SELECT(columns(projection));
+      FROM("REMINDER");
+      if (criteria != null) {
+        whereCriteria(this, criteria);
+      }
+      WHERE(AFTER_KEY);
+      ORDER_BY("due_date", "id");
+      LIMIT("#{limit}");
     }}.toString();
   }
 
-  public String update(@Param("id") Long id, @Param("reminderForm") ReminderForm reminderForm) {
-    return new SQL() {{
+  public String update(
+    ProviderContext context,
+    @Param("id") Long id,
+    @Param("reminderForm") ReminderForm reminderForm,
+    @Param("expectedVersions") List<Long> expectedVersions
+  ) {
+    var update = new SQL() {{
       UPDATE("REMINDER");
       SET("title = #{reminderForm.title}");
       SET("description = #{reminderForm.description}");
@@ -48,15 +95,173 @@ public class ReminderSqlProvider implements ProviderMethodResolver {
       SET("priority = #{reminderForm.priority}");
       SET("is_completed = #{reminderForm.isCompleted}");
       SET("updated_at = CURRENT_TIMESTAMP");
+      SET("version = version + 1");
       WHERE("id = #{id}");
+      if (expectedVersions != null) {
+        WHERE(columnIn("version", "expectedVersions", expectedVersions.size()));
+      }
     }}.toString();
+
+    return returningAll(context, update);
   }
 
-  public String delete(@Min(1) Long id) {
-    return new SQL() {{
+  public String bulkUpdate(
+    ProviderContext context,
+    @Param("ids") List<Long> ids,
+    @Param("criteria") ReminderCriteria criteria,
+    @Param("isCompleted") Boolean isCompleted,
+    @Param("priority") Integer priority
+  ) {
+    var update = new SQL() {{
+      UPDATE("REMINDER");
+      setBulkUpdateFields(this, isCompleted, priority);
+      if (ids != null) {
+        WHERE(idIn("ids", ids.size()));
+      }
+      if (criteria != null) {
+        whereCriteria(this, criteria);
+      }
+    }}.toString();
+
+    return returningAll(context, update);
+  }
+
+  public String bulkUpdateChunk(
+    ProviderContext context,
+    @Param("criteria") ReminderCriteria criteria,
+    @Param("isCompleted") Boolean isCompleted,
+    @Param("priority") Integer priority,
+    @Param("afterId") Long afterId,
+    @Param("chunkSize") Integer chunkSize
+  ) {
+    // 更新後も条件に一致し続ける行があるため（priority で絞り込んで isCompleted を更新する場合など）、
+    // 条件ではなく id のキーセット（afterId より後ろ）で次のチャンクを決める
+    var chunk = new SQL() {{
+      SELECT("id");
+      FROM("REMINDER");
+      whereCriteria(this, criteria);
+      WHERE("id > #{afterId}");
+      ORDER_BY("id");
+      LIMIT("#{chunkSize}");
+    }}.toString();
+    var update = new SQL() {{
+      UPDATE("REMINDER");
+      setBulkUpdateFields(this, isCompleted, priority);
+      WHERE("id IN (" + chunk + ")");
+    }}.toString();
+
+    return returningAll(context, update);
+  }
+
+  public String deleteChunk(
+    ProviderContext context,
+    @Param("ids") List<Long> ids,
+    @Param("criteria") ReminderCriteria criteria,
+    @Param("chunkSize") Integer chunkSize
+  ) {
+    var chunk = new SQL() {{
+      SELECT("id");
+      FROM("REMINDER");
+      if (ids != null) {
+        WHERE(idIn("ids", ids.size()));
+      }
+      if (criteria != null) {
+        whereCriteria(this, criteria);
+      }
+      ORDER_BY("id");
+      LIMIT("#{chunkSize}");
+    }}.toString();
+    var delete = new SQL() {{
+      DELETE_FROM("REMINDER");
+      WHERE("id IN (" + chunk + ")");
+    }}.toString();
+
+    return returningDeleted(context, delete);
+  }
+
+  public String delete(ProviderContext context, @Param("id") Long id) {
+    var delete = new SQL() {{
       DELETE_FROM("REMINDER");
       WHERE("id = #{id}");
     }}.toString();
+
+    return returningDeleted(context, delete);
+  }
+
+  private static String columns(ReminderProjection projection) {
+    return (projection == ReminderProjection.SUMMARY) ? SUMMARY_COLUMNS : COLUMNS;
+  }
+
+  /**
+   * IDのリストを「id IN (#{ids[0]}, #{ids[1]}, ...)」に展開する
+   */
+  private static String idIn(String paramName, int size) {
+    return columnIn("id", paramName, size);
+  }
+
+  /**
+   * 値のリストを「column IN (#{paramName[0]}, #{paramName[1]}, ...)」に展開する
+   */
+  private static String columnIn(String column, String paramName, int size) {
+    return IntStream.range(0, size)
+      .mapToObj(i -> "#{" + paramName + "[" + i + "]}")
+      .collect(Collectors.joining(", ", column + " IN (", ")"));
+  }
+
+  /**
+   * 一括更新で指定された項目（null でないもの）と、更新日時・版番号を SET 句に追加する
+   */
+  private static void setBulkUpdateFields(SQL sql, Boolean isCompleted, Integer priority) {
+    if (isCompleted != null) {
+      sql.SET("is_completed = #{isCompleted}");
+    }
+    if (priority != null) {
+      sql.SET("priority = #{priority}");
+    }
+    sql.SET("updated_at = CURRENT_TIMESTAMP");
+    sql.SET("version = version + 1");
+  }
+
+  /**
+   * 絞り込み条件のうち、指定されているものだけをWHERE句に追加する
+   */
+  private static void whereCriteria(SQL sql, ReminderCriteria criteria) {
+    if (criteria.getIsCompleted() != null) {
+      sql.WHERE("is_completed = #{criteria.isCompleted}");
+    }
+    if (criteria.getPriority() != null) {
+      sql.WHERE("priority = #{criteria.priority}");
+    }
+    if (criteria.getDueBefore() != null) {
+      sql.WHERE("due_date < #{criteria.dueBefore}");
+    }
+    if (criteria.getDueAfter() != null) {
+      sql.WHERE("due_date > #{criteria.dueAfter}");
+    }
+  }
+
+  /**
+   * 更新系SQLが変更した行を、同じステートメントの結果セットとして返すSQLに変換する
+   * PostgreSQL は RETURNING 句、H2 はデータ変更デルタテーブル（FINAL TABLE）を使う
+   * databaseId が取れない場合（@MybatisTest など）は、アプリケーションのDBである H2 として扱う
+   */
+  private String returningAll(ProviderContext context, String dml) {
+    return returning(context, dml, "FINAL");
+  }
+
+  /**
+   * 削除系SQLが削除した行を、同じステートメントの結果セットとして返すSQLに変換する（H2 は OLD TABLE を使う）
+   */
+  private String returningDeleted(ProviderContext context, String dml) {
+    return returning(context, dml, "OLD");
+  }
+
+  private String returning(ProviderContext context, String dml, String deltaTable) {
+    if (MybatisConfig.DATABASE_ID_POSTGRESQL.equals(context.getDatabaseId())) {
+      return dml + " RETURNING " + COLUMNS;
+    }
+
+    return "SELECT " + COLUMNS + " FROM " + deltaTable + " TABLE (" + dml + ")";
   }
 
 }
@@ -0,0 +1,22 @@
+package app.reminderappbackend.repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import lombok.Value;
+
+/**
+ * しきい値より時間のかかったステートメント1件分の記録
+ */
+@Value
+public class SlowStatement {
+  OffsetDateTime occurredAt;
+  // ステートメントID（ReminderRepository.selectList など）
+  String statement;
+  String sql;
+  // SQL の ? の順に並べたバインド値（reminder.slow-statement.capture-parameters を指定しない場合は null）
+  List<String> parameters;
+  long durationMillis;
+  // EXPLAIN の結果（取得できなかった場合はその理由）
+  String plan;
+}
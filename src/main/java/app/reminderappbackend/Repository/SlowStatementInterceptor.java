@@ -0,0 +1,225 @@
+package app.reminderappbackend.repository;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.type.TypeHandler;
+import org.springframework.beans.factory.DisposableBean;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 実行時間がしきい値を超えたステートメントを、バインド値と EXPLAIN の結果とともにログと SlowStatementLog に記録する MyBatis のプラグイン
+ *
+ * EXPLAIN はリクエストのスレッドでは実行せず、専用のスレッドで別のコネクションから実行する（遅いリクエストをさらに遅くしないため）
+ * EXPLAIN は（ANALYZE を付けないので）SQL を実行しない。更新系の SQL でもデータは変更されない
+ * 待ちの EXPLAIN が max-entries 件を超えた場合は、EXPLAIN を省いて記録する
+ *
+ * バインド値には個人情報などが含まれうるため、ログと SlowStatementLog に残すのは captureParameters を指定した場合だけにする
+ * その場合も、1つの値は MAX_PARAMETER_LENGTH 文字までに切り詰める（EXPLAIN には切り詰める前の値を使う）
+ */
+@Slf4j
+@Intercepts({
+  @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+  @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class}),
+  @Signature(type = Executor.class, method = "queryCursor", args = {MappedStatement.class, Object.class, RowBounds.class}),
+  @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class})
+})
+public class SlowStatementInterceptor implements Interceptor, DisposableBean {
+
+  static final int MAX_PARAMETER_LENGTH = 64;
+
+  private final DataSource dataSource;
+  private final SlowStatementLog slowStatementLog;
+  private final long thresholdNanos;
+  private final boolean captureParameters;
+  private final ThreadPoolExecutor explainExecutor;
+
+  public SlowStatementInterceptor(
+    DataSource dataSource,
+    SlowStatementLog slowStatementLog,
+    Duration threshold,
+    boolean captureParameters,
+    int maxPendingExplains
+  ) {
+    this.dataSource = dataSource;
+    this.slowStatementLog = slowStatementLog;
+    this.thresholdNanos = threshold.toNanos();
+    this.captureParameters = captureParameters;
+    this.explainExecutor = new ThreadPoolExecutor(
+      1,
+      1,
+      0L,
+      TimeUnit.MILLISECONDS,
+      new ArrayBlockingQueue<>(maxPendingExplains),
+      runnable -> {
+        var thread = new Thread(runnable, "slow-statement-explain");
+        thread.setDaemon(true);
+        return thread;
+      }
+    );
+  }
+
+  @Override
+  public Object intercept(Invocation invocation) throws Throwable {
+    long startNanos = System.nanoTime();
+    try {
+      return invocation.proceed();
+    } finally {
+      long elapsedNanos = System.nanoTime() - startNanos;
+      if (elapsedNanos >= thresholdNanos) {
+        try {
+          record(invocation.getArgs(), elapsedNanos);
+        } catch (RuntimeException ex) {
+          // 記録に失敗しても、ステートメントの結果（または例外）はそのまま返す
+          log.warn("Failed to record a slow statement", ex);
+        }
+      }
+    }
+  }
+
+  private void record(Object[] args, long elapsedNanos) {
+    var occurredAt = OffsetDateTime.now();
+    var mappedStatement = (MappedStatement) args[0];
+    var parameterObject = args[1];
+    var boundSql = (args.length == 6) ? (BoundSql) args[5] : mappedStatement.getBoundSql(parameterObject);
+    var parameterValues = parameterValues(mappedStatement.getConfiguration(), boundSql, parameterObject);
+
+    CompletableFuture<String> planFuture;
+    try {
+      planFuture = CompletableFuture.supplyAsync(() -> explain(mappedStatement.getConfiguration(), boundSql, parameterValues), explainExecutor);
+    } catch (RejectedExecutionException ex) {
+      planFuture = CompletableFuture.completedFuture("(EXPLAIN skipped: too many slow statements are waiting)");
+    }
+
+    // EXPLAIN が例外で終わっても記録は残す（thenAccept だけでは、例外で終わった場合に何も記録されない）
+    planFuture.handle((plan, ex) -> (ex == null) ? plan : "(EXPLAIN failed: " + rootCause(ex).getMessage() + ")").thenAccept(plan -> {
+      var slowStatement = new SlowStatement(
+        occurredAt,
+        statementName(mappedStatement),
+        boundSql.getSql(),
+        captureParameters ? parameterValues.stream().map(value -> truncate(String.valueOf(value))).toList() : null,
+        TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+        plan
+      );
+      log.warn(
+        "Slow statement: statement={}, durationMillis={}, sql={}, parameters={}, plan={}",
+        slowStatement.getStatement(),
+        slowStatement.getDurationMillis(),
+        slowStatement.getSql(),
+        slowStatement.getParameters(),
+        slowStatement.getPlan()
+      );
+      slowStatementLog.add(slowStatement);
+    });
+  }
+
+  private static String truncate(String value) {
+    if (value.length() <= MAX_PARAMETER_LENGTH) {
+      return value;
+    }
+
+    return value.substring(0, MAX_PARAMETER_LENGTH) + "...(" + value.length() + " chars)";
+  }
+
+  private static Throwable rootCause(Throwable ex) {
+    return (ex instanceof CompletionException && ex.getCause() != null) ? ex.getCause() : ex;
+  }
+
+  /**
+   * SQL の ? の順にバインド値を取り出す（DefaultParameterHandler と同じ規則）
+   */
+  private static List<Object> parameterValues(Configuration configuration, BoundSql boundSql, Object parameterObject) {
+    var values = new ArrayList<Object>();
+    MetaObject metaObject = null;
+    for (var mapping : boundSql.getParameterMappings()) {
+      var property = mapping.getProperty();
+      if (boundSql.hasAdditionalParameter(property)) {
+        values.add(boundSql.getAdditionalParameter(property));
+      } else if (parameterObject == null) {
+        values.add(null);
+      } else if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameterObject.getClass())) {
+        values.add(parameterObject);
+      } else {
+        if (metaObject == null) {
+          metaObject = configuration.newMetaObject(parameterObject);
+        }
+        values.add(metaObject.getValue(property));
+      }
+    }
+
+    return values;
+  }
+
+  /**
+   * 同じ SQL とバインド値で EXPLAIN を実行し、実行計画を返す（H2 と PostgreSQL のどちらも、EXPLAIN の結果の1列目が実行計画）
+   */
+  @SuppressWarnings("unchecked")
+  private String explain(Configuration configuration, BoundSql boundSql, List<Object> parameterValues) {
+    try (
+      var connection = dataSource.getConnection();
+      var preparedStatement = connection.prepareStatement("EXPLAIN " + boundSql.getSql())
+    ) {
+      var mappings = boundSql.getParameterMappings();
+      for (int i = 0; i < mappings.size(); i++) {
+        var mapping = mappings.get(i);
+        var value = parameterValues.get(i);
+        var jdbcType = (value == null && mapping.getJdbcType() == null) ? configuration.getJdbcTypeForNull() : mapping.getJdbcType();
+        ((TypeHandler<Object>) mapping.getTypeHandler()).setParameter(preparedStatement, i + 1, value, jdbcType);
+      }
+
+      var plan = new StringJoiner("\n");
+      try (var resultSet = preparedStatement.executeQuery()) {
+        while (resultSet.next()) {
+          plan.add(resultSet.getString(1));
+        }
+      }
+
+      return plan.toString();
+    } catch (SQLException | RuntimeException ex) {
+      // バインド値を設定できない場合（TypeHandler の TypeException など）も、実行計画の代わりに理由を返す
+      return "(EXPLAIN failed: " + ex.getMessage() + ")";
+    }
+  }
+
+  /**
+   * ステートメントID（パッケージ名.マッパー名.メソッド名）を、マッパー名.メソッド名 にする
+   */
+  private static String statementName(MappedStatement mappedStatement) {
+    var id = mappedStatement.getId();
+    var methodSeparator = id.lastIndexOf('.');
+    var mapperSeparator = id.lastIndexOf('.', methodSeparator - 1);
+
+    return id.substring(mapperSeparator + 1);
+  }
+
+  @Override
+  public void destroy() {
+    explainExecutor.shutdownNow();
+  }
+
+}
@@ -0,0 +1,50 @@
+package app.reminderappbackend.repository;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 遅いステートメントの記録を、新しいものから max-entries 件だけ保持するリングバッファ
+ * 上限を超えた分は古いものから捨てるため、遅いステートメントが続いてもメモリ使用量は一定
+ */
+@Component
+public class SlowStatementLog {
+
+  private final int maxEntries;
+  private final Deque<SlowStatement> entries;
+
+  public SlowStatementLog(@Value("${reminder.slow-statement.max-entries}") int maxEntries) {
+    this.maxEntries = maxEntries;
+    this.entries = new ArrayDeque<>(maxEntries);
+  }
+
+  public synchronized void add(SlowStatement slowStatement) {
+    if (entries.size() == maxEntries) {
+      entries.removeFirst();
+    }
+    entries.addLast(slowStatement);
+  }
+
+  /**
+   * 保持している記録を新しい順に返す
+   *
+   * @return List<SlowStatement>
+   */
+  public synchronized List<SlowStatement> list() {
+    var list = new ArrayList<>(entries);
+    Collections.reverse(list);
+
+    return list;
+  }
+
+  public synchronized void clear() {
+    entries.clear();
+  }
+
+}
@@ -0,0 +1,110 @@
+package app.reminderappbackend.repository;
+
+import java.sql.Statement;
+import java.util.Collection;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.resultset.ResultSetHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.reflection.SystemMetaObject;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * マッパーのステートメントごとの実行時間と行数を Micrometer に記録する MyBatis のプラグイン
+ *
+ * - reminder.db.statement: ステートメントの実行時間（SQLの実行と結果のマッピングを含む）
+ * - reminder.db.statement.rows: 取得した行数（SELECT）または変更した行数（INSERT/UPDATE/DELETE）
+ * - reminder.db.result.mapping: 結果セットから Record へのマッピングにかかった時間
+ *
+ * いずれもステートメントID（ReminderRepository.selectList など）をタグに持つ
+ * reminder.db.statement から reminder.db.result.mapping を引いたものが、おおよそDBでの実行時間になる
+ */
+@Intercepts({
+  @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+  @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class}),
+  @Signature(type = Executor.class, method = "queryCursor", args = {MappedStatement.class, Object.class, RowBounds.class}),
+  @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}),
+  @Signature(type = ResultSetHandler.class, method = "handleResultSets", args = {Statement.class})
+})
+public class StatementMetricsInterceptor implements Interceptor {
+
+  private final MeterRegistry meterRegistry;
+
+  public StatementMetricsInterceptor(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public Object intercept(Invocation invocation) throws Throwable {
+    if (invocation.getTarget() instanceof ResultSetHandler) {
+      // DefaultResultSetHandler は実行中のステートメントを公開していないため、フィールドから取り出す
+      var mappedStatement = (MappedStatement) SystemMetaObject.forObject(invocation.getTarget()).getValue("mappedStatement");
+
+      return time("reminder.db.result.mapping", statementName(mappedStatement), invocation);
+    }
+
+    var mappedStatement = (MappedStatement) invocation.getArgs()[0];
+    var statementName = statementName(mappedStatement);
+    var result = time("reminder.db.statement", statementName, invocation);
+    recordRows(statementName, result);
+
+    return result;
+  }
+
+  private Object time(String metricName, String statementName, Invocation invocation) throws Throwable {
+    var sample = Timer.start(meterRegistry);
+    var outcome = "error";
+    try {
+      var result = invocation.proceed();
+      outcome = "success";
+
+      return result;
+    } finally {
+      sample.stop(Timer.builder(metricName)
+        .tag("statement", statementName)
+        .tag("outcome", outcome)
+        .register(meterRegistry));
+    }
+  }
+
+  private void recordRows(String statementName, Object result) {
+    long rows;
+    if (result instanceof Collection<?> collection) {
+      rows = collection.size();
+    } else if (result instanceof Integer updatedCount && updatedCount >= 0) {
+      // バッチ実行（ReminderBatchInserter）では、送信前のため負の値（BATCH_UPDATE_RETURN_VALUE）が返る
+      rows = updatedCount;
+    } else {
+      // Cursor は読み出す前に返るため、行数は分からない
+      return;
+    }
+
+    DistributionSummary.builder("reminder.db.statement.rows")
+      .tag("statement", statementName)
+      .register(meterRegistry)
+      .record(rows);
+  }
+
+  /**
+   * ステートメントID（パッケージ名.マッパー名.メソッド名）を、マッパー名.メソッド名 にする
+   */
+  private static String statementName(MappedStatement mappedStatement) {
+    var id = mappedStatement.getId();
+    var methodSeparator = id.lastIndexOf('.');
+    var mapperSeparator = id.lastIndexOf('.', methodSeparator - 1);
+
+    return id.substring(mapperSeparator + 1);
+  }
+
+}
@@ -0,0 +1,37 @@
+package app.reminderappbackend.config;
+
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import reminderapi.model.ReminderBulkUpdateResultDTO;
+import reminderapi.model.ReminderDTO;
+
+/**
+ * Spring Boot が作る ObjectMapper（Spring MVC / WebFlux のレスポンスの書き出しに使われる）の設定
+ */
+@Configuration
+public class JacksonConfig {
+
+  /**
+   * ReminderDTO の null の項目を書き出さないようにする
+   * 一覧を view=summary で取得した場合、取得していない項目（description, createdAt, updatedAt）はキーごと省く
+   * 一括更新の結果を filter で指定した場合も、返さない updatedIds はキーごと省く
+   * どちらも api-schema.yaml から生成されるため、アノテーションはミックスインで付ける
+   *
+   * @return Jackson2ObjectMapperBuilderCustomizer
+   */
+  @Bean
+  public Jackson2ObjectMapperBuilderCustomizer reminderDTOInclusionCustomizer() {
+    return builder -> builder
+      .mixIn(ReminderDTO.class, NonNullDTO.class)
+      .mixIn(ReminderBulkUpdateResultDTO.class, NonNullDTO.class);
+  }
+
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private interface NonNullDTO {
+  }
+
+}
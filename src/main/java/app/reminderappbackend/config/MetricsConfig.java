@@ -0,0 +1,71 @@
+package app.reminderappbackend.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+
+/**
+ * HTTPリクエストのメトリクス（http.server.requests）の設定
+ * パーセンタイル（p50/p95/p99）とヒストグラムは application.properties で有効にしている
+ */
+@Configuration
+public class MetricsConfig {
+
+  // ハンドラメソッドが決まらなかったリクエスト（404 や静的リソースなど）の operation タグの値
+  static final String UNKNOWN_OPERATION = "none";
+
+  /**
+   * http.server.requests に、処理した RemindersApi のメソッド名（= api-schema.yaml の operationId）を operation タグとして付ける
+   * uri タグだけでは、同じパスの GET と PUT などを見分けにくいため
+   *
+   * @return DefaultServerRequestObservationConvention
+   */
+  @Bean
+  @Profile("!reactive")
+  public DefaultServerRequestObservationConvention operationServerRequestObservationConvention() {
+    return new DefaultServerRequestObservationConvention() {
+      @Override
+      public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        var handler = context.getCarrier().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+
+        return super.getLowCardinalityKeyValues(context).and(operation(handler));
+      }
+    };
+  }
+
+  /**
+   * reactive プロファイル（WebFlux）用。タグの付け方は Spring MVC 版と同じ
+   *
+   * @return org.springframework.http.server.reactive.observation.DefaultServerRequestObservationConvention
+   */
+  @Bean
+  @Profile("reactive")
+  public org.springframework.http.server.reactive.observation.DefaultServerRequestObservationConvention operationReactiveServerRequestObservationConvention() {
+    return new org.springframework.http.server.reactive.observation.DefaultServerRequestObservationConvention() {
+      @Override
+      public KeyValues getLowCardinalityKeyValues(
+        org.springframework.http.server.reactive.observation.ServerRequestObservationContext context
+      ) {
+        var handler = context.getAttributes().get(org.springframework.web.reactive.HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+
+        return super.getLowCardinalityKeyValues(context).and(operation(handler));
+      }
+    };
+  }
+
+  private static KeyValue operation(Object handler) {
+    if (handler instanceof HandlerMethod handlerMethod) {
+      return KeyValue.of("operation", handlerMethod.getMethod().getName());
+    }
+
+    return KeyValue.of("operation", UNKNOWN_OPERATION);
+  }
+
+}
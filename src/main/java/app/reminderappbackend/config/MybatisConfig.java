@@ -0,0 +1,77 @@
+package app.reminderappbackend.config;
+
+import java.time.Duration;
+import java.util.Properties;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.mapping.DatabaseIdProvider;
+import org.apache.ibatis.mapping.VendorDatabaseIdProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import app.reminderappbackend.repository.SlowStatementInterceptor;
+import app.reminderappbackend.repository.SlowStatementLog;
+import app.reminderappbackend.repository.StatementMetricsInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class MybatisConfig {
+
+  public static final String DATABASE_ID_H2 = "h2";
+  public static final String DATABASE_ID_POSTGRESQL = "postgresql";
+
+  /**
+   * 接続先DBの製品名から databaseId を決定する
+   * ReminderSqlProvider は ProviderContext#getDatabaseId でDBごとの方言を切り替える
+   *
+   * @return DatabaseIdProvider
+   */
+  @Bean
+  public DatabaseIdProvider databaseIdProvider() {
+    var properties = new Properties();
+    properties.setProperty("H2", DATABASE_ID_H2);
+    properties.setProperty("PostgreSQL", DATABASE_ID_POSTGRESQL);
+
+    var provider = new VendorDatabaseIdProvider();
+    provider.setProperties(properties);
+
+    return provider;
+  }
+
+  /**
+   * ステートメントごとの実行時間と行数を記録するプラグイン
+   * Interceptor の Bean は、MyBatis の自動設定が SqlSessionFactory に登録する
+   *
+   * @param meterRegistry
+   * @return StatementMetricsInterceptor
+   */
+  @Bean
+  public StatementMetricsInterceptor statementMetricsInterceptor(MeterRegistry meterRegistry) {
+    return new StatementMetricsInterceptor(meterRegistry);
+  }
+
+  /**
+   * 実行時間が threshold を超えたステートメントを、バインド値と EXPLAIN の結果とともに記録するプラグイン
+   * 記録は management.server.port の /actuator/slowstatements で参照できる
+   *
+   * @param dataSource EXPLAIN の実行に使う
+   * @param slowStatementLog
+   * @param threshold
+   * @param captureParameters バインド値を記録するか
+   * @param maxEntries EXPLAIN の待ちの上限にも使う
+   * @return SlowStatementInterceptor
+   */
+  @Bean
+  public SlowStatementInterceptor slowStatementInterceptor(
+    DataSource dataSource,
+    SlowStatementLog slowStatementLog,
+    @Value("${reminder.slow-statement.threshold}") Duration threshold,
+    @Value("${reminder.slow-statement.capture-parameters}") boolean captureParameters,
+    @Value("${reminder.slow-statement.max-entries}") int maxEntries
+  ) {
+    return new SlowStatementInterceptor(dataSource, slowStatementLog, threshold, captureParameters, maxEntries);
+  }
+
+}
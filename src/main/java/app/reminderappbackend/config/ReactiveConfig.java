@@ -0,0 +1,64 @@
+package app.reminderappbackend.config;
+
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import io.r2dbc.spi.ConnectionFactory;
+
+/**
+ * reactive プロファイルで、WebFlux + R2DBC（ノンブロッキング）版の RemindersApi を動かすための設定
+ * インメモリのインデックスの初期構築と統計カウンタの照合は、リクエストを処理しないため JDBC（MyBatis）のまま実行する
+ *
+ * 起動: ./gradlew bootRun --args='--spring.profiles.active=reactive'
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveConfig {
+
+  /**
+   * R2DBC のトランザクションを扱う TransactionalOperator
+   * R2dbcTransactionManager を Bean として登録すると、JDBC 側の PlatformTransactionManager が自動設定されなくなるため
+   * （どちらも TransactionManager として扱われる）、Bean にはせずここでだけ使う
+   *
+   * @param connectionFactory R2DBC のコネクションファクトリ
+   * @return TransactionalOperator
+   */
+  @Bean
+  public TransactionalOperator transactionalOperator(ConnectionFactory connectionFactory) {
+    return TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+  }
+
+  /**
+   * Accept: application/cbor / application/x-jackson-smile のレスポンスのコーデック
+   * WebFlux は CBOR のコーデックを既定では登録せず、Smile のコーデックは Spring Boot の ObjectMapper の設定（JacksonConfig など）を使わないため、
+   * どちらも Spring Boot の Jackson2ObjectMapperBuilder から作ったもので登録する（Spring MVC 版は WebMvcConfig）
+   *
+   * @param builder
+   * @return CodecCustomizer
+   */
+  @Bean
+  public CodecCustomizer binaryJacksonCodecCustomizer(Jackson2ObjectMapperBuilder builder) {
+    var cborMapper = builder.factory(new CBORFactory()).build();
+    var smileMapper = builder.factory(new SmileFactory()).build();
+
+    return configurer -> {
+      configurer.customCodecs().register(new Jackson2CborEncoder(cborMapper));
+      configurer.customCodecs().register(new Jackson2CborDecoder(cborMapper));
+      configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(smileMapper));
+      configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smileMapper));
+    };
+  }
+
+}
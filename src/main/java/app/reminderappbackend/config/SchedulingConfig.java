@@ -0,0 +1,12 @@
+package app.reminderappbackend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * @Scheduled による定期実行（統計カウンタの照合など）を有効にする
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
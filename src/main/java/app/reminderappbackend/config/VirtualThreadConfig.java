@@ -0,0 +1,43 @@
+package app.reminderappbackend.config;
+
+import java.util.concurrent.Executors;
+
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+/**
+ * virtual-threads プロファイルで、リクエストを仮想スレッドで処理する
+ * JDBC の応答を待つ間はキャリアスレッドが解放されるため、同時接続数がスレッド数（server.tomcat.threads.max）に縛られない
+ *
+ * 起動: ./gradlew bootRun --args='--spring.profiles.active=virtual-threads'
+ */
+@Configuration
+@Profile("virtual-threads")
+public class VirtualThreadConfig {
+
+  /**
+   * Tomcat のリクエスト処理スレッドプールを、リクエストごとに仮想スレッドを作る Executor に置き換える
+   *
+   * @return TomcatProtocolHandlerCustomizer
+   */
+  @Bean
+  public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+    return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+  }
+
+  /**
+   * 非同期リクエスト（StreamingResponseBody によるエクスポートなど）も仮想スレッドで実行する
+   *
+   * @return AsyncTaskExecutor
+   */
+  @Bean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+  public AsyncTaskExecutor applicationTaskExecutor() {
+    return new TaskExecutorAdapter(Executors.newVirtualThreadPerTaskExecutor());
+  }
+
+}
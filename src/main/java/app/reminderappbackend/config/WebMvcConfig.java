@@ -0,0 +1,80 @@
+package app.reminderappbackend.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import app.reminderappbackend.controller.ReminderAdmissionInterceptor;
+import app.reminderappbackend.controller.ReminderRateLimitFilter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Spring MVC（Servlet）版の設定
+ */
+@Configuration
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class WebMvcConfig implements WebMvcConfigurer {
+
+  private final ReminderAdmissionInterceptor reminderAdmissionInterceptor;
+
+  /**
+   * 流入制御は ReminderController（/reminders 以下）にだけかける
+   * /admin と /actuator は、混雑していても状況を確認できるように対象外にする
+   *
+   * @param registry
+   */
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry.addInterceptor(reminderAdmissionInterceptor).addPathPatterns("/reminders", "/reminders/**");
+  }
+
+  /**
+   * レート制限も ReminderController（/reminders 以下）にだけかける
+   * Filter の Bean は全てのパスに自動登録されるため、FilterRegistrationBean で対象のパスを絞る
+   *
+   * @param reminderRateLimitFilter
+   * @return FilterRegistrationBean<ReminderRateLimitFilter>
+   */
+  @Bean
+  public FilterRegistrationBean<ReminderRateLimitFilter> reminderRateLimitFilterRegistration(ReminderRateLimitFilter reminderRateLimitFilter) {
+    var registration = new FilterRegistrationBean<>(reminderRateLimitFilter);
+    registration.addUrlPatterns("/reminders", "/reminders/*");
+
+    return registration;
+  }
+
+  /**
+   * Accept: application/cbor のレスポンスを書き出すコンバータ
+   * Spring MVC が既定で登録するコンバータは Spring Boot の ObjectMapper の設定（JacksonConfig など）を使わないため、
+   * Spring Boot の Jackson2ObjectMapperBuilder から作ったものに置き換える（JSON と同じ項目・同じ形式で書き出す）
+   *
+   * @param builder
+   * @return MappingJackson2CborHttpMessageConverter
+   */
+  @Bean
+  public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+    return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+  }
+
+  /**
+   * Accept: application/x-jackson-smile のレスポンスを書き出すコンバータ（置き換える理由は CBOR と同じ）
+   *
+   * @param builder
+   * @return MappingJackson2SmileHttpMessageConverter
+   */
+  @Bean
+  public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+    return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+  }
+
+}
@@ -0,0 +1,44 @@
+package app.reminderappbackend.controller;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import app.reminderappbackend.service.ReminderEntityCache;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 運用者向けのエンドポイント
+ * クライアント向けのAPIではないため、api-schema.yaml には含めていない
+ */
+@RestController
+@RequestMapping("/admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+  private final ReminderEntityCache reminderCache;
+
+  /**
+   * GET /admin/cache/stats : ReminderEntity キャッシュの統計情報取得
+   *
+   * @return OK (status code 200)
+   */
+  @GetMapping("/cache/stats")
+  public ResponseEntity<Map<String, Object>> getCacheStats() {
+    var stats = reminderCache.stats();
+
+    var body = new LinkedHashMap<String, Object>();
+    body.put("estimatedSize", reminderCache.estimatedSize());
+    body.put("hitCount", stats.hitCount());
+    body.put("missCount", stats.missCount());
+    body.put("hitRate", stats.hitRate());
+    body.put("evictionCount", stats.evictionCount());
+
+    return ResponseEntity.ok(body);
+  }
+
+}
@@ -0,0 +1,106 @@
+package app.reminderappbackend.controller;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+
+/**
+ * 同時に処理するリクエスト数の上限（max-concurrent）と、空きを待つ短いキュー（max-queue）による流入制御
+ * キューが一杯のとき、または queue-timeout だけ待っても空かないときは、待たせ続けずにすぐ断る
+ * （DBのコネクション待ちでリクエストが溜まり、全員のレイテンシが悪化する前に、一部のリクエストだけを断る）
+ */
+public class AdmissionLimiter {
+
+  @Getter
+  private final OperationClass operationClass;
+  private final int maxConcurrent;
+  private final int maxQueue;
+  private final long queueTimeoutNanos;
+  private final Semaphore permits;
+  private final AtomicInteger queued = new AtomicInteger();
+  private final Counter queueFullCounter;
+  private final Counter queueTimeoutCounter;
+
+  public AdmissionLimiter(OperationClass operationClass, int maxConcurrent, int maxQueue, Duration queueTimeout, MeterRegistry meterRegistry) {
+    this.operationClass = operationClass;
+    this.maxConcurrent = maxConcurrent;
+    this.maxQueue = maxQueue;
+    this.queueTimeoutNanos = queueTimeout.toNanos();
+    // 待っているリクエストには、来た順に空きを割り当てる
+    this.permits = new Semaphore(maxConcurrent, true);
+
+    Gauge.builder("reminder.admission.in.flight", this, AdmissionLimiter::inFlight)
+      .tag("operation.class", operationClass.getTag())
+      .register(meterRegistry);
+    Gauge.builder("reminder.admission.queued", queued, AtomicInteger::get)
+      .tag("operation.class", operationClass.getTag())
+      .register(meterRegistry);
+    this.queueFullCounter = Counter.builder("reminder.admission.rejected")
+      .tag("operation.class", operationClass.getTag())
+      .tag("reason", "queue_full")
+      .register(meterRegistry);
+    this.queueTimeoutCounter = Counter.builder("reminder.admission.rejected")
+      .tag("operation.class", operationClass.getTag())
+      .tag("reason", "queue_timeout")
+      .register(meterRegistry);
+  }
+
+  /**
+   * 空きがあればすぐに、なければキューで queue-timeout まで待って、処理の枠を1つ確保する
+   * true を返したときは、処理の終了後に必ず release を呼ぶ
+   *
+   * @return 確保できたかどうか
+   * @throws InterruptedException
+   */
+  public boolean tryAcquire() throws InterruptedException {
+    // 引数なしの tryAcquire は公平性を無視して割り込むため、待ち時間0の tryAcquire で、キューで待っているリクエストがあれば後ろに並ぶ
+    if (permits.tryAcquire(0, TimeUnit.NANOSECONDS)) {
+      return true;
+    }
+
+    if (queued.incrementAndGet() > maxQueue) {
+      queued.decrementAndGet();
+      queueFullCounter.increment();
+      return false;
+    }
+
+    try {
+      if (permits.tryAcquire(queueTimeoutNanos, TimeUnit.NANOSECONDS)) {
+        return true;
+      }
+      queueTimeoutCounter.increment();
+      return false;
+    } finally {
+      queued.decrementAndGet();
+    }
+  }
+
+  public void release() {
+    permits.release();
+  }
+
+  /**
+   * 処理中のリクエスト数
+   *
+   * @return int
+   */
+  public int inFlight() {
+    return maxConcurrent - permits.availablePermits();
+  }
+
+  /**
+   * キューで空きを待っているリクエスト数
+   *
+   * @return int
+   */
+  public int queued() {
+    return queued.get();
+  }
+
+}
@@ -0,0 +1,20 @@
+package app.reminderappbackend.controller;
+
+import java.time.Duration;
+
+import lombok.Getter;
+
+/**
+ * 流入制御（AdmissionLimiter）でリクエストを受け付けなかったことを表す例外
+ * ServiceUnavailableError（503）として返す
+ */
+@Getter
+public class AdmissionRejectedException extends RuntimeException {
+
+  private final Duration retryAfter;
+
+  public AdmissionRejectedException(String operationClass, Duration retryAfter) {
+    super("Too many " + operationClass + " requests are in progress. Retry after " + retryAfter.toSeconds() + " seconds.");
+    this.retryAfter = retryAfter;
+  }
+}
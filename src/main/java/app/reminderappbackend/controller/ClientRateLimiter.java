@@ -0,0 +1,87 @@
+package app.reminderappbackend.controller;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+
+/**
+ * クライアントごとに、window あたり limit 回までにリクエストを制限する（クライアントごとの TokenBucket）
+ * バケットは最初のリクエストで作り、しばらく使われなかったものは evictIdle で取り除く
+ * バケットの数は maxClients までにする（上限に達した後に来た新しいクライアントは、1つの共有のバケットでまとめて制限する）
+ */
+public class ClientRateLimiter {
+
+  @Getter
+  private final long limit;
+  @Getter
+  private final Duration window;
+  private final double nanosPerToken;
+  private final long idleNanos;
+  private final int maxClients;
+  private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+  private final TokenBucket overflowBucket;
+  private final Counter rejectedCounter;
+
+  public ClientRateLimiter(
+    OperationClass operationClass,
+    long limit,
+    Duration window,
+    Duration idleTimeout,
+    int maxClients,
+    MeterRegistry meterRegistry
+  ) {
+    this.limit = limit;
+    this.window = window;
+    this.nanosPerToken = (double) window.toNanos() / limit;
+    // 満タンに戻っていないバケットを取り除くと、そのクライアントの制限が緩むため、最低でも window は残す
+    this.idleNanos = Math.max(idleTimeout.toNanos(), window.toNanos());
+    this.maxClients = maxClients;
+    this.overflowBucket = new TokenBucket(limit, nanosPerToken, System.nanoTime());
+
+    Gauge.builder("reminder.rate.limit.clients", buckets, ConcurrentHashMap::size)
+      .tag("operation.class", operationClass.getTag())
+      .register(meterRegistry);
+    this.rejectedCounter = Counter.builder("reminder.rate.limit.rejected")
+      .tag("operation.class", operationClass.getTag())
+      .register(meterRegistry);
+  }
+
+  /**
+   * clientKey のバケットからトークンを1つ消費する
+   *
+   * @param clientKey
+   * @return TokenBucket.Probe
+   */
+  TokenBucket.Probe tryConsume(String clientKey) {
+    long nowNanos = System.nanoTime();
+    // 既存のクライアントでは、ロックを取る computeIfAbsent を通らないようにする
+    var bucket = buckets.get(clientKey);
+    if (bucket == null) {
+      // 上限の判定と追加はアトミックではないため、同時に来た新しいクライアントの分だけ上限をわずかに超えることがある
+      bucket = (buckets.size() < maxClients)
+        ? buckets.computeIfAbsent(clientKey, key -> new TokenBucket(limit, nanosPerToken, nowNanos))
+        : overflowBucket;
+    }
+
+    var probe = bucket.tryConsume(nowNanos);
+    if (!probe.consumed()) {
+      rejectedCounter.increment();
+    }
+
+    return probe;
+  }
+
+  /**
+   * idle-timeout の間使われなかったバケットを取り除く
+   * 取り除くバケットは満タンに戻っているので、取り除いた直後に同じクライアントが来ても制限は変わらない
+   */
+  void evictIdle() {
+    long nowNanos = System.nanoTime();
+    buckets.values().removeIf(bucket -> bucket.isIdle(nowNanos, idleNanos));
+  }
+
+}
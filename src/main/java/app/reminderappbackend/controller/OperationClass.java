@@ -0,0 +1,33 @@
+package app.reminderappbackend.controller;
+
+import org.springframework.http.HttpMethod;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 流入制御とレート制限で、上限を別々に設定するためのリクエストの分類
+ */
+@Getter
+@RequiredArgsConstructor
+public enum OperationClass {
+  READ("read"),
+  WRITE("write");
+
+  // メトリクスの operation.class タグの値
+  private final String tag;
+
+  /**
+   * GET と HEAD は読み取り、それ以外は書き込みに分類する
+   *
+   * @param method HTTPメソッド
+   * @return OperationClass
+   */
+  public static OperationClass of(String method) {
+    if (HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method)) {
+      return READ;
+    }
+
+    return WRITE;
+  }
+}
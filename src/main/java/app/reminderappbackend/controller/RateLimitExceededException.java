@@ -0,0 +1,20 @@
+package app.reminderappbackend.controller;
+
+import java.time.Duration;
+
+import lombok.Getter;
+
+/**
+ * クライアントごとのレート制限（ClientRateLimiter）を超えたことを表す例外
+ * TooManyRequestsError（429）として返す
+ */
+@Getter
+public class RateLimitExceededException extends RuntimeException {
+
+  private final Duration retryAfter;
+
+  public RateLimitExceededException(long limit, Duration window, Duration retryAfter) {
+    super("Rate limit of " + limit + " requests per " + window.toSeconds() + " seconds exceeded. Retry after " + retryAfter.toSeconds() + " seconds.");
+    this.retryAfter = retryAfter;
+  }
+}
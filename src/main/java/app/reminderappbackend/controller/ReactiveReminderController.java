@@ -0,0 +1,406 @@
+package app.reminderappbackend.controller;
+
+import java.net.URI;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+
+import app.reminderappbackend.repository.ReminderCriteria;
+import app.reminderappbackend.repository.ReminderProjection;
+import app.reminderappbackend.service.ReactiveReminderImportService;
+import app.reminderappbackend.service.ReactiveReminderService;
+import app.reminderappbackend.service.ReminderEntity;
+import app.reminderappbackend.util.CursorConverter;
+import app.reminderappbackend.util.DataTypeConverter;
+import app.reminderappbackend.util.EntityTags;
+import app.reminderappbackend.util.ReminderFormBinder;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reminderapi.model.PageDTO;
+import reminderapi.model.ReminderBatchItemResultDTO;
+import reminderapi.model.ReminderBatchResultDTO;
+import reminderapi.model.ReminderBulkDeleteForm;
+import reminderapi.model.ReminderBulkDeleteResultDTO;
+import reminderapi.model.ReminderBulkUpdateForm;
+import reminderapi.model.ReminderBulkUpdateResultDTO;
+import reminderapi.model.ReminderDTO;
+import reminderapi.model.ReminderForm;
+import reminderapi.model.ReminderImportResultDTO;
+import reminderapi.model.ReminderListDTO;
+import reminderapi.model.ReminderSearchResultDTO;
+import reminderapi.model.ReminderStatsDTO;
+import reminderapi.reactive.controller.RemindersApi;
+
+/**
+ * WebFlux 版の RemindersApi の実装（reactive プロファイルでのみ有効）
+ * 同じ api-schema.yaml から生成したインタフェースを実装し、DTOへの変換（DataTypeConverter）とパラメータの検証（ReminderRequestParameters）を
+ * ReminderController と共有するため、どちらのスタックでも同じレスポンスを返す
+ */
+@RestController
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveReminderController implements RemindersApi {
+
+  private final ReactiveReminderService reminderService;
+  private final ReactiveReminderImportService reminderImportService;
+  private final DataTypeConverter converter;
+  private final CursorConverter cursorConverter;
+  private final ReminderFormBinder formBinder;
+
+  /**
+   * GET /reminders/{id} : リマインダー取得
+   *
+   * @param id リマインダーを取得する一意ID (required)
+   * @param ifNoneMatch 前回のレスポンスの ETag (optional)
+   * @return OK (status code 200) or Not Modified (status code 304) or Not Found (status code 404)
+   */
+  @Override
+  public Mono<ResponseEntity<ReminderDTO>> getReminder(Long id, String ifNoneMatch, ServerWebExchange exchange) {
+    var mediaType = negotiateMediaType(exchange);
+
+    return reminderService.findById(id)
+      .map(entity -> toReminderResponse(entity, mediaType, ifNoneMatch));
+  }
+
+  private ResponseEntity<ReminderDTO> toReminderResponse(ReminderEntity entity, MediaType mediaType, String ifNoneMatch) {
+    // 変更が無ければ、DTOへの変換とJSONのシリアライズを行わずに返す
+    var etag = EntityTags.of(entity, mediaType);
+    if (EntityTags.matches(ifNoneMatch, etag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).varyBy(HttpHeaders.ACCEPT).eTag(etag).build();
+    }
+
+    return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).contentType(mediaType).eTag(etag).body(converter.toReminderDTO(entity));
+  }
+
+  /**
+   * GET /reminders/ : リマインダー一覧取得
+   * 1ページは limit 件（最大100件）までなので、DBから Flux で読み出したうえでページにまとめて返す（ETag もページ全体から決まる）
+   *
+   * @param limit リストに含まれるリソースの最大値 (required)
+   * @param offset オフセット (optional, default to 0)
+   * @param cursor 前ページのレスポンスに含まれる nextCursor (optional)
+   * @param isCompleted 完了/未完了で絞り込む (optional)
+   * @param priority 優先度で絞り込む (optional)
+   * @param dueBefore 期限がこの日付より前のものに絞り込む (optional)
+   * @param dueAfter 期限がこの日付より後のものに絞り込む (optional)
+   * @param view full は全項目、summary は一覧表示に使う項目だけを返す (optional, default to full)
+   * @param ifNoneMatch 前回のレスポンスの ETag (optional)
+   * @return OK (status code 200) or Not Modified (status code 304) or Bad Request (status code 400)
+   */
+  @Override
+  public Mono<ResponseEntity<ReminderListDTO>> getReminderList(
+    Integer limit,
+    Long offset,
+    String cursor,
+    Boolean isCompleted,
+    Integer priority,
+    LocalDate dueBefore,
+    LocalDate dueAfter,
+    String view,
+    String ifNoneMatch,
+    ServerWebExchange exchange
+  ) {
+    var criteria = new ReminderCriteria(isCompleted, priority, dueBefore, dueAfter);
+    var projection = ReminderRequestParameters.toProjection(view);
+    var mediaType = negotiateMediaType(exchange);
+
+    return findList(limit, offset, cursor, criteria, projection)
+      .collectList()
+      .map(entityList -> toListResponse(entityList, limit, offset, mediaType, ifNoneMatch));
+  }
+
+  private Flux<ReminderEntity> findList(Integer limit, Long offset, String cursor, ReminderCriteria criteria, ReminderProjection projection) {
+    // カーソルは (dueDate, id) の位置だけを表すため、2ページ目以降も同じ絞り込み条件を指定してもらう
+    if (cursor == null) {
+      return reminderService.findList(limit, offset, criteria, projection);
+    }
+
+    var decoded = cursorConverter.decode(cursor);
+    return reminderService.findListAfter(limit, decoded.getDueDate(), decoded.getId(), criteria, projection);
+  }
+
+  private ResponseEntity<ReminderListDTO> toListResponse(
+    List<ReminderEntity> entityList,
+    Integer limit,
+    Long offset,
+    MediaType mediaType,
+    String ifNoneMatch
+  ) {
+    var etag = EntityTags.of(entityList, mediaType);
+    if (EntityTags.matches(ifNoneMatch, etag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).varyBy(HttpHeaders.ACCEPT).eTag(etag).build();
+    }
+
+    var dtoList = entityList.stream()
+      .map((entity) -> converter.toReminderDTO(entity))
+      .collect(Collectors.toList());
+
+    var pageDTO = new PageDTO(limit, offset, dtoList.size());
+    // limit件ちょうど取得できた場合のみ、次ページが存在しうるのでカーソルを返す
+    if (!entityList.isEmpty() && entityList.size() == limit) {
+      pageDTO.setNextCursor(cursorConverter.encode(entityList.get(entityList.size() - 1)));
+    }
+
+    var dto = new ReminderListDTO();
+    dto.setPage(pageDTO);
+    dto.setResults(dtoList);
+
+    return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).contentType(mediaType).eTag(etag).body(dto);
+  }
+
+  /**
+   * GET /reminders/due : 期限が近いリマインダー一覧取得
+   *
+   * @param within 今日からの期間 (optional, default to P7D)
+   * @param limit リストに含まれるリソースの最大値 (optional, default to 100)
+   * @return OK (status code 200) or Bad Request (status code 400)
+   */
+  @Override
+  public Mono<ResponseEntity<ReminderListDTO>> getDueReminderList(String within, Integer limit, ServerWebExchange exchange) {
+    return reminderService.findDueWithin(ReminderRequestParameters.parseWithin(within), limit)
+      .map((entity) -> converter.toReminderDTO(entity))
+      .collectList()
+      .map(dtoList -> {
+        var dto = new ReminderListDTO();
+        dto.setPage(new PageDTO(limit, 0L, dtoList.size()));
+        dto.setResults(dtoList);
+
+        return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).body(dto);
+      });
+  }
+
+  /**
+   * GET /reminders/search : リマインダー全文検索
+   *
+   * @param q 検索クエリ (required)
+   * @param limit リストに含まれるリソースの最大値 (optional, default to 10)
+   * @param offset オフセット (optional, default to 0)
+   * @return OK (status code 200) or Bad Request (status code 400)
+   */
+  @Override
+  public Mono<ResponseEntity<ReminderSearchResultDTO>> searchReminders(String q, Integer limit, Long offset, ServerWebExchange exchange) {
+    ReminderRequestParameters.checkSearchQuery(q);
+
+    return reminderService.search(q, limit, offset)
+      .map(result -> {
+        var dtoList = result.getEntityList().stream()
+          .map((entity) -> converter.toReminderDTO(entity))
+          .collect(Collectors.toList());
+        var pageDTO = new PageDTO(limit, offset, dtoList.size());
+
+        return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).body(new ReminderSearchResultDTO(result.getTotal(), pageDTO, dtoList));
+      });
+  }
+
+  /**
+   * GET /reminders/stats : リマインダー統計取得
+   *
+   * @return OK (status code 200)
+   */
+  @Override
+  public Mono<ResponseEntity<ReminderStatsDTO>> getReminderStats(ServerWebExchange exchange) {
+    return reminderService.getStats()
+      .map(stats -> ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).body(converter.toReminderStatsDTO(stats)));
+  }
+
+  /**
+   * GET /reminders/export : リマインダー全件エクスポート
+   * Flux のままレスポンスボディにすると、Jackson が1件ごとに1行（NDJSON）で書き出す
+   * 書き出しが追いつかない間はDBからの読み出しも止まる（バックプレッシャ）ため、件数にかかわらずメモリ使用量は一定
+   *
+   * @return OK (status code 200)
+   */
+  @Override
+  @SuppressWarnings("rawtypes")
+  public Mono<ResponseEntity<Flux>> exportReminders(ServerWebExchange exchange) {
+    Flux<ReminderDTO> body = reminderService.findAll()
+      .map((entity) -> converter.toReminderDTO(entity));
+    ResponseEntity<Flux> response = ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+
+    return Mono.just(response);
+  }
+
+  /**
+   * POST /reminders/import : リマインダー一括インポート
+   *
+   * @param body ReminderForm を1行に1件ずつ並べた NDJSON (required)
+   * @return OK (status code 200)
+   */
+  @Override
+  public Mono<ResponseEntity<ReminderImportResultDTO>> importReminders(Mono<DataBuffer> body, ServerWebExchange exchange) {
+    // body（Mono<DataBuffer>）はリクエストボディ全体を1つのバッファに結合してしまうため購読せず、届いた順にバッファを読み進める
+    return reminderImportService.importFrom(exchange.getRequest().getBody())
+      .map(result -> ResponseEntity.ok(converter.toReminderImportResultDTO(result)));
+  }
+
+  /**
+   * POST /reminders/ : リマインダー作成
+   *
+   * @param reminderForm クライアントからPOSTされるフォーム (required)
+   * @return created (status code 201) or Bad Request (status code 400)
+   */
+  @Override
+  public Mono<ResponseEntity<ReminderDTO>> createReminder(Mono<ReminderForm> reminderForm, ServerWebExchange exchange) {
+    return reminderForm
+      .flatMap(form -> reminderService.create(form))
+      .map(entity -> {
+        var dto = converter.toReminderDTO(entity);
+
+        return ResponseEntity.created(URI.create("/reminders/" + dto.getId())).body(dto);
+      });
+  }
+
+  /**
+   * POST /reminders/batch : リマインダー一括作成
+   *
+   * @param requestBody ReminderForm の配列 (required)
+   * @return OK (status code 200) or Bad Request (status code 400)
+   */
+  @Override
+  public Mono<ResponseEntity<ReminderBatchResultDTO>> createReminderBatch(Flux<Object> requestBody, ServerWebExchange exchange) {
+    return requestBody
+      .collectList()
+      .flatMap(itemList -> createBatch(itemList))
+      .map(dto -> ResponseEntity.ok(dto));
+  }
+
+  private Mono<ReminderBatchResultDTO> createBatch(List<Object> itemList) {
+    // 要素ごとにバリデーションし、正常な要素だけをまとめて作成する
+    var itemResultList = new ArrayList<ReminderBatchItemResultDTO>(itemList.size());
+    var validFormList = new ArrayList<ReminderForm>();
+    var validItemResultList = new ArrayList<ReminderBatchItemResultDTO>();
+    for (int i = 0; i < itemList.size(); i++) {
+      var itemResult = new ReminderBatchItemResultDTO(i);
+      itemResultList.add(itemResult);
+
+      var bindResult = formBinder.bind(itemList.get(i));
+      if (bindResult.isValid()) {
+        validFormList.add(bindResult.getForm());
+        validItemResultList.add(itemResult);
+      } else {
+        itemResult.setInvalidParams(bindResult.getInvalidParams());
+      }
+    }
+
+    if (validFormList.isEmpty()) {
+      return Mono.just(new ReminderBatchResultDTO(List.of(), itemResultList));
+    }
+
+    return reminderService.createAll(validFormList)
+      .map(entityList -> {
+        var createdIdList = new ArrayList<Long>(entityList.size());
+        for (int i = 0; i < entityList.size(); i++) {
+          var id = entityList.get(i).getId();
+          validItemResultList.get(i).setId(id);
+          createdIdList.add(id);
+        }
+
+        return new ReminderBatchResultDTO(createdIdList, itemResultList);
+      });
+  }
+
+  /**
+   * PATCH /reminders/batch : リマインダー一括更新
+   *
+   * @param reminderBulkUpdateForm 一括更新のフォーム (required)
+   * @return OK (status code 200) or Bad Request (status code 400)
+   */
+  @Override
+  public Mono<ResponseEntity<ReminderBulkUpdateResultDTO>> updateReminderBatch(
+    Mono<ReminderBulkUpdateForm> reminderBulkUpdateForm,
+    ServerWebExchange exchange
+  ) {
+    return reminderBulkUpdateForm
+      .flatMap(form -> {
+        var criteria = ReminderRequestParameters.toBulkTargetCriteria(form.getIds(), form.getFilter(), converter);
+        ReminderRequestParameters.checkBulkUpdateFields(form.getIsCompleted(), form.getPriority());
+
+        return reminderService.updateAll(
+          (criteria == null) ? form.getIds() : null,
+          criteria,
+          form.getIsCompleted(),
+          form.getPriority()
+        );
+      })
+      .map(result -> ResponseEntity.ok(converter.toReminderBulkUpdateResultDTO(result)));
+  }
+
+  /**
+   * POST /reminders/batch/delete : リマインダー一括削除
+   *
+   * @param reminderBulkDeleteForm 一括削除のフォーム (required)
+   * @return OK (status code 200) or Bad Request (status code 400)
+   */
+  @Override
+  public Mono<ResponseEntity<ReminderBulkDeleteResultDTO>> deleteReminderBatch(
+    Mono<ReminderBulkDeleteForm> reminderBulkDeleteForm,
+    ServerWebExchange exchange
+  ) {
+    return reminderBulkDeleteForm
+      .flatMap(form -> {
+        var criteria = ReminderRequestParameters.toBulkTargetCriteria(form.getIds(), form.getFilter(), converter);
+
+        return reminderService.deleteAll((criteria == null) ? form.getIds() : null, criteria);
+      })
+      .map(deletedCount -> ResponseEntity.ok(new ReminderBulkDeleteResultDTO(deletedCount)));
+  }
+
+  /**
+   * PUT /reminders/{id} : リマインダー更新
+   *
+   * @param id 更新するリマインダーのID (required)
+   * @param reminderForm クライアントからPOSTされるフォーム (required)
+   * @param ifMatch 取得時の ETag (optional)
+   * @return OK (status code 200) or Bad Request (status code 400) or Not Found (status code 404) or Precondition Failed (status code 412)
+   */
+  @Override
+  public Mono<ResponseEntity<ReminderDTO>> updateReminder(
+    Long id,
+    Mono<ReminderForm> reminderForm,
+    String ifMatch,
+    ServerWebExchange exchange
+  ) {
+    var mediaType = negotiateMediaType(exchange);
+
+    return reminderForm
+      .flatMap(form -> reminderService.update(id, form, ReminderRequestParameters.toExpectedVersions(id, ifMatch)))
+      .map(entity -> ResponseEntity.ok()
+        .varyBy(HttpHeaders.ACCEPT)
+        .contentType(mediaType)
+        .eTag(EntityTags.of(entity, mediaType))
+        .body(converter.toReminderDTO(entity)));
+  }
+
+  /**
+   * DELETE /reminders/{id} : リマインダー削除
+   *
+   * @param id 削除するリマインダーのID (required)
+   * @return No Content (status code 204) or Not Found (status code 404)
+   */
+  @Override
+  public Mono<ResponseEntity<Void>> deleteReminder(Long id, ServerWebExchange exchange) {
+    return reminderService.delete(id)
+      .then(Mono.just(ResponseEntity.noContent().<Void>build()));
+  }
+
+  /**
+   * Accept ヘッダから、レスポンスの表現を決める（ETag は表現ごとに変わるため、Content-Type にも同じものを指定する）
+   *
+   * @return MediaType 返す表現（返せる表現が無い場合は 406 Not Acceptable）
+   */
+  private static MediaType negotiateMediaType(ServerWebExchange exchange) {
+    return ReminderRequestParameters.requireAcceptableMediaType(exchange.getRequest().getHeaders().getOrEmpty(HttpHeaders.ACCEPT));
+  }
+
+}
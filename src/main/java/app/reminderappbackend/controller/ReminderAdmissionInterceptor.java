@@ -0,0 +1,83 @@
+package app.reminderappbackend.controller;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * ReminderController の前段で、読み取り（GET/HEAD）と書き込み（それ以外）ごとに同時実行数を制限する
+ * 受け付けられなかったリクエストは AdmissionRejectedException（503 + Retry-After）になる
+ *
+ * reactive プロファイルでは使わない（リクエストがスレッドを占有しないため、R2DBC のコネクションプールの待ち行列に任せる）
+ */
+@Component
+@Profile("!reactive")
+public class ReminderAdmissionInterceptor implements AsyncHandlerInterceptor {
+
+  // 確保した AdmissionLimiter を、解放するまでリクエストの属性に保持する
+  private static final String ACQUIRED_LIMITER_ATTRIBUTE = ReminderAdmissionInterceptor.class.getName() + ".acquiredLimiter";
+
+  private final AdmissionLimiter readLimiter;
+  private final AdmissionLimiter writeLimiter;
+  private final Duration retryAfter;
+
+  public ReminderAdmissionInterceptor(
+    MeterRegistry meterRegistry,
+    @Value("${reminder.admission.read.max-concurrent}") int readMaxConcurrent,
+    @Value("${reminder.admission.read.max-queue}") int readMaxQueue,
+    @Value("${reminder.admission.write.max-concurrent}") int writeMaxConcurrent,
+    @Value("${reminder.admission.write.max-queue}") int writeMaxQueue,
+    @Value("${reminder.admission.queue-timeout}") Duration queueTimeout,
+    @Value("${reminder.admission.retry-after}") Duration retryAfter
+  ) {
+    this.readLimiter = new AdmissionLimiter(OperationClass.READ, readMaxConcurrent, readMaxQueue, queueTimeout, meterRegistry);
+    this.writeLimiter = new AdmissionLimiter(OperationClass.WRITE, writeMaxConcurrent, writeMaxQueue, queueTimeout, meterRegistry);
+    this.retryAfter = retryAfter;
+  }
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+    // 非同期処理（エクスポートなど）の完了時の再ディスパッチは、最初のディスパッチで受け付け済み（枠はリクエストの属性に保持したまま）
+    if (request.getDispatcherType() == DispatcherType.ASYNC) {
+      return true;
+    }
+
+    var limiter = limiterFor(request.getMethod());
+    if (!limiter.tryAcquire()) {
+      throw new AdmissionRejectedException(limiter.getOperationClass().getTag(), retryAfter);
+    }
+    request.setAttribute(ACQUIRED_LIMITER_ATTRIBUTE, limiter);
+
+    return true;
+  }
+
+  /**
+   * 枠を返す
+   * 非同期処理（エクスポートなど）では、リクエストのスレッドが解放されても別のスレッドがDBのコネクションを使い続けるため、
+   * 非同期処理が始まった時点（afterConcurrentHandlingStarted）では返さず、完了後の再ディスパッチの afterCompletion で返す
+   */
+  @Override
+  public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+    release(request);
+  }
+
+  AdmissionLimiter limiterFor(String method) {
+    return (OperationClass.of(method) == OperationClass.READ) ? readLimiter : writeLimiter;
+  }
+
+  private void release(HttpServletRequest request) {
+    if (request.getAttribute(ACQUIRED_LIMITER_ATTRIBUTE) instanceof AdmissionLimiter limiter) {
+      request.removeAttribute(ACQUIRED_LIMITER_ATTRIBUTE);
+      limiter.release();
+    }
+  }
+
+}
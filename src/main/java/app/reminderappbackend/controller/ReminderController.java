@@ -1,67 +1,248 @@
 package app.reminderappbackend.controller;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import app.reminderappbackend.repository.ReminderCriteria;
+import app.reminderappbackend.repository.ReminderProjection;
 import app.reminderappbackend.service.ReminderEntity;
+import app.reminderappbackend.service.ReminderImportService;
 import app.reminderappbackend.service.ReminderService;
+import app.reminderappbackend.util.CursorConverter;
 import app.reminderappbackend.util.DataTypeConverter;
+import app.reminderappbackend.util.EntityTags;
+import app.reminderappbackend.util.ReminderFormBinder;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import reminderapi.controller.RemindersApi;
 import reminderapi.model.PageDTO;
+import reminderapi.model.ReminderBatchItemResultDTO;
+import reminderapi.model.ReminderBatchResultDTO;
+import reminderapi.model.ReminderBulkDeleteForm;
+import reminderapi.model.ReminderBulkDeleteResultDTO;
+import reminderapi.model.ReminderBulkUpdateForm;
+import reminderapi.model.ReminderBulkUpdateResultDTO;
 import reminderapi.model.ReminderDTO;
 import reminderapi.model.ReminderForm;
+import reminderapi.model.ReminderImportResultDTO;
 import reminderapi.model.ReminderListDTO;
+import reminderapi.model.ReminderSearchResultDTO;
+import reminderapi.model.ReminderStatsDTO;
 
+/**
+ * Spring MVC（Servlet）版の RemindersApi の実装
+ * reactive プロファイルでは、WebFlux 版の ReactiveReminderController に置き換わる
+ */
 @RestController
+@Profile("!reactive")
 @RequiredArgsConstructor
 public class ReminderController implements RemindersApi {
 
   private final ReminderService reminderService;
+  private final ReminderImportService reminderImportService;
   private final DataTypeConverter converter;
+  private final ObjectMapper objectMapper;
+  private final CursorConverter cursorConverter;
+  private final ReminderFormBinder formBinder;
+  // リクエストスコープのプロキシ（内容交渉のために Accept ヘッダを読む）
+  private final HttpServletRequest request;
 
   /**
    * GET /reminders/{id} : リマインダー取得
    *
    * @param id リマインダーを取得する一意ID (required)
-   * @return OK (status code 200) or Not Found (status code 404)
+   * @param ifNoneMatch 前回のレスポンスの ETag (optional)
+   * @return OK (status code 200) or Not Modified (status code 304) or Not Found (status code 404)
    */
   @Override
-  public ResponseEntity<ReminderDTO> getReminder(Long id) {
+  public ResponseEntity<ReminderDTO> getReminder(Long id, String ifNoneMatch) {
     var entity = reminderService.findById(id);
+    // 変更が無ければ、DTOへの変換とJSONのシリアライズを行わずに返す
+    var mediaType = negotiateMediaType();
+    var etag = EntityTags.of(entity, mediaType);
+    if (EntityTags.matches(ifNoneMatch, etag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).varyBy(HttpHeaders.ACCEPT).eTag(etag).build();
+    }
+
     var dto = converter.toReminderDTO(entity);
 
-    return ResponseEntity.ok(dto);
+    return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).contentType(mediaType).eTag(etag).body(dto);
   }
 
   /**
    * GET /reminders/ : リマインダー一覧取得
    *
    * @param limit リストに含まれるリソースの最大値 (required)
-   * @param offset オフセット (required)
-   * @return OK (status code 200) or Bad Request (status code 400)
+   * @param offset オフセット (optional, default to 0)
+   * @param cursor 前ページのレスポンスに含まれる nextCursor (optional)
+   * @param isCompleted 完了/未完了で絞り込む (optional)
+   * @param priority 優先度で絞り込む (optional)
+   * @param dueBefore 期限がこの日付より前のものに絞り込む (optional)
+   * @param dueAfter 期限がこの日付より後のものに絞り込む (optional)
+   * @param view full は全項目、summary は一覧表示に使う項目だけを返す (optional, default to full)
+   * @param ifNoneMatch 前回のレスポンスの ETag (optional)
+   * @return OK (status code 200) or Not Modified (status code 304) or Bad Request (status code 400)
    */
   @Override
-  public ResponseEntity<ReminderListDTO> getReminderList(@RequestParam Integer limit, @RequestParam Long offset) {
-    List<ReminderEntity> entityList = reminderService.findList(limit, offset);
+  public ResponseEntity<ReminderListDTO> getReminderList(
+    Integer limit,
+    Long offset,
+    String cursor,
+    Boolean isCompleted,
+    Integer priority,
+    LocalDate dueBefore,
+    LocalDate dueAfter,
+    String view,
+    String ifNoneMatch
+  ) {
+    var criteria = new ReminderCriteria(isCompleted, priority, dueBefore, dueAfter);
+    var projection = ReminderRequestParameters.toProjection(view);
+    List<ReminderEntity> entityList = findList(limit, offset, cursor, criteria, projection);
+    // ページの内容は (ID, 版番号) の列とリクエストパラメータ（URL）だけで決まるため、変更が無ければそのまま 304 を返す
+    var mediaType = negotiateMediaType();
+    var etag = EntityTags.of(entityList, mediaType);
+    if (EntityTags.matches(ifNoneMatch, etag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).varyBy(HttpHeaders.ACCEPT).eTag(etag).build();
+    }
+
     var dtoList = entityList.stream()
       .map((entity) -> converter.toReminderDTO(entity))
       .collect(Collectors.toList());
 
     var pageDTO = new PageDTO(limit, offset, dtoList.size());
+    // limit件ちょうど取得できた場合のみ、次ページが存在しうるのでカーソルを返す
+    if (!entityList.isEmpty() && entityList.size() == limit) {
+      pageDTO.setNextCursor(cursorConverter.encode(entityList.get(entityList.size() - 1)));
+    }
 
     var dto = new ReminderListDTO();
     dto.setPage(pageDTO);
     dto.setResults(dtoList);
 
-    return ResponseEntity.ok(dto);
+    return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).contentType(mediaType).eTag(etag).body(dto);
+  }
+
+  private List<ReminderEntity> findList(Integer limit, Long offset, String cursor, ReminderCriteria criteria, ReminderProjection projection) {
+    // カーソルは (dueDate, id) の位置だけを表すため、2ページ目以降も同じ絞り込み条件を指定してもらう
+    if (cursor == null) {
+      return reminderService.findList(limit, offset, criteria, projection);
+    }
+
+    var decoded = cursorConverter.decode(cursor);
+    return reminderService.findListAfter(limit, decoded.getDueDate(), decoded.getId(), criteria, projection);
+  }
+
+  /**
+   * GET /reminders/due : 期限が近いリマインダー一覧取得
+   *
+   * @param within 今日からの期間 (optional, default to P7D)
+   * @param limit リストに含まれるリソースの最大値 (optional, default to 100)
+   * @return OK (status code 200) or Bad Request (status code 400)
+   */
+  @Override
+  public ResponseEntity<ReminderListDTO> getDueReminderList(String within, Integer limit) {
+    var entityList = reminderService.findDueWithin(ReminderRequestParameters.parseWithin(within), limit);
+    var dtoList = entityList.stream()
+      .map((entity) -> converter.toReminderDTO(entity))
+      .collect(Collectors.toList());
+
+    var dto = new ReminderListDTO();
+    dto.setPage(new PageDTO(limit, 0L, dtoList.size()));
+    dto.setResults(dtoList);
+
+    return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).body(dto);
+  }
+
+  /**
+   * GET /reminders/search : リマインダー全文検索
+   *
+   * @param q 検索クエリ (required)
+   * @param limit リストに含まれるリソースの最大値 (optional, default to 10)
+   * @param offset オフセット (optional, default to 0)
+   * @return OK (status code 200) or Bad Request (status code 400)
+   */
+  @Override
+  public ResponseEntity<ReminderSearchResultDTO> searchReminders(String q, Integer limit, Long offset) {
+    ReminderRequestParameters.checkSearchQuery(q);
+
+    var result = reminderService.search(q, limit, offset);
+    var dtoList = result.getEntityList().stream()
+      .map((entity) -> converter.toReminderDTO(entity))
+      .collect(Collectors.toList());
+    var pageDTO = new PageDTO(limit, offset, dtoList.size());
+
+    return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).body(new ReminderSearchResultDTO(result.getTotal(), pageDTO, dtoList));
+  }
+
+  /**
+   * GET /reminders/stats : リマインダー統計取得
+   *
+   * @return OK (status code 200)
+   */
+  @Override
+  public ResponseEntity<ReminderStatsDTO> getReminderStats() {
+    var stats = reminderService.getStats();
+    var dto = converter.toReminderStatsDTO(stats);
+
+    return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).body(dto);
+  }
+
+  /**
+   * GET /reminders/export : リマインダー全件エクスポート
+   * 1件読み出すごとに1行書き出すため、件数にかかわらずメモリ使用量は一定
+   *
+   * @return OK (status code 200)
+   */
+  @Override
+  public ResponseEntity<StreamingResponseBody> exportReminders() {
+    var writer = objectMapper.writerFor(ReminderDTO.class);
+    StreamingResponseBody body = outputStream -> reminderService.forEach(entity -> {
+      try {
+        outputStream.write(writer.writeValueAsBytes(converter.toReminderDTO(entity)));
+        outputStream.write('\n');
+      } catch (IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
+    });
+
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+  }
+
+  /**
+   * POST /reminders/import : リマインダー一括インポート
+   *
+   * @param body ReminderForm を1行に1件ずつ並べた NDJSON (required)
+   * @return OK (status code 200)
+   */
+  @Override
+  public ResponseEntity<ReminderImportResultDTO> importReminders(InputStreamResource body) {
+    try (var inputStream = body.getInputStream()) {
+      var result = reminderImportService.importFrom(inputStream);
+      var dto = converter.toReminderImportResultDTO(result);
+
+      return ResponseEntity.ok(dto);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
   }
 
   /**
@@ -78,19 +259,98 @@ public class ReminderController implements RemindersApi {
     return ResponseEntity.created(URI.create("/reminders/" + dto.getId())).body(dto);
   }
 
+  /**
+   * POST /reminders/batch : リマインダー一括作成
+   *
+   * @param requestBody ReminderForm の配列 (required)
+   * @return OK (status code 200) or Bad Request (status code 400)
+   */
+  @Override
+  public ResponseEntity<ReminderBatchResultDTO> createReminderBatch(List<Object> requestBody) {
+    // 要素ごとにバリデーションし、正常な要素だけをまとめて作成する
+    var itemResultList = new ArrayList<ReminderBatchItemResultDTO>(requestBody.size());
+    var validFormList = new ArrayList<ReminderForm>();
+    var validItemResultList = new ArrayList<ReminderBatchItemResultDTO>();
+    for (int i = 0; i < requestBody.size(); i++) {
+      var itemResult = new ReminderBatchItemResultDTO(i);
+      itemResultList.add(itemResult);
+
+      var bindResult = formBinder.bind(requestBody.get(i));
+      if (bindResult.isValid()) {
+        validFormList.add(bindResult.getForm());
+        validItemResultList.add(itemResult);
+      } else {
+        itemResult.setInvalidParams(bindResult.getInvalidParams());
+      }
+    }
+
+    var createdIdList = new ArrayList<Long>(validFormList.size());
+    if (!validFormList.isEmpty()) {
+      var entityList = reminderService.createAll(validFormList);
+      for (int i = 0; i < entityList.size(); i++) {
+        var id = entityList.get(i).getId();
+        validItemResultList.get(i).setId(id);
+        createdIdList.add(id);
+      }
+    }
+
+    var dto = new ReminderBatchResultDTO(createdIdList, itemResultList);
+
+    return ResponseEntity.ok(dto);
+  }
+
+  /**
+   * PATCH /reminders/batch : リマインダー一括更新
+   *
+   * @param form 一括更新のフォーム (required)
+   * @return OK (status code 200) or Bad Request (status code 400)
+   */
+  @Override
+  public ResponseEntity<ReminderBulkUpdateResultDTO> updateReminderBatch(@Valid ReminderBulkUpdateForm form) {
+    var criteria = ReminderRequestParameters.toBulkTargetCriteria(form.getIds(), form.getFilter(), converter);
+    ReminderRequestParameters.checkBulkUpdateFields(form.getIsCompleted(), form.getPriority());
+
+    var result = reminderService.updateAll(
+      (criteria == null) ? form.getIds() : null,
+      criteria,
+      form.getIsCompleted(),
+      form.getPriority()
+    );
+
+    return ResponseEntity.ok(converter.toReminderBulkUpdateResultDTO(result));
+  }
+
+  /**
+   * POST /reminders/batch/delete : リマインダー一括削除
+   *
+   * @param form 一括削除のフォーム (required)
+   * @return OK (status code 200) or Bad Request (status code 400)
+   */
+  @Override
+  public ResponseEntity<ReminderBulkDeleteResultDTO> deleteReminderBatch(@Valid ReminderBulkDeleteForm form) {
+    var criteria = ReminderRequestParameters.toBulkTargetCriteria(form.getIds(), form.getFilter(), converter);
+
+    var deletedCount = reminderService.deleteAll((criteria == null) ? form.getIds() : null, criteria);
+
+    return ResponseEntity.ok(new ReminderBulkDeleteResultDTO(deletedCount));
+  }
+
   /**
    * PUT /reminders/{id} : リマインダー更新
    *
    * @param id 更新するリマインダーのID (required)
    * @param reminderForm クライアントからPOSTされるフォーム (required)
-   * @return OK (status code 200) or Bad Request (status code 400) or Not Found (status code 404)
+   * @param ifMatch 取得時の ETag (optional)
+   * @return OK (status code 200) or Bad Request (status code 400) or Not Found (status code 404) or Precondition Failed (status code 412)
    */
   @Override
-  public ResponseEntity<ReminderDTO> updateReminder(@Min(1) Long id, @Valid ReminderForm reminderForm) {
-    var entity = reminderService.update(id, reminderForm);
+  public ResponseEntity<ReminderDTO> updateReminder(@Min(1) Long id, @Valid ReminderForm reminderForm, String ifMatch) {
+    // 返せる表現が無ければ、更新する前に 406 を返す
+    var mediaType = negotiateMediaType();
+    var entity = reminderService.update(id, reminderForm, ReminderRequestParameters.toExpectedVersions(id, ifMatch));
     var dto = converter.toReminderDTO(entity);
 
-    return ResponseEntity.ok(dto);
+    return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).contentType(mediaType).eTag(EntityTags.of(entity, mediaType)).body(dto);
   }
 
   /**
@@ -106,4 +366,13 @@ public class ReminderController implements RemindersApi {
     return ResponseEntity.noContent().build();
   }
 
+  /**
+   * Accept ヘッダから、レスポンスの表現を決める（ETag は表現ごとに変わるため、Content-Type にも同じものを指定する）
+   *
+   * @return MediaType 返す表現（返せる表現が無い場合は 406 Not Acceptable）
+   */
+  private MediaType negotiateMediaType() {
+    return ReminderRequestParameters.requireAcceptableMediaType(Collections.list(request.getHeaders(HttpHeaders.ACCEPT)));
+  }
+
 }
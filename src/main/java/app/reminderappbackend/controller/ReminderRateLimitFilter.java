@@ -0,0 +1,114 @@
+package app.reminderappbackend.controller;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * クライアント（登録済みの API キー、なければ IP アドレス）ごとのレート制限
+ * 読み取り（GET/HEAD）と書き込みで別々の ClientRateLimiter を使い、全てのレスポンスに RateLimit-* ヘッダを付ける
+ * 制限を超えたリクエストは RateLimitExceededException として CustomExceptionHandler に渡す（429 + Retry-After）
+ *
+ * /reminders 以下にだけかける（WebMvcConfig で登録する）
+ */
+@Component
+@Profile("!reactive")
+public class ReminderRateLimitFilter extends OncePerRequestFilter {
+
+  public static final String API_KEY_HEADER = "X-API-Key";
+
+  private final Set<String> apiKeys;
+  private final ClientRateLimiter readLimiter;
+  private final ClientRateLimiter writeLimiter;
+  private final HandlerExceptionResolver handlerExceptionResolver;
+
+  public ReminderRateLimitFilter(
+    MeterRegistry meterRegistry,
+    @Qualifier("handlerExceptionResolver") HandlerExceptionResolver handlerExceptionResolver,
+    @Value("${reminder.rate-limit.read.limit}") long readLimit,
+    @Value("${reminder.rate-limit.read.window}") Duration readWindow,
+    @Value("${reminder.rate-limit.write.limit}") long writeLimit,
+    @Value("${reminder.rate-limit.write.window}") Duration writeWindow,
+    @Value("${reminder.rate-limit.idle-timeout}") Duration idleTimeout,
+    @Value("${reminder.rate-limit.max-clients}") int maxClients,
+    @Value("${reminder.rate-limit.api-keys}") Set<String> apiKeys
+  ) {
+    this.apiKeys = Set.copyOf(apiKeys);
+    this.readLimiter = new ClientRateLimiter(OperationClass.READ, readLimit, readWindow, idleTimeout, maxClients, meterRegistry);
+    this.writeLimiter = new ClientRateLimiter(OperationClass.WRITE, writeLimit, writeWindow, idleTimeout, maxClients, meterRegistry);
+    this.handlerExceptionResolver = handlerExceptionResolver;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+    throws ServletException, IOException {
+    var limiter = limiterFor(request.getMethod());
+    var probe = limiter.tryConsume(clientKey(request));
+
+    response.setHeader("RateLimit-Policy", limiter.getLimit() + ";w=" + limiter.getWindow().toSeconds());
+    response.setHeader("RateLimit-Limit", String.valueOf(limiter.getLimit()));
+    response.setHeader("RateLimit-Remaining", String.valueOf(probe.remaining()));
+    response.setHeader("RateLimit-Reset", String.valueOf(ceilSeconds(probe.nanosUntilFull())));
+
+    if (probe.consumed()) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    var retryAfter = Duration.ofSeconds(Math.max(1, ceilSeconds(probe.nanosUntilNextToken())));
+    var ex = new RateLimitExceededException(limiter.getLimit(), limiter.getWindow(), retryAfter);
+    if (handlerExceptionResolver.resolveException(request, response, null, ex) == null) {
+      response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), ex.getMessage());
+    }
+  }
+
+  ClientRateLimiter limiterFor(String method) {
+    return (OperationClass.of(method) == OperationClass.READ) ? readLimiter : writeLimiter;
+  }
+
+  /**
+   * 登録済み（reminder.rate-limit.api-keys）の API キーがあれば API キー、なければ接続元の IP アドレスでクライアントを識別する
+   * 未登録の API キーは無視する（キーを毎回変えて制限を逃れたり、バケットを際限なく作らせたりできないように）
+   */
+  String clientKey(HttpServletRequest request) {
+    var apiKey = request.getHeader(API_KEY_HEADER);
+    if (apiKey != null && apiKeys.contains(apiKey)) {
+      return "api-key:" + apiKey;
+    }
+
+    return "ip:" + request.getRemoteAddr();
+  }
+
+  /**
+   * 使われなくなったクライアントのバケットを定期的に取り除く（クライアントの数だけバケットが増え続けないように）
+   */
+  @Scheduled(
+    initialDelayString = "${reminder.rate-limit.evict-interval}",
+    fixedDelayString = "${reminder.rate-limit.evict-interval}"
+  )
+  public void evictIdleBuckets() {
+    readLimiter.evictIdle();
+    writeLimiter.evictIdle();
+  }
+
+  private static long ceilSeconds(long nanos) {
+    return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+  }
+
+}
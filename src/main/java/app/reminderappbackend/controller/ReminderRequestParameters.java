@@ -0,0 +1,208 @@
+package app.reminderappbackend.controller;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.format.DateTimeParseException;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.web.server.NotAcceptableStatusException;
+
+import app.reminderappbackend.repository.ReminderCriteria;
+import app.reminderappbackend.repository.ReminderProjection;
+import app.reminderappbackend.service.ReminderVersionConflictException;
+import app.reminderappbackend.util.BigramTokenizer;
+import app.reminderappbackend.util.DataTypeConverter;
+import app.reminderappbackend.util.EntityTags;
+import app.reminderappbackend.util.InvalidParameterException;
+import reminderapi.model.ReminderFilter;
+
+/**
+ * Bean Validation では表せないリクエストパラメータの検証と変換
+ * ReminderController（Spring MVC）と ReactiveReminderController（WebFlux）で、同じ入力を同じエラーにするために共有する
+ */
+final class ReminderRequestParameters {
+
+  // JSON を返す操作が返せる表現（api-schema.yaml の produces の順。Accept で優劣が付かない場合は先のものを選ぶ）
+  static final List<MediaType> REPRESENTATIONS = List.of(
+    MediaType.APPLICATION_JSON,
+    MediaType.APPLICATION_CBOR,
+    new MediaType("application", "x-jackson-smile")
+  );
+
+  // within の上限（今日にこれより長い期間を足すと、LocalDate の範囲を超えて DateTimeException になりうる）
+  static final Period MAX_WITHIN = Period.ofYears(100);
+
+  private ReminderRequestParameters() {
+  }
+
+  /**
+   * Accept ヘッダから、レスポンスの表現（メディアタイプ）を決める
+   * ETag を表現ごとに変えるため、フレームワークの内容交渉に任せずにここで決めて、レスポンスの Content-Type に指定する
+   * 表現ごとに、最も具体的に一致するメディアレンジの q 値で比べる（Accept: application/json;q=0, application/* なら JSON は選ばない）
+   *
+   * @param acceptHeaders Accept ヘッダの値（無い場合は空のリスト）
+   * @return MediaType 返す表現（返せる表現が無い場合、Accept が不正な場合は null）
+   */
+  static MediaType negotiateMediaType(List<String> acceptHeaders) {
+    List<MediaType> acceptList;
+    try {
+      acceptList = MediaType.parseMediaTypes(acceptHeaders);
+    } catch (InvalidMediaTypeException ex) {
+      return null;
+    }
+    if (acceptList.isEmpty()) {
+      return MediaType.APPLICATION_JSON;
+    }
+
+    MediaType selected = null;
+    double selectedQuality = 0;
+    for (var representation : REPRESENTATIONS) {
+      double quality = acceptList.stream()
+        .filter(accept -> accept.includes(representation))
+        .max(Comparator.comparingInt(ReminderRequestParameters::specificity))
+        .map(MediaType::getQualityValue)
+        .orElse(0.0);
+      if (quality > selectedQuality) {
+        selected = representation;
+        selectedQuality = quality;
+      }
+    }
+
+    return selected;
+  }
+
+  /**
+   * Accept ヘッダから、レスポンスの表現を決める。返せる表現が無い場合は 406 Not Acceptable にする
+   * If-None-Match の照合や更新より前に呼び出すこと（JSON の ETag と一致して 304 を返したり、更新だけ行って 406 を返したりしないように）
+   *
+   * @param acceptHeaders Accept ヘッダの値（無い場合は空のリスト）
+   * @return MediaType 返す表現
+   */
+  static MediaType requireAcceptableMediaType(List<String> acceptHeaders) {
+    var mediaType = negotiateMediaType(acceptHeaders);
+    if (mediaType == null) {
+      throw new NotAcceptableStatusException(REPRESENTATIONS);
+    }
+
+    return mediaType;
+  }
+
+  private static int specificity(MediaType mediaRange) {
+    if (mediaRange.isWildcardType()) {
+      return 0;
+    }
+
+    return mediaRange.isWildcardSubtype() ? 1 : 2;
+  }
+
+  /**
+   * within（ISO-8601 の期間表記）を Period に変換する
+   * サービスは今日に within を足して期限の範囲を決めるため、足せない（日付の範囲を超える）長さの期間はここで拒否する
+   */
+  static Period parseWithin(String within) {
+    Period period;
+    try {
+      period = Period.parse(within);
+    } catch (DateTimeParseException ex) {
+      throw new InvalidParameterException("within", "must be an ISO-8601 period such as P7D");
+    }
+    if (period.isNegative()) {
+      throw new InvalidParameterException("within", "must not be negative");
+    }
+    if (exceedsMaxWithin(period)) {
+      throw new InvalidParameterException("within", "must not exceed " + MAX_WITHIN);
+    }
+
+    return period;
+  }
+
+  private static boolean exceedsMaxWithin(Period period) {
+    var today = LocalDate.now();
+    try {
+      return today.plus(period).isAfter(today.plus(MAX_WITHIN));
+    } catch (DateTimeException | ArithmeticException ex) {
+      return true;
+    }
+  }
+
+  /**
+   * 一覧の view を、読み出す列の範囲に変換する
+   * api-schema.yaml の enum はクエリパラメータでは検証されない（String のまま渡される）ため、ここで検証する
+   */
+  static ReminderProjection toProjection(String view) {
+    if (view == null || view.equals("full")) {
+      return ReminderProjection.FULL;
+    }
+    if (view.equals("summary")) {
+      return ReminderProjection.SUMMARY;
+    }
+
+    throw new InvalidParameterException("view", "must be either full or summary");
+  }
+
+  /**
+   * 記号や空白だけのクエリはトークンにならず、何にもヒットしないため明示的に拒否する
+   */
+  static void checkSearchQuery(String q) {
+    if (BigramTokenizer.tokenizeQuery(q).isEmpty()) {
+      throw new InvalidParameterException("q", "must contain at least one letter or digit");
+    }
+  }
+
+  /**
+   * 一括操作の対象が ids と filter のどちらか一方だけで指定されているかを検証する
+   *
+   * @return ReminderCriteria filter で指定された場合はその条件、ids で指定された場合は null
+   */
+  static ReminderCriteria toBulkTargetCriteria(List<Long> ids, ReminderFilter filter, DataTypeConverter converter) {
+    var hasIds = ids != null && !ids.isEmpty();
+    var hasFilter = filter != null;
+    if (hasIds == hasFilter) {
+      throw new InvalidParameterException("ids", "either ids or filter must be specified");
+    }
+    if (hasIds) {
+      return null;
+    }
+
+    var criteria = converter.toReminderCriteria(filter);
+    if (criteria.isEmpty()) {
+      // 条件が空だと全件が対象になってしまうため、明示的に拒否する
+      throw new InvalidParameterException("filter", "at least one condition must be specified");
+    }
+
+    return criteria;
+  }
+
+  /**
+   * 一括更新で、更新する項目が1つも指定されていない場合は拒否する
+   */
+  static void checkBulkUpdateFields(Boolean isCompleted, Integer priority) {
+    if (isCompleted == null && priority == null) {
+      throw new InvalidParameterException("isCompleted", "either isCompleted or priority must be specified");
+    }
+  }
+
+  /**
+   * If-Match から、更新前に期待する版番号（いずれか1つに一致すればよい）を取り出す
+   *
+   * @return List<Long> 版番号（If-Match が無い場合、または * の場合は null）
+   */
+  static List<Long> toExpectedVersions(Long id, String ifMatch) {
+    if (ifMatch == null || ifMatch.trim().equals("*")) {
+      return null;
+    }
+
+    // このリソースの ETag として解釈できない値は、どの版とも一致しない
+    var versionList = EntityTags.versionsOf(ifMatch, id);
+    if (versionList.isEmpty()) {
+      throw new ReminderVersionConflictException(id);
+    }
+
+    return versionList;
+  }
+
+}
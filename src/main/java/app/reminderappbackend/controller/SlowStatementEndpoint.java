@@ -0,0 +1,43 @@
+package app.reminderappbackend.controller;
+
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import app.reminderappbackend.repository.SlowStatement;
+import app.reminderappbackend.repository.SlowStatementLog;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 遅いステートメントの記録を参照・消去する Actuator のエンドポイント（/actuator/slowstatements）
+ * SQL やバインド値を含むため、クライアント向けのポートではなく management.server.port でだけ公開する
+ */
+@Component
+@Endpoint(id = "slowstatements")
+@RequiredArgsConstructor
+public class SlowStatementEndpoint {
+
+  private final SlowStatementLog slowStatementLog;
+
+  /**
+   * GET /actuator/slowstatements : 遅いステートメントの記録取得（新しい順）
+   *
+   * @return List<SlowStatement>
+   */
+  @ReadOperation
+  public List<SlowStatement> slowStatements() {
+    return slowStatementLog.list();
+  }
+
+  /**
+   * DELETE /actuator/slowstatements : 遅いステートメントの記録削除（No Content (status code 204)）
+   */
+  @DeleteOperation
+  public void clearSlowStatements() {
+    slowStatementLog.clear();
+  }
+
+}
@@ -0,0 +1,65 @@
+package app.reminderappbackend.controller;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * ロックを使わないトークンバケット
+ * 残りのトークン数と最後に補充した時刻を不変の State にまとめ、compareAndSet で置き換える（競合したら読み直してやり直す）
+ * トークンは消費するときに、前回からの経過時間の分だけまとめて補充する
+ */
+final class TokenBucket {
+
+  private record State(double tokens, long refilledAtNanos) {}
+
+  /**
+   * 消費を試みた結果
+   *
+   * @param consumed トークンを消費できたかどうか
+   * @param remaining 残りのトークン数
+   * @param nanosUntilFull 満タンになるまでの時間
+   * @param nanosUntilNextToken 次のトークンが補充されるまでの時間（消費できた場合は 0）
+   */
+  record Probe(boolean consumed, long remaining, long nanosUntilFull, long nanosUntilNextToken) {}
+
+  private final long capacity;
+  private final double nanosPerToken;
+  private final AtomicReference<State> state;
+
+  TokenBucket(long capacity, double nanosPerToken, long nowNanos) {
+    this.capacity = capacity;
+    this.nanosPerToken = nanosPerToken;
+    this.state = new AtomicReference<>(new State(capacity, nowNanos));
+  }
+
+  Probe tryConsume(long nowNanos) {
+    while (true) {
+      var current = state.get();
+      // 他のスレッドが先に新しい時刻で補充していた場合は、経過時間を 0 とみなす
+      var refilledAtNanos = Math.max(nowNanos, current.refilledAtNanos());
+      var tokens = Math.min(capacity, current.tokens() + (refilledAtNanos - current.refilledAtNanos()) / nanosPerToken);
+      var consumed = tokens >= 1;
+      var next = new State(consumed ? tokens - 1 : tokens, refilledAtNanos);
+
+      if (state.compareAndSet(current, next)) {
+        return new Probe(
+          consumed,
+          (long) next.tokens(),
+          (long) Math.ceil((capacity - next.tokens()) * nanosPerToken),
+          consumed ? 0L : (long) Math.ceil((1 - next.tokens()) * nanosPerToken)
+        );
+      }
+    }
+  }
+
+  /**
+   * 最後の消費から idleNanos 以上経っているか
+   *
+   * @param nowNanos
+   * @param idleNanos
+   * @return boolean
+   */
+  boolean isIdle(long nowNanos, long idleNanos) {
+    return nowNanos - state.get().refilledAtNanos() >= idleNanos;
+  }
+
+}
@@ -1,12 +1,15 @@
 package app.reminderappbackend.controller.advice;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.support.WebExchangeBindException;
 
+import app.reminderappbackend.util.InvalidParameterException;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.ElementKind;
@@ -30,8 +33,25 @@ public class BadRequestErrorCreator {
     return error;
   }
 
+  /**
+   * エラー情報からエラーメッセージを取り出して、BadRequestErrorを組み立てる（WebFlux 版）
+   *
+   * @param ex バリデーションエラーで投げられる例外
+   * @return BadRequestError
+   */
+  public static BadRequestError from(WebExchangeBindException ex) {
+    var error = new BadRequestError();
+    error.setInvalidParams(createInvalidParamList(ex.getFieldErrors()));
+
+    return error;
+  }
+
   private static List<InvalidParam> createInvalidParamList(MethodArgumentNotValidException ex) {
-    return ex.getFieldErrors()
+    return createInvalidParamList(ex.getFieldErrors());
+  }
+
+  private static List<InvalidParam> createInvalidParamList(List<FieldError> fieldErrors) {
+    return fieldErrors
       .stream()
       .map(BadRequestErrorCreator::createInvalidParam) // Xxx::xxX は method reference と言う書き方
       .collect(Collectors.toList());
@@ -64,17 +84,53 @@ public class BadRequestErrorCreator {
   }
 
   private static InvalidParam createInvalidParam(ConstraintViolation<?> violation) {
+    var methodName = StreamSupport.stream(violation.getPropertyPath().spliterator(), false)
+      .filter(node -> node.getKind().equals(ElementKind.METHOD))
+      .map(node -> node.getName())
+      .findFirst()
+      .orElse("");
     var parameterOpt = StreamSupport.stream(violation.getPropertyPath().spliterator(), false)
       .filter(node -> node.getKind().equals(ElementKind.PARAMETER))
       .findFirst();
     var invalidParam = new InvalidParam();
-    parameterOpt.ifPresent(p -> invalidParam.setName(mapArgNameToParameter(p.getName())));
+    parameterOpt.ifPresent(p -> invalidParam.setName(mapArgNameToParameter(methodName, p.getName())));
     invalidParam.setReason(violation.getMessage());
     return invalidParam;
   }
 
-  private static String mapArgNameToParameter(String argName) {
-    return (argName.equals("arg0")) ? "limit" : (argName.equals("arg1")) ? "offset" : "unknown";
+  /**
+   * 不正なパラメータの情報から、BadRequestErrorを組み立てる
+   *
+   * @param ex Bean Validation 以外でパラメータの不正を検出したときに投げられる例外
+   * @return BadRequestError
+   */
+  public static BadRequestError from(InvalidParameterException ex) {
+    var error = new BadRequestError();
+    error.setInvalidParams(List.of(new InvalidParam(ex.getParameterName(), ex.getMessage())));
+
+    return error;
+  }
+
+  // メソッドごとの、引数の並び順に対応したパラメータ名
+  private static final Map<String, List<String>> PARAMETER_NAMES = Map.of(
+    "getReminderList", List.of("limit", "offset", "cursor", "isCompleted", "priority", "dueBefore", "dueAfter", "view", "ifNoneMatch"),
+    "getDueReminderList", List.of("within", "limit"),
+    "searchReminders", List.of("q", "limit", "offset"),
+    "createReminderBatch", List.of("requestBody")
+  );
+
+  private static String mapArgNameToParameter(String methodName, String argName) {
+    var parameterNames = PARAMETER_NAMES.getOrDefault(methodName, List.of());
+    // -parameters 付きでコンパイルされている場合は、引数名がそのまま取れる
+    if (parameterNames.contains(argName)) {
+      return argName;
+    }
+    if (!argName.matches("arg\\d+")) {
+      return "unknown";
+    }
+
+    var index = Integer.parseInt(argName.substring("arg".length()));
+    return (index < parameterNames.size()) ? parameterNames.get(index) : "unknown";
   }
 
 }
@@ -1,5 +1,6 @@
 package app.reminderappbackend.controller.advice;
 
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -10,12 +11,24 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
+import app.reminderappbackend.controller.AdmissionRejectedException;
+import app.reminderappbackend.controller.RateLimitExceededException;
 import app.reminderappbackend.service.ReminderEntityNotFoundException;
+import app.reminderappbackend.service.ReminderVersionConflictException;
+import app.reminderappbackend.util.InvalidParameterException;
 import jakarta.validation.ConstraintViolationException;
 import reminderapi.model.BadRequestError;
+import reminderapi.model.PreconditionFailedError;
 import reminderapi.model.ResourceNotFoundError;
+import reminderapi.model.ServiceUnavailableError;
+import reminderapi.model.TooManyRequestsError;
 
+/**
+ * Spring MVC（Servlet）版のエラーハンドラ
+ * reactive プロファイルでは、WebFlux 版の ReactiveExceptionHandler に置き換わる
+ */
 @RestControllerAdvice
+@Profile("!reactive")
 public class CustomExceptionHandler extends ResponseEntityExceptionHandler {
 
   /**
@@ -31,6 +44,50 @@ public class CustomExceptionHandler extends ResponseEntityExceptionHandler {
     return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
   }
 
+  /**
+   * ReminderVersionConflictException 発生時のエラーハンドラ
+   *
+   * @param ex
+   * @return ResponseEntity<PreconditionFailedError>
+   */
+  @ExceptionHandler(ReminderVersionConflictException.class)
+  public ResponseEntity<PreconditionFailedError> handle(ReminderVersionConflictException ex) {
+    var error = new PreconditionFailedError("Precondition Failed", ex.getMessage());
+
+    return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(error);
+  }
+
+  /**
+   * AdmissionRejectedException 発生時のエラーハンドラ
+   *
+   * @param ex
+   * @return ResponseEntity<ServiceUnavailableError>
+   */
+  @ExceptionHandler(AdmissionRejectedException.class)
+  public ResponseEntity<ServiceUnavailableError> handle(AdmissionRejectedException ex) {
+    var error = new ServiceUnavailableError("Service Unavailable", ex.getMessage());
+
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+      .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+      .body(error);
+  }
+
+  /**
+   * RateLimitExceededException 発生時のエラーハンドラ
+   * RateLimit-* ヘッダは、ReminderRateLimitFilter が設定済み
+   *
+   * @param ex
+   * @return ResponseEntity<TooManyRequestsError>
+   */
+  @ExceptionHandler(RateLimitExceededException.class)
+  public ResponseEntity<TooManyRequestsError> handle(RateLimitExceededException ex) {
+    var error = new TooManyRequestsError("Too Many Requests", ex.getMessage());
+
+    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+      .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfter().toSeconds()))
+      .body(error);
+  }
+
   /**
    * ConstraintViolationException 発生時のエラーハンドラ
    *
@@ -44,6 +101,19 @@ public class CustomExceptionHandler extends ResponseEntityExceptionHandler {
     return ResponseEntity.badRequest().body(error);
   }
 
+  /**
+   * InvalidParameterException 発生時のエラーハンドラ
+   *
+   * @param ex
+   * @return ResponseEntity<BadRequestError>
+   */
+  @ExceptionHandler(InvalidParameterException.class)
+  public ResponseEntity<BadRequestError> handleInvalidParameterException(InvalidParameterException ex) {
+    var error = BadRequestErrorCreator.from(ex);
+
+    return ResponseEntity.badRequest().body(error);
+  }
+
   /**
    * MethodArgumentNotValidException 発生時のエラーハンドラ
    *
@@ -0,0 +1,104 @@
+package app.reminderappbackend.controller.advice;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.reactive.result.method.annotation.ResponseEntityExceptionHandler;
+import org.springframework.web.server.ServerWebExchange;
+
+import app.reminderappbackend.service.ReminderEntityNotFoundException;
+import app.reminderappbackend.service.ReminderVersionConflictException;
+import app.reminderappbackend.util.InvalidParameterException;
+import jakarta.validation.ConstraintViolationException;
+import reactor.core.publisher.Mono;
+import reminderapi.model.BadRequestError;
+import reminderapi.model.PreconditionFailedError;
+import reminderapi.model.ResourceNotFoundError;
+
+/**
+ * WebFlux 版のエラーハンドラ
+ * CustomExceptionHandler（Spring MVC 版）と同じ例外を、同じステータスコードとレスポンスボディに変換する
+ */
+@RestControllerAdvice
+@Profile("reactive")
+public class ReactiveExceptionHandler extends ResponseEntityExceptionHandler {
+
+  /**
+   * ReminderEntityNotFoundException 発生時のエラーハンドラ
+   *
+   * @param ex
+   * @return ResponseEntity<ResourceNotFoundError>
+   */
+  @ExceptionHandler(ReminderEntityNotFoundException.class)
+  public ResponseEntity<ResourceNotFoundError> handle(ReminderEntityNotFoundException ex) {
+    var error = new ResourceNotFoundError("Resource Not Found", ex.getMessage());
+
+    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+  }
+
+  /**
+   * ReminderVersionConflictException 発生時のエラーハンドラ
+   *
+   * @param ex
+   * @return ResponseEntity<PreconditionFailedError>
+   */
+  @ExceptionHandler(ReminderVersionConflictException.class)
+  public ResponseEntity<PreconditionFailedError> handle(ReminderVersionConflictException ex) {
+    var error = new PreconditionFailedError("Precondition Failed", ex.getMessage());
+
+    return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(error);
+  }
+
+  /**
+   * ConstraintViolationException 発生時のエラーハンドラ
+   *
+   * @param ex
+   * @return ResponseEntity<BadRequestError>
+   */
+  @ExceptionHandler(ConstraintViolationException.class)
+  public ResponseEntity<BadRequestError> handleConstraintViolationException(ConstraintViolationException ex) {
+    var error = BadRequestErrorCreator.from(ex);
+
+    return ResponseEntity.badRequest().body(error);
+  }
+
+  /**
+   * InvalidParameterException 発生時のエラーハンドラ
+   *
+   * @param ex
+   * @return ResponseEntity<BadRequestError>
+   */
+  @ExceptionHandler(InvalidParameterException.class)
+  public ResponseEntity<BadRequestError> handleInvalidParameterException(InvalidParameterException ex) {
+    var error = BadRequestErrorCreator.from(ex);
+
+    return ResponseEntity.badRequest().body(error);
+  }
+
+  /**
+   * WebExchangeBindException（リクエストボディのバリデーションエラー）発生時のエラーハンドラ
+   * Spring MVC の MethodArgumentNotValidException に相当する
+   *
+   * @param ex
+   * @param headers
+   * @param status
+   * @param exchange
+   * @return Mono<ResponseEntity<Object>>
+   */
+  @Override
+  protected Mono<ResponseEntity<Object>> handleWebExchangeBindException(
+    WebExchangeBindException ex,
+    HttpHeaders headers,
+    HttpStatusCode status,
+    ServerWebExchange exchange
+  ) {
+    var error = BadRequestErrorCreator.from(ex);
+
+    return Mono.just(ResponseEntity.badRequest().body(error));
+  }
+}
@@ -0,0 +1,122 @@
+package app.reminderappbackend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import app.reminderappbackend.util.BoundedLineSplitter;
+import app.reminderappbackend.util.ReminderFormBinder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reminderapi.model.InvalidParam;
+import reminderapi.model.ReminderForm;
+
+/**
+ * ReminderImportService と同じ一括インポートを、リクエストボディの DataBuffer を読み進めながら行うサービス
+ * reactive プロファイルでのみ有効
+ */
+@Service
+@Profile("reactive")
+public class ReactiveReminderImportService {
+
+  private final ReactiveReminderService reminderService;
+  private final ReminderFormBinder formBinder;
+  private final int batchSize;
+  private final int maxReportedErrors;
+  private final int maxLineBytes;
+
+  public ReactiveReminderImportService(
+    ReactiveReminderService reminderService,
+    ReminderFormBinder formBinder,
+    @Value("${reminder.import.batch-size}") int batchSize,
+    @Value("${reminder.import.max-reported-errors}") int maxReportedErrors,
+    @Value("${reminder.import.max-line-size}") DataSize maxLineSize
+  ) {
+    this.reminderService = reminderService;
+    this.formBinder = formBinder;
+    this.batchSize = batchSize;
+    this.maxReportedErrors = maxReportedErrors;
+    this.maxLineBytes = (int) maxLineSize.toBytes();
+  }
+
+  /**
+   * NDJSON（1行に ReminderForm 1件）を読み込みながら、batch-size 件ごとにまとめて登録するサービス
+   * 登録（concatMap）が終わるまで次のバッファを要求しないため、クライアントの送信速度は登録速度に合わせて抑えられる
+   * 保持するのは登録待ちの batch-size 件と読みかけの1行（max-line-size まで）と報告用のエラーだけなので、入力の大きさにかかわらずメモリ使用量は一定
+   *
+   * @param body NDJSON のリクエストボディ
+   * @return Mono<ReminderImportResult>
+   */
+  public Mono<ReminderImportResult> importFrom(Flux<DataBuffer> body) {
+    return Mono.defer(() -> {
+      long startNanos = System.nanoTime();
+      var failedCount = new AtomicLong();
+      var lineErrorList = new ArrayList<ReminderImportResult.LineError>();
+
+      return splitLines(body)
+        .index()
+        .filter(indexedLine -> indexedLine.getT2().isOversized() || !indexedLine.getT2().getText().isBlank())
+        .<ReminderForm>handle((indexedLine, sink) -> {
+          var line = indexedLine.getT2();
+          List<InvalidParam> invalidParams;
+          if (line.isOversized()) {
+            // 長すぎる行は読み捨てられているので、パースせずに不正な行として扱う
+            invalidParams = ReminderImportResult.LineError.oversizedLineInvalidParams(maxLineBytes);
+          } else {
+            // 行単位でパースするので、JSONとして壊れた行があっても次の行から読み直せる
+            var bindResult = formBinder.bindJson(line.getText());
+            if (bindResult.isValid()) {
+              sink.next(bindResult.getForm());
+              return;
+            }
+            invalidParams = bindResult.getInvalidParams();
+          }
+
+          failedCount.incrementAndGet();
+          if (lineErrorList.size() < maxReportedErrors) {
+            lineErrorList.add(new ReminderImportResult.LineError(indexedLine.getT1() + 1, invalidParams));
+          }
+        })
+        .buffer(batchSize)
+        .concatMap(formList -> reminderService.createAll(formList))
+        .reduce(0L, (importedCount, entityList) -> importedCount + entityList.size())
+        .map(importedCount -> new ReminderImportResult(
+          importedCount,
+          failedCount.get(),
+          System.nanoTime() - startNanos,
+          lineErrorList
+        ));
+    });
+  }
+
+  /**
+   * リクエストボディを1行ずつに区切る
+   * StringDecoder は1行が上限を超えると DataBufferLimitException でボディ全体を失敗させるため、
+   * 長すぎる行も1行として返し、行単位のエラーとして扱えるようにする
+   */
+  private Flux<BoundedLineSplitter.Line> splitLines(Flux<DataBuffer> body) {
+    return Flux.defer(() -> {
+      var splitter = new BoundedLineSplitter(maxLineBytes);
+
+      return body
+        .concatMapIterable(dataBuffer -> {
+          try {
+            var bytes = new byte[dataBuffer.readableByteCount()];
+            dataBuffer.read(bytes);
+            return splitter.split(bytes, 0, bytes.length);
+          } finally {
+            DataBufferUtils.release(dataBuffer);
+          }
+        })
+        .concatWith(Mono.fromSupplier(() -> splitter.finish().orElse(null)));
+    });
+  }
+
+}
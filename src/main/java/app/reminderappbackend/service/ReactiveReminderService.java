@@ -0,0 +1,316 @@
+package app.reminderappbackend.service;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import app.reminderappbackend.repository.ReactiveReminderRepository;
+import app.reminderappbackend.repository.ReminderCriteria;
+import app.reminderappbackend.repository.ReminderProjection;
+import app.reminderappbackend.repository.ReminderRecord;
+import app.reminderappbackend.util.DataTypeConverter;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reminderapi.model.ReminderForm;
+
+/**
+ * ReminderService と同じ操作を、ReactiveReminderRepository（R2DBC）で実行するサービス
+ * reactive プロファイルでのみ有効。インメモリのインデックスは ReminderService と共有し、書き込みがコミットされた後に同じように通知する
+ * ReminderEntityCache は使わない（キャッシュのロードがブロッキング前提のため）
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveReminderService {
+
+  private final ReactiveReminderRepository reminderRepository;
+  private final DataTypeConverter converter;
+  private final TransactionalOperator transactionalOperator;
+  private final ReminderDueIndex reminderDueIndex;
+  private final ReminderSearchIndex reminderSearchIndex;
+  private final ReminderStatsCounter reminderStatsCounter;
+  private final List<ReminderChangeListener> changeListeners;
+
+  @Value("${reminder.bulk-update.chunk-size}")
+  private int bulkUpdateChunkSize;
+
+  @Value("${reminder.bulk-delete.chunk-size}")
+  private int bulkDeleteChunkSize;
+
+  /**
+   * IDに紐づくリマインダーを取得するサービス
+   *
+   * @param id リマインダーを取得する一意ID
+   * @return Mono<ReminderEntity> or ReminderEntityNotFoundException
+   */
+  public Mono<ReminderEntity> findById(Long id) {
+    return reminderRepository.selectById(id)
+      .map(record -> converter.toReminderEntity(record))
+      .switchIfEmpty(Mono.error(() -> new ReminderEntityNotFoundException(id)));
+  }
+
+  /**
+   * 絞り込み条件に一致するリマインダーのうち、limitとoffsetに基づくリストを取得するサービス
+   *
+   * @param limit リストに含まれるリソースの最大値
+   * @param offset オフセット
+   * @param criteria 絞り込み条件（null の場合は絞り込まない）
+   * @param projection 取得する項目の範囲（SUMMARY の場合、description, createdAt, updatedAt は null）
+   * @return Flux<ReminderEntity>
+   */
+  public Flux<ReminderEntity> findList(Integer limit, Long offset, ReminderCriteria criteria, ReminderProjection projection) {
+    return reminderRepository.selectList(limit, offset, criteria, projection)
+      .map(record -> converter.toReminderEntity(record));
+  }
+
+  /**
+   * 前ページ最終要素の (dueDate, id) より後ろのリマインダーのリストを取得するサービス
+   *
+   * @param limit リストに含まれるリソースの最大値
+   * @param afterDueDate 前ページ最終要素の期限
+   * @param afterId 前ページ最終要素のID
+   * @param criteria 絞り込み条件（null の場合は絞り込まない）
+   * @param projection 取得する項目の範囲（SUMMARY の場合、description, createdAt, updatedAt は null）
+   * @return Flux<ReminderEntity>
+   */
+  public Flux<ReminderEntity> findListAfter(
+    Integer limit,
+    LocalDate afterDueDate,
+    Long afterId,
+    ReminderCriteria criteria,
+    ReminderProjection projection
+  ) {
+    return reminderRepository.selectListAfter(limit, afterDueDate, afterId, criteria, projection)
+      .map(record -> converter.toReminderEntity(record));
+  }
+
+  /**
+   * 期限が今日から within 後までの未完了のリマインダーを、期限の昇順で取得するサービス
+   * DBではなくインメモリのインデックスから返す
+   *
+   * @param within 今日からの期間
+   * @param limit リストに含まれるリソースの最大値
+   * @return Flux<ReminderEntity>
+   */
+  public Flux<ReminderEntity> findDueWithin(Period within, int limit) {
+    // 「今日」は購読した時点で決める
+    return Flux.defer(() -> {
+      var today = LocalDate.now();
+
+      return Flux.fromIterable(reminderDueIndex.findDueBetween(today, today.plus(within), limit));
+    });
+  }
+
+  /**
+   * タイトルと説明を全文検索し、関連度の高い順にリマインダーを取得するサービス
+   * ヒットするIDの絞り込みと順位付けはインメモリの転置インデックスで行い、DBからはページ内のリマインダーだけを取得する
+   *
+   * @param query 検索クエリ
+   * @param limit リストに含まれるリソースの最大値
+   * @param offset オフセット
+   * @return Mono<ReminderSearchResult>
+   */
+  public Mono<ReminderSearchResult> search(String query, int limit, long offset) {
+    return Mono.defer(() -> {
+      var hits = reminderSearchIndex.search(query, limit, offset);
+      if (hits.getIdList().isEmpty()) {
+        return Mono.just(new ReminderSearchResult(hits.getTotal(), List.of()));
+      }
+
+      return reminderRepository.selectByIds(hits.getIdList())
+        .map(record -> converter.toReminderEntity(record))
+        .collectMap(entity -> entity.getId())
+        .map(entityById -> new ReminderSearchResult(hits.getTotal(), rankOrder(hits.getIdList(), entityById)));
+    });
+  }
+
+  // インデックスの順位どおりに並べ直す（インデックスの更新とDBの読み出しの間に削除されたものは除く）
+  private static List<ReminderEntity> rankOrder(List<Long> idList, Map<Long, ReminderEntity> entityById) {
+    return idList.stream()
+      .map(id -> entityById.get(id))
+      .filter(entity -> entity != null)
+      .collect(Collectors.toList());
+  }
+
+  /**
+   * 優先度別・完了/未完了別・期限切れのリマインダーの件数を取得するサービス
+   * 書き込みのたびに更新しているカウンタを読むだけで、DBは参照しない
+   *
+   * @return Mono<ReminderStats>
+   */
+  public Mono<ReminderStats> getStats() {
+    return Mono.fromSupplier(() -> reminderStatsCounter.getStats(LocalDate.now()));
+  }
+
+  /**
+   * 全リマインダーをID順に読み出すサービス
+   * 購読側（レスポンスの書き出し）の速度に合わせてDBから読み出すため、件数にかかわらずメモリ使用量は一定
+   *
+   * @return Flux<ReminderEntity>
+   */
+  public Flux<ReminderEntity> findAll() {
+    return reminderRepository.selectAll()
+      .map(record -> converter.toReminderEntity(record));
+  }
+
+  /**
+   * リマインダー作成するサービス
+   *
+   * @param form クライアントからPOSTされるフォーム
+   * @return Mono<ReminderEntity>
+   */
+  public Mono<ReminderEntity> create(ReminderForm form) {
+    return reminderRepository.insert(converter.toReminderRecord(form))
+      .map(record -> converter.toReminderEntity(record))
+      .doOnNext(entity -> notifySaved(List.of(entity)));
+  }
+
+  /**
+   * リマインダーを一括作成するサービス
+   * 1トランザクション内で1件ずつINSERTする（R2DBC の DatabaseClient は、自動採番されたIDを返すバッチ実行に対応していないため）
+   *
+   * @param formList バリデーション済みのフォームのリスト
+   * @return Mono<List<ReminderEntity>> フォームと同じ並び順
+   */
+  public Mono<List<ReminderEntity>> createAll(List<ReminderForm> formList) {
+    return Flux.fromIterable(formList)
+      .concatMap(form -> reminderRepository.insert(converter.toReminderRecord(form)))
+      .map(record -> converter.toReminderEntity(record))
+      .collectList()
+      // transactional(Mono) は、コミットが終わってから値を流すため、通知はコミット後になる
+      .as(transactionalOperator::transactional)
+      .doOnNext(entityList -> notifySaved(entityList));
+  }
+
+  /**
+   * 版番号が expectedVersions のいずれかに一致する場合だけ、リマインダー更新するサービス
+   *
+   * @param id 更新するリマインダーのID
+   * @param reminderForm クライアントからPOSTされるフォーム
+   * @param expectedVersions 更新前の版番号の候補（null の場合は版番号を確認しない）
+   * @return Mono<ReminderEntity>
+   */
+  public Mono<ReminderEntity> update(Long id, ReminderForm reminderForm, List<Long> expectedVersions) {
+    return reminderRepository.update(id, reminderForm, expectedVersions)
+      .switchIfEmpty(Mono.defer(() -> notUpdated(id, expectedVersions)))
+      .map(record -> converter.toReminderEntity(record))
+      .doOnNext(entity -> notifySaved(List.of(entity)));
+  }
+
+  /**
+   * 更新対象の行が無かった（0件更新）場合に、IDが存在しないのか、他のリクエストに先に更新されたのかを判定してエラーにする
+   */
+  private Mono<ReminderRecord> notUpdated(Long id, List<Long> expectedVersions) {
+    if (expectedVersions == null) {
+      return Mono.error(new ReminderEntityNotFoundException(id));
+    }
+
+    return reminderRepository.selectById(id)
+      .hasElement()
+      .flatMap(exists -> Mono.<ReminderRecord>error(exists
+        ? new ReminderVersionConflictException(id)
+        : new ReminderEntityNotFoundException(id)));
+  }
+
+  /**
+   * IDのリスト、または絞り込み条件に一致するリマインダーの 完了/未完了・優先度 を一括更新するサービス
+   *
+   * @param ids 更新するリマインダーのID（絞り込み条件で指定する場合は null）
+   * @param criteria 更新するリマインダーの絞り込み条件（IDで指定する場合は null）
+   * @param isCompleted 更新後の 完了/未完了（更新しない場合は null）
+   * @param priority 更新後の優先度（更新しない場合は null）
+   * @return Mono<ReminderBulkUpdateResult>
+   */
+  public Mono<ReminderBulkUpdateResult> updateAll(List<Long> ids, ReminderCriteria criteria, Boolean isCompleted, Integer priority) {
+    if (ids != null) {
+      return reminderRepository.bulkUpdate(ids, null, isCompleted, priority)
+        .map(record -> converter.toReminderEntity(record))
+        .collectList()
+        .doOnNext(entityList -> notifySaved(entityList))
+        .map(entityList -> {
+          var updatedIdList = entityList.stream()
+            .map(entity -> entity.getId())
+            .collect(Collectors.toList());
+
+          return new ReminderBulkUpdateResult(updatedIdList.size(), updatedIdList);
+        });
+    }
+
+    // 更新件数が chunk-size 未満になるまで、前回更新した最大の ID より後ろの次のチャンクを更新する（ReminderService と同じ）
+    return updateChunk(criteria, isCompleted, priority, 0L)
+      .expand(entityList -> (entityList.size() == bulkUpdateChunkSize)
+        ? updateChunk(criteria, isCompleted, priority, entityList.stream().mapToLong(entity -> entity.getId()).max().getAsLong())
+        : Mono.<List<ReminderEntity>>empty())
+      .reduce(0L, (updatedCount, entityList) -> updatedCount + entityList.size())
+      .map(updatedCount -> new ReminderBulkUpdateResult(updatedCount, null));
+  }
+
+  private Mono<List<ReminderEntity>> updateChunk(ReminderCriteria criteria, Boolean isCompleted, Integer priority, long afterId) {
+    return reminderRepository.bulkUpdateChunk(criteria, isCompleted, priority, afterId, bulkUpdateChunkSize)
+      .map(record -> converter.toReminderEntity(record))
+      .collectList()
+      .doOnNext(entityList -> notifySaved(entityList));
+  }
+
+  /**
+   * IDのリスト、または絞り込み条件に一致するリマインダーを一括削除するサービス
+   * 1つの巨大なトランザクションにならないよう、chunk-size 件ごとに分割して削除（コミット）する
+   *
+   * @param ids 削除するリマインダーのID（絞り込み条件で指定する場合は null）
+   * @param criteria 削除するリマインダーの絞り込み条件（IDで指定する場合は null）
+   * @return Mono<Long> 削除した件数
+   */
+  public Mono<Long> deleteAll(List<Long> ids, ReminderCriteria criteria) {
+    if (ids != null) {
+      return Flux.fromIterable(ids)
+        .buffer(bulkDeleteChunkSize)
+        .concatMap(chunkIds -> deleteChunk(chunkIds, null, chunkIds.size()))
+        .reduce(0L, (deletedCount, chunkDeletedCount) -> deletedCount + chunkDeletedCount);
+    }
+
+    // 削除件数が chunk-size 未満になるまで（= 条件に一致する行が無くなるまで）次のチャンクを削除する
+    return deleteChunk(null, criteria, bulkDeleteChunkSize)
+      .expand(chunkDeletedCount -> (chunkDeletedCount == bulkDeleteChunkSize)
+        ? deleteChunk(null, criteria, bulkDeleteChunkSize)
+        : Mono.<Integer>empty())
+      .reduce(0L, (deletedCount, chunkDeletedCount) -> deletedCount + chunkDeletedCount);
+  }
+
+  private Mono<Integer> deleteChunk(List<Long> ids, ReminderCriteria criteria, int chunkSize) {
+    return reminderRepository.deleteChunk(ids, criteria, chunkSize)
+      .collectList()
+      .doOnNext(recordList -> notifyDeleted(recordList))
+      .map(recordList -> recordList.size());
+  }
+
+  /**
+   * リマインダー削除するサービス
+   *
+   * @param id 削除するリマインダーのID
+   * @return Mono<Void>
+   */
+  public Mono<Void> delete(Long id) {
+    // 削除対象の行が無ければ（0件削除）、IDが存在しないとみなす
+    return reminderRepository.delete(id)
+      .switchIfEmpty(Mono.error(() -> new ReminderEntityNotFoundException(id)))
+      .doOnNext(record -> notifyDeleted(List.of(record)))
+      .then();
+  }
+
+  private void notifySaved(List<ReminderEntity> entityList) {
+    entityList.forEach(entity -> changeListeners.forEach(listener -> listener.onSaved(entity)));
+  }
+
+  private void notifyDeleted(List<ReminderRecord> deletedRecordList) {
+    deletedRecordList.forEach(record -> changeListeners.forEach(listener -> listener.onDeleted(record.getId(), record.getVersion())));
+  }
+
+}
@@ -0,0 +1,13 @@
+package app.reminderappbackend.service;
+
+import java.util.List;
+
+import lombok.Value;
+
+@Value
+public class ReminderBulkUpdateResult {
+  // 更新した件数
+  long updatedCount;
+  // 更新したリマインダーのID（IDのリストで指定した場合のみ。絞り込み条件で指定した場合は件数に上限が無いため null）
+  List<Long> updatedIdList;
+}
@@ -0,0 +1,25 @@
+package app.reminderappbackend.service;
+
+/**
+ * リマインダーの変更を受け取るリスナー
+ * ReminderService が、書き込みがコミットされた後に呼び出す（インメモリのインデックスなどを追従させるために使う）
+ * 同じIDへの通知でも、コミットした順に届くとは限らない（版番号を比べて、反映済みより古い通知は無視すること）
+ */
+public interface ReminderChangeListener {
+
+  /**
+   * リマインダーが作成・更新されたときに呼び出される
+   *
+   * @param entity 作成・更新後のエンティティ
+   */
+  void onSaved(ReminderEntity entity);
+
+  /**
+   * リマインダーが削除されたときに呼び出される
+   *
+   * @param id 削除したリマインダーのID
+   * @param version 削除した行の版番号
+   */
+  void onDeleted(Long id, Long version);
+
+}
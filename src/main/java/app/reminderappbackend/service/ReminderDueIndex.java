@@ -0,0 +1,100 @@
+package app.reminderappbackend.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.Value;
+
+/**
+ * 未完了のリマインダーを (dueDate, id) 順に保持するインメモリのインデックス
+ * 期限の範囲検索は skip-list の部分ビューをたどるだけなので、テーブルの件数にかかわらず O(log n + 取得件数) で返せる
+ *
+ * 起動時に ReminderIndexInitializer がDBから全件を読み込んで構築し、
+ * 以降は ReminderService からの変更通知で追従する（コミットと順番が入れ替わって届いた古い通知は、版番号で無視する）
+ */
+@Component
+public class ReminderDueIndex implements ReminderChangeListener {
+
+  private static final Comparator<DueKey> DUE_KEY_ORDER = Comparator
+    .comparing(DueKey::getDueDate)
+    .thenComparingLong(DueKey::getId);
+
+  private final ConcurrentSkipListMap<DueKey, ReminderEntity> entityByDueKey = new ConcurrentSkipListMap<>(DUE_KEY_ORDER);
+  // 更新・削除時に、skip-list から古いキーを取り除くための逆引き（反映済みの版番号と、削除の墓標も保持する）
+  private final VersionedEntryMap<ReminderEntity> entityById = new VersionedEntryMap<>();
+  private final long tombstoneRetentionNanos;
+
+  public ReminderDueIndex(
+    @org.springframework.beans.factory.annotation.Value("${reminder.index.tombstone-retention}") Duration tombstoneRetention
+  ) {
+    this.tombstoneRetentionNanos = tombstoneRetention.toNanos();
+  }
+
+  @Override
+  public void onSaved(ReminderEntity entity) {
+    entityById.save(entity.getId(), entity.getVersion(), entity, this::replace);
+  }
+
+  @Override
+  public void onDeleted(Long id, Long version) {
+    entityById.delete(id, version, this::replace);
+  }
+
+  /**
+   * 古いエンティティのキーを取り除き、新しいエンティティが未完了であればキーを追加する
+   */
+  private void replace(ReminderEntity oldEntity, ReminderEntity newEntity) {
+    if (oldEntity != null && !Boolean.TRUE.equals(oldEntity.getIsCompleted())) {
+      entityByDueKey.remove(new DueKey(oldEntity.getDueDate(), oldEntity.getId()));
+    }
+    if (newEntity != null && !Boolean.TRUE.equals(newEntity.getIsCompleted())) {
+      entityByDueKey.put(new DueKey(newEntity.getDueDate(), newEntity.getId()), newEntity);
+    }
+  }
+
+  /**
+   * 遅れて届く通知が無くなった古い墓標を取り除く
+   */
+  @Scheduled(
+    initialDelayString = "${reminder.index.tombstone-retention}",
+    fixedDelayString = "${reminder.index.tombstone-retention}"
+  )
+  public void purgeTombstones() {
+    entityById.purgeTombstones(tombstoneRetentionNanos);
+  }
+
+  /**
+   * 期限が from から to まで（両端を含む）の未完了のリマインダーを、(dueDate, id) の昇順で取得する
+   *
+   * @param from 期限の下限
+   * @param to 期限の上限
+   * @param limit 取得する最大件数
+   * @return List<ReminderEntity>
+   */
+  public List<ReminderEntity> findDueBetween(LocalDate from, LocalDate to, int limit) {
+    return entityByDueKey
+      .subMap(new DueKey(from, Long.MIN_VALUE), true, new DueKey(to, Long.MAX_VALUE), true)
+      .values()
+      .stream()
+      .limit(limit)
+      .collect(Collectors.toList());
+  }
+
+  public int size() {
+    return entityByDueKey.size();
+  }
+
+  @Value
+  static class DueKey {
+    LocalDate dueDate;
+    long id;
+  }
+
+}
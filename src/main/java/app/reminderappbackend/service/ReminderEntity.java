@@ -24,4 +24,6 @@ public class ReminderEntity {
 
   @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
   OffsetDateTime updatedAt;
+
+  Long version;
 }
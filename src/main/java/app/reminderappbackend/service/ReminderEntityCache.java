@@ -0,0 +1,103 @@
+package app.reminderappbackend.service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * IDをキーにした ReminderEntity のインプロセスキャッシュ
+ * ReminderEntity はイミュータブルなので、キャッシュしたインスタンスをそのまま共有して良い
+ *
+ * 同じIDの読み込みは1回にまとめる（後続のリクエストは読み込み中の CompletableFuture を待つ）
+ * Cache#get(key, loader) はハッシュのビンをロック（synchronized）したまま loader を実行するため、
+ * 仮想スレッドではDBを待つ間キャリアスレッドを占有（pin）してしまう。そのため読み込みはロックの外で行う
+ */
+@Component
+public class ReminderEntityCache implements MeterBinder {
+
+  private static final String CACHE_NAME = "reminderEntity";
+
+  private final AsyncCache<Long, ReminderEntity> cache;
+
+  public ReminderEntityCache(
+    @Value("${reminder.cache.maximum-size}") long maximumSize,
+    @Value("${reminder.cache.expire-after-write}") Duration expireAfterWrite
+  ) {
+    this.cache = Caffeine.newBuilder()
+      .maximumSize(maximumSize)
+      .expireAfterWrite(expireAfterWrite)
+      .recordStats()
+      .buildAsync();
+  }
+
+  /**
+   * キャッシュにあればそれを返し、なければ loader で取得してキャッシュする
+   * loader が空を返した場合（存在しないID）はキャッシュしない
+   *
+   * @param id リマインダーの一意ID
+   * @param loader キャッシュミス時にリマインダーを取得する関数
+   * @return Optional<ReminderEntity>
+   */
+  public Optional<ReminderEntity> get(Long id, Function<Long, Optional<ReminderEntity>> loader) {
+    var cachedFuture = cache.getIfPresent(id);
+    if (cachedFuture != null) {
+      return Optional.ofNullable(cachedFuture.join());
+    }
+
+    var loadingFuture = new CompletableFuture<ReminderEntity>();
+    var existingFuture = cache.asMap().putIfAbsent(id, loadingFuture);
+    if (existingFuture != null) {
+      // 他のスレッドが読み込み中（または読み込み済み）
+      return Optional.ofNullable(existingFuture.join());
+    }
+
+    try {
+      // null（存在しないID）や例外で完了した Future は、Caffeine がキャッシュから取り除く
+      loadingFuture.complete(loader.apply(id).orElse(null));
+    } catch (RuntimeException | Error ex) {
+      // 待っている他のスレッドにも例外を伝え、Future が完了しないまま残らないようにする
+      loadingFuture.completeExceptionally(ex);
+      throw ex;
+    }
+
+    return Optional.ofNullable(loadingFuture.join());
+  }
+
+  public void put(ReminderEntity entity) {
+    cache.put(entity.getId(), CompletableFuture.completedFuture(entity));
+  }
+
+  public void evict(Long id) {
+    cache.synchronous().invalidate(id);
+  }
+
+  public CacheStats stats() {
+    return cache.synchronous().stats();
+  }
+
+  public long estimatedSize() {
+    return cache.synchronous().estimatedSize();
+  }
+
+  /**
+   * ヒット率・件数・追い出し数を cache.* のメトリクスとして公開する（cache=reminderEntity タグ）
+   * MeterBinder の Bean は Spring Boot が MeterRegistry に登録する
+   */
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    CaffeineCacheMetrics.monitor(registry, cache.synchronous(), CACHE_NAME);
+  }
+
+}
@@ -0,0 +1,34 @@
+package app.reminderappbackend.service;
+
+import java.util.List;
+
+import lombok.Value;
+import reminderapi.model.InvalidParam;
+
+@Value
+public class ReminderImportResult {
+  long importedCount;
+  long failedCount;
+  long elapsedNanos;
+  List<LineError> lineErrorList;
+
+  @Value
+  public static class LineError {
+    long line;
+    List<InvalidParam> invalidParams;
+
+    /**
+     * reminder.import.max-line-size を超えて読み捨てた行のエラー詳細
+     *
+     * @param maxLineBytes 1行の最大バイト数
+     * @return List<InvalidParam>
+     */
+    public static List<InvalidParam> oversizedLineInvalidParams(int maxLineBytes) {
+      return List.of(new InvalidParam("", "line must not exceed " + maxLineBytes + " bytes"));
+    }
+  }
+
+  public double getRowsPerSecond() {
+    return (elapsedNanos == 0) ? 0 : importedCount * 1_000_000_000.0 / elapsedNanos;
+  }
+}
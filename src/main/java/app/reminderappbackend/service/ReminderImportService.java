@@ -0,0 +1,107 @@
+package app.reminderappbackend.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import app.reminderappbackend.util.BoundedLineSplitter;
+import app.reminderappbackend.util.ReminderFormBinder;
+import reminderapi.model.InvalidParam;
+import reminderapi.model.ReminderForm;
+
+@Service
+public class ReminderImportService {
+
+  private final ReminderService reminderService;
+  private final ReminderFormBinder formBinder;
+  private final int batchSize;
+  private final int maxReportedErrors;
+  private final int maxLineBytes;
+
+  public ReminderImportService(
+    ReminderService reminderService,
+    ReminderFormBinder formBinder,
+    @Value("${reminder.import.batch-size}") int batchSize,
+    @Value("${reminder.import.max-reported-errors}") int maxReportedErrors,
+    @Value("${reminder.import.max-line-size}") DataSize maxLineSize
+  ) {
+    this.reminderService = reminderService;
+    this.formBinder = formBinder;
+    this.batchSize = batchSize;
+    this.maxReportedErrors = maxReportedErrors;
+    this.maxLineBytes = (int) maxLineSize.toBytes();
+  }
+
+  /**
+   * NDJSON（1行に ReminderForm 1件）を読み込みながら、batch-size 件ごとにまとめて登録するサービス
+   * 読み込みは登録が終わるまで進まないため、クライアントの送信速度は登録速度に合わせて抑えられる（TCPのフロー制御）
+   * 保持するのは登録待ちの batch-size 件と読みかけの1行（max-line-size まで）と報告用のエラーだけなので、入力の大きさにかかわらずメモリ使用量は一定
+   *
+   * @param inputStream NDJSON のリクエストボディ
+   * @return ReminderImportResult
+   */
+  public ReminderImportResult importFrom(InputStream inputStream) throws IOException {
+    long startNanos = System.nanoTime();
+    long importedCount = 0;
+    long failedCount = 0;
+    long lineNumber = 0;
+    var lineErrorList = new ArrayList<ReminderImportResult.LineError>();
+    var formList = new ArrayList<ReminderForm>(batchSize);
+
+    var splitter = new BoundedLineSplitter(maxLineBytes);
+    var buffer = new byte[8192];
+    boolean endOfInput = false;
+    while (!endOfInput) {
+      int readBytes = inputStream.read(buffer);
+      endOfInput = (readBytes == -1);
+      var lineList = endOfInput ? splitter.finish().stream().toList() : splitter.split(buffer, 0, readBytes);
+
+      for (var line : lineList) {
+        lineNumber++;
+        List<InvalidParam> invalidParams;
+        if (line.isOversized()) {
+          // 長すぎる行は読み捨てられているので、パースせずに不正な行として扱う
+          invalidParams = ReminderImportResult.LineError.oversizedLineInvalidParams(maxLineBytes);
+        } else if (line.getText().isBlank()) {
+          continue;
+        } else {
+          // 行単位でパースするので、JSONとして壊れた行があっても次の行から読み直せる
+          var bindResult = formBinder.bindJson(line.getText());
+          if (bindResult.isValid()) {
+            formList.add(bindResult.getForm());
+            if (formList.size() == batchSize) {
+              importedCount += flush(formList);
+            }
+            continue;
+          }
+          invalidParams = bindResult.getInvalidParams();
+        }
+
+        failedCount++;
+        if (lineErrorList.size() < maxReportedErrors) {
+          lineErrorList.add(new ReminderImportResult.LineError(lineNumber, invalidParams));
+        }
+      }
+    }
+    importedCount += flush(formList);
+
+    return new ReminderImportResult(importedCount, failedCount, System.nanoTime() - startNanos, lineErrorList);
+  }
+
+  private int flush(List<ReminderForm> formList) {
+    if (formList.isEmpty()) {
+      return 0;
+    }
+
+    var count = reminderService.createAll(formList).size();
+    formList.clear();
+
+    return count;
+  }
+
+}
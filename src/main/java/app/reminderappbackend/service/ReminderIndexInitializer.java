@@ -0,0 +1,58 @@
+package app.reminderappbackend.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import app.reminderappbackend.repository.ReminderRecord;
+import app.reminderappbackend.repository.ReminderRepository;
+import app.reminderappbackend.util.DataTypeConverter;
+
+/**
+ * 起動時に、DBの全リマインダーを ReminderChangeListener（インメモリのインデックス）に流し込む
+ * Webサーバがリクエストを受け付ける前に実行されるため、構築中の書き込みと競合しない
+ * インデックスが複数あっても、テーブルの走査は1回で済ませる
+ */
+@Component
+public class ReminderIndexInitializer implements SmartInitializingSingleton {
+
+  private final ReminderRepository reminderRepository;
+  private final DataTypeConverter converter;
+  private final List<ReminderChangeListener> changeListeners;
+  private final TransactionTemplate readOnlyTransaction;
+
+  public ReminderIndexInitializer(
+    ReminderRepository reminderRepository,
+    DataTypeConverter converter,
+    List<ReminderChangeListener> changeListeners,
+    PlatformTransactionManager transactionManager
+  ) {
+    this.reminderRepository = reminderRepository;
+    this.converter = converter;
+    this.changeListeners = changeListeners;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+  }
+
+  @Override
+  public void afterSingletonsInstantiated() {
+    // Cursor はトランザクション内でのみ読み出せるため、読み取り専用トランザクションで全件をたどる
+    readOnlyTransaction.executeWithoutResult(status -> {
+      try (Cursor<ReminderRecord> cursor = reminderRepository.selectAll()) {
+        cursor.forEach(record -> {
+          var entity = converter.toReminderEntity(record);
+          changeListeners.forEach(listener -> listener.onSaved(entity));
+        });
+      } catch (IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
+    });
+  }
+
+}
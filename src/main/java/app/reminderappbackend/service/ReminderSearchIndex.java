@@ -0,0 +1,197 @@
+package app.reminderappbackend.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import app.reminderappbackend.util.BigramTokenizer;
+import lombok.Value;
+
+/**
+ * タイトルと説明を対象にした、インメモリの転置インデックス
+ * トークン（文字 bigram と1文字）ごとに、そのトークンを含むリマインダーのIDと出現回数（ポスティング）を保持する
+ *
+ * 起動時に ReminderIndexInitializer がDBから全件を読み込んで構築し、
+ * 以降は ReminderService からの変更通知で、変更のあったリマインダーのポスティングだけを差し替える
+ * （コミットと順番が入れ替わって届いた古い通知は、版番号で無視する）
+ */
+@Component
+public class ReminderSearchIndex implements ReminderChangeListener {
+
+  // タイトルに含まれるトークンは、説明に含まれるトークンよりも重く評価する
+  private static final int TITLE_WEIGHT = 2;
+
+  // 検索結果の並び順（スコアの降順、同点ならIDの昇順）
+  private static final Comparator<ScoredId> RANK_ORDER = Comparator
+    .comparingDouble(ScoredId::getScore).reversed()
+    .thenComparingLong(ScoredId::getId);
+
+  // トークン → (ID → ポスティング)
+  private final ConcurrentHashMap<String, ConcurrentHashMap<Long, Posting>> postingsByToken = new ConcurrentHashMap<>();
+  // ID → そのリマインダーが持つトークン（更新・削除時に、古いポスティングを取り除くための逆引き。反映済みの版番号と、削除の墓標も保持する）
+  private final VersionedEntryMap<Set<String>> tokensById = new VersionedEntryMap<>();
+  private final long tombstoneRetentionNanos;
+
+  public ReminderSearchIndex(
+    @org.springframework.beans.factory.annotation.Value("${reminder.index.tombstone-retention}") Duration tombstoneRetention
+  ) {
+    this.tombstoneRetentionNanos = tombstoneRetention.toNanos();
+  }
+
+  @Override
+  public void onSaved(ReminderEntity entity) {
+    var postingByToken = new HashMap<String, Posting>();
+    BigramTokenizer.tokenize(entity.getTitle())
+      .forEach((token, count) -> postingByToken.put(token, new Posting(count, 0)));
+    BigramTokenizer.tokenize(entity.getDescription())
+      .forEach((token, count) -> postingByToken.merge(token, new Posting(0, count), Posting::plus));
+
+    Long id = entity.getId();
+    tokensById.save(id, entity.getVersion(), Set.copyOf(postingByToken.keySet()), (oldTokens, newTokens) -> {
+      if (oldTokens != null) {
+        oldTokens.stream()
+          .filter(token -> !newTokens.contains(token))
+          .forEach(token -> removePosting(token, id));
+      }
+      postingByToken.forEach((token, posting) -> putPosting(token, id, posting));
+    });
+  }
+
+  @Override
+  public void onDeleted(Long id, Long version) {
+    tokensById.delete(id, version, (oldTokens, newTokens) -> {
+      if (oldTokens != null) {
+        oldTokens.forEach(token -> removePosting(token, id));
+      }
+    });
+  }
+
+  /**
+   * 遅れて届く通知が無くなった古い墓標を取り除く
+   */
+  @Scheduled(
+    initialDelayString = "${reminder.index.tombstone-retention}",
+    fixedDelayString = "${reminder.index.tombstone-retention}"
+  )
+  public void purgeTombstones() {
+    tokensById.purgeTombstones(tombstoneRetentionNanos);
+  }
+
+  // ポスティングの追加と、空になったポスティングリストの削除は、同じトークンについて compute でシリアライズする
+  // （削除されたポスティングリストに追加してしまい、ポスティングが失われるのを防ぐ）
+  private void putPosting(String token, Long id, Posting posting) {
+    postingsByToken.compute(token, (key, postings) -> {
+      var target = (postings == null) ? new ConcurrentHashMap<Long, Posting>() : postings;
+      target.put(id, posting);
+      return target;
+    });
+  }
+
+  private void removePosting(String token, Long id) {
+    postingsByToken.computeIfPresent(token, (key, postings) -> {
+      postings.remove(id);
+      return postings.isEmpty() ? null : postings;
+    });
+  }
+
+  /**
+   * クエリのトークンをすべて含むリマインダーを、関連度の高い順に offset 件目から limit 件取得する
+   * 関連度は、トークンごとの出現回数（タイトルは TITLE_WEIGHT 倍）に、そのトークンの珍しさ（idf）を掛けて合計したもの
+   *
+   * @param query 検索クエリ
+   * @param limit 取得する最大件数
+   * @param offset オフセット
+   * @return SearchHits ヒット総数と、ページ内のIDのリスト（関連度の高い順）
+   */
+  public SearchHits search(String query, int limit, long offset) {
+    var postingsList = new ArrayList<Map<Long, Posting>>();
+    for (var token : BigramTokenizer.tokenizeQuery(query).keySet()) {
+      var postings = postingsByToken.get(token);
+      if (postings == null) {
+        return new SearchHits(0, List.of());
+      }
+      postingsList.add(postings);
+    }
+    if (postingsList.isEmpty()) {
+      return new SearchHits(0, List.of());
+    }
+
+    // 最も短いポスティングリストを走査し、残りのリストは存在確認だけを行う
+    postingsList.sort(Comparator.comparingInt(Map::size));
+    int documentCount = Math.max(tokensById.size(), 1);
+    var idfList = postingsList.stream()
+      .map(postings -> Math.log(1.0 + (double) documentCount / Math.max(postings.size(), 1)))
+      .collect(Collectors.toList());
+
+    // ページの末尾までの上位 offset + limit 件だけを、順位の低いものを先頭にしたヒープで保持する
+    long capacity = offset + limit;
+    var topHeap = new PriorityQueue<ScoredId>(RANK_ORDER.reversed());
+    long total = 0;
+    for (var id : postingsList.get(0).keySet()) {
+      double score = 0;
+      boolean matchesAll = true;
+      for (int i = 0; i < postingsList.size(); i++) {
+        var posting = postingsList.get(i).get(id);
+        if (posting == null) {
+          matchesAll = false;
+          break;
+        }
+        score += posting.getWeight() * idfList.get(i);
+      }
+      if (!matchesAll) {
+        continue;
+      }
+
+      total++;
+      topHeap.offer(new ScoredId(id, score));
+      if (topHeap.size() > capacity) {
+        topHeap.poll();
+      }
+    }
+
+    var rankedIdList = topHeap.stream()
+      .sorted(RANK_ORDER)
+      .skip(offset)
+      .map(ScoredId::getId)
+      .collect(Collectors.toList());
+
+    return new SearchHits(total, rankedIdList);
+  }
+
+  @Value
+  public static class SearchHits {
+    long total;
+    List<Long> idList;
+  }
+
+  @Value
+  static class Posting {
+    int titleCount;
+    int descriptionCount;
+
+    Posting plus(Posting other) {
+      return new Posting(titleCount + other.titleCount, descriptionCount + other.descriptionCount);
+    }
+
+    int getWeight() {
+      return titleCount * TITLE_WEIGHT + descriptionCount;
+    }
+  }
+
+  @Value
+  static class ScoredId {
+    long id;
+    double score;
+  }
+
+}
@@ -0,0 +1,13 @@
+package app.reminderappbackend.service;
+
+import java.util.List;
+
+import lombok.Value;
+
+@Value
+public class ReminderSearchResult {
+  // 検索条件にヒットした総数
+  long total;
+  // ページ内のリマインダー（関連度の高い順）
+  List<ReminderEntity> entityList;
+}
@@ -1,10 +1,24 @@
 package app.reminderappbackend.service;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.Period;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import app.reminderappbackend.repository.ReminderBatchInserter;
+import app.reminderappbackend.repository.ReminderCriteria;
+import app.reminderappbackend.repository.ReminderProjection;
 import app.reminderappbackend.repository.ReminderRecord;
 import app.reminderappbackend.repository.ReminderRepository;
 import app.reminderappbackend.util.DataTypeConverter;
@@ -18,7 +32,19 @@ import reminderapi.model.ReminderForm;
 public class ReminderService {
 
   private final ReminderRepository reminderRepository;
+  private final ReminderBatchInserter reminderBatchInserter;
   private final DataTypeConverter converter;
+  private final ReminderEntityCache reminderCache;
+  private final ReminderDueIndex reminderDueIndex;
+  private final ReminderSearchIndex reminderSearchIndex;
+  private final ReminderStatsCounter reminderStatsCounter;
+  private final List<ReminderChangeListener> changeListeners;
+
+  @Value("${reminder.bulk-update.chunk-size}")
+  private int bulkUpdateChunkSize;
+
+  @Value("${reminder.bulk-delete.chunk-size}")
+  private int bulkDeleteChunkSize;
 
   /**
    * IDに紐づくリマインダーを取得するサービス
@@ -27,9 +53,9 @@ public class ReminderService {
    * @return ReminderEntity or ReminderEntityNotFoundException
    */
   public ReminderEntity findById(Long id) {
-    var optRecord = reminderRepository.selectById(id);
-    var entity = optRecord
-      .map(record -> converter.toReminderEntity(record))
+    var optEntity = reminderCache.get(id, key -> reminderRepository.selectById(key)
+      .map(record -> converter.toReminderEntity(record)));
+    var entity = optEntity
       .orElseThrow(() -> new ReminderEntityNotFoundException(id));
 
     return entity;
@@ -43,7 +69,32 @@ public class ReminderService {
    * @return List<ReminderEntity>
    */
   public List<ReminderEntity> findList(Integer limit, Long offset) {
-    List<ReminderRecord> recordList = reminderRepository.selectList(limit, offset);
+    return findList(limit, offset, null);
+  }
+
+  /**
+   * 絞り込み条件に一致するリマインダーのうち、limitとoffsetに基づくリストを取得するサービス
+   *
+   * @param limit リストに含まれるリソースの最大値
+   * @param offset オフセット
+   * @param criteria 絞り込み条件（null の場合は絞り込まない）
+   * @return List<ReminderEntity>
+   */
+  public List<ReminderEntity> findList(Integer limit, Long offset, ReminderCriteria criteria) {
+    return findList(limit, offset, criteria, ReminderProjection.FULL);
+  }
+
+  /**
+   * 絞り込み条件に一致するリマインダーのうち、limitとoffsetに基づくリストを、projection の項目だけ取得するサービス
+   *
+   * @param limit リストに含まれるリソースの最大値
+   * @param offset オフセット
+   * @param criteria 絞り込み条件（null の場合は絞り込まない）
+   * @param projection 取得する項目の範囲（SUMMARY の場合、description, createdAt, updatedAt は null）
+   * @return List<ReminderEntity>
+   */
+  public List<ReminderEntity> findList(Integer limit, Long offset, ReminderCriteria criteria, ReminderProjection projection) {
+    List<ReminderRecord> recordList = reminderRepository.selectList(limit, offset, criteria, projection);
     var entityList = recordList.stream()
       .map(record -> converter.toReminderEntity(record))
       .collect(Collectors.toList());
@@ -51,6 +102,110 @@ public class ReminderService {
     return entityList;
   }
 
+  /**
+   * 前ページ最終要素の (dueDate, id) より後ろのリマインダーのリストを取得するサービス
+   *
+   * @param limit リストに含まれるリソースの最大値
+   * @param afterDueDate 前ページ最終要素の期限
+   * @param afterId 前ページ最終要素のID
+   * @param criteria 絞り込み条件（null の場合は絞り込まない）
+   * @return List<ReminderEntity>
+   */
+  public List<ReminderEntity> findListAfter(Integer limit, LocalDate afterDueDate, Long afterId, ReminderCriteria criteria) {
+    return findListAfter(limit, afterDueDate, afterId, criteria, ReminderProjection.FULL);
+  }
+
+  /**
+   * 前ページ最終要素の (dueDate, id) より後ろのリマインダーのリストを、projection の項目だけ取得するサービス
+   *
+   * @param limit リストに含まれるリソースの最大値
+   * @param afterDueDate 前ページ最終要素の期限
+   * @param afterId 前ページ最終要素のID
+   * @param criteria 絞り込み条件（null の場合は絞り込まない）
+   * @param projection 取得する項目の範囲（SUMMARY の場合、description, createdAt, updatedAt は null）
+   * @return List<ReminderEntity>
+   */
+  public List<ReminderEntity> findListAfter(
+    Integer limit,
+    LocalDate afterDueDate,
+    Long afterId,
+    ReminderCriteria criteria,
+    ReminderProjection projection
+  ) {
+    List<ReminderRecord> recordList = reminderRepository.selectListAfter(limit, afterDueDate, afterId, criteria, projection);
+    var entityList = recordList.stream()
+      .map(record -> converter.toReminderEntity(record))
+      .collect(Collectors.toList());
+
+    return entityList;
+  }
+
+  /**
+   * 期限が今日から within 後までの未完了のリマインダーを、期限の昇順で取得するサービス
+   * DBではなくインメモリのインデックスから返す
+   *
+   * @param within 今日からの期間
+   * @param limit リストに含まれるリソースの最大値
+   * @return List<ReminderEntity>
+   */
+  public List<ReminderEntity> findDueWithin(Period within, int limit) {
+    var today = LocalDate.now();
+
+    return reminderDueIndex.findDueBetween(today, today.plus(within), limit);
+  }
+
+  /**
+   * タイトルと説明を全文検索し、関連度の高い順にリマインダーを取得するサービス
+   * ヒットするIDの絞り込みと順位付けはインメモリの転置インデックスで行い、DBからはページ内のリマインダーだけを取得する
+   *
+   * @param query 検索クエリ
+   * @param limit リストに含まれるリソースの最大値
+   * @param offset オフセット
+   * @return ReminderSearchResult
+   */
+  public ReminderSearchResult search(String query, int limit, long offset) {
+    var hits = reminderSearchIndex.search(query, limit, offset);
+    if (hits.getIdList().isEmpty()) {
+      return new ReminderSearchResult(hits.getTotal(), List.of());
+    }
+
+    Map<Long, ReminderEntity> entityById = reminderRepository.selectByIds(hits.getIdList()).stream()
+      .map(record -> converter.toReminderEntity(record))
+      .collect(Collectors.toMap(entity -> entity.getId(), entity -> entity));
+    // インデックスの順位どおりに並べ直す（インデックスの更新とDBの読み出しの間に削除されたものは除く）
+    var entityList = hits.getIdList().stream()
+      .map(id -> entityById.get(id))
+      .filter(entity -> entity != null)
+      .collect(Collectors.toList());
+
+    return new ReminderSearchResult(hits.getTotal(), entityList);
+  }
+
+  /**
+   * 優先度別・完了/未完了別・期限切れのリマインダーの件数を取得するサービス
+   * 書き込みのたびに更新しているカウンタを読むだけで、DBは参照しない
+   *
+   * @return ReminderStats
+   */
+  public ReminderStats getStats() {
+    return reminderStatsCounter.getStats(LocalDate.now());
+  }
+
+  /**
+   * 全リマインダーを1件ずつ読み出して action に渡すサービス
+   * MyBatis の Cursor で読み出すため、件数にかかわらずメモリ使用量は一定
+   *
+   * @param action リマインダー1件ごとに呼び出す処理
+   */
+  @Transactional(readOnly = true)
+  public void forEach(Consumer<ReminderEntity> action) {
+    try (Cursor<ReminderRecord> cursor = reminderRepository.selectAll()) {
+      cursor.forEach(record -> action.accept(converter.toReminderEntity(record)));
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
   /**
    * リマインダー作成するサービス
    *
@@ -64,10 +219,35 @@ public class ReminderService {
 
     // record to entity
     var entity = converter.toReminderEntity(record);
+    reminderCache.put(entity);
+    notifySaved(List.of(entity));
 
     return entity;
   }
 
+  /**
+   * リマインダーを一括作成するサービス
+   * 1トランザクション内でJDBCバッチとしてまとめてINSERTする
+   *
+   * @param formList バリデーション済みのフォームのリスト
+   * @return List<ReminderEntity> フォームと同じ並び順
+   */
+  @Transactional
+  public List<ReminderEntity> createAll(List<ReminderForm> formList) {
+    var recordList = formList.stream()
+      .map(form -> converter.toReminderRecord(form))
+      .collect(Collectors.toList());
+    reminderBatchInserter.insertAll(recordList);
+
+    // 一括作成したリマインダーは直後に参照されるとは限らないため、キャッシュには載せない
+    var entityList = recordList.stream()
+      .map(record -> converter.toReminderEntity(record))
+      .collect(Collectors.toList());
+    notifySaved(entityList);
+
+    return entityList;
+  }
+
   /**
    * リマインダー更新するサービス
    *
@@ -76,13 +256,108 @@ public class ReminderService {
    * @return ReminderEntity
    */
   public ReminderEntity update(@Min(1) Long id, @Valid ReminderForm reminderForm) {
-    // idチェック
-    reminderRepository.selectById(id)
-      .orElseThrow(() -> new ReminderEntityNotFoundException(id));
+    return update(id, reminderForm, null);
+  }
+
+  /**
+   * 版番号が expectedVersions のいずれかに一致する場合だけ、リマインダー更新するサービス
+   *
+   * @param id 更新するリマインダーのID
+   * @param reminderForm クライアントからPOSTされるフォーム
+   * @param expectedVersions 更新前の版番号の候補（null の場合は版番号を確認しない）
+   * @return ReminderEntity
+   */
+  public ReminderEntity update(@Min(1) Long id, @Valid ReminderForm reminderForm, List<Long> expectedVersions) {
+    // 更新対象の行が無ければ（0件更新）、IDが存在しないか、他のリクエストに先に更新されたとみなす
+    var record = reminderRepository.update(id, reminderForm, expectedVersions)
+      .orElseThrow(() -> (expectedVersions != null && reminderRepository.selectById(id).isPresent())
+        ? new ReminderVersionConflictException(id)
+        : new ReminderEntityNotFoundException(id));
+    // 更新前のエンティティを破棄する（並行する削除と競合しても古い内容を残さないよう、putではなくevictにしている）
+    reminderCache.evict(id);
+
+    var entity = converter.toReminderEntity(record);
+    notifySaved(List.of(entity));
+
+    return entity;
+  }
+
+  /**
+   * IDのリスト、または絞り込み条件に一致するリマインダーの 完了/未完了・優先度 を一括更新するサービス
+   * IDのリスト（件数の上限はフォームで制限している）は1回で更新する
+   * 絞り込み条件は一致する件数に上限が無いため、1つの巨大なステートメント・トランザクションにならないよう、chunk-size 件ごとに分割して更新（コミット）する
+   *
+   * @param ids 更新するリマインダーのID（絞り込み条件で指定する場合は null）
+   * @param criteria 更新するリマインダーの絞り込み条件（IDで指定する場合は null）
+   * @param isCompleted 更新後の 完了/未完了（更新しない場合は null）
+   * @param priority 更新後の優先度（更新しない場合は null）
+   * @return ReminderBulkUpdateResult
+   */
+  public ReminderBulkUpdateResult updateAll(List<Long> ids, ReminderCriteria criteria, Boolean isCompleted, Integer priority) {
+    if (ids != null) {
+      var recordList = reminderRepository.bulkUpdate(ids, null, isCompleted, priority);
+      onBulkUpdated(recordList);
+      var updatedIdList = recordList.stream()
+        .map(record -> record.getId())
+        .collect(Collectors.toList());
+
+      return new ReminderBulkUpdateResult(updatedIdList.size(), updatedIdList);
+    }
+
+    long updatedCount = 0;
+    long afterId = 0;
+    List<ReminderRecord> recordList;
+    do {
+      recordList = reminderRepository.bulkUpdateChunk(criteria, isCompleted, priority, afterId, bulkUpdateChunkSize);
+      onBulkUpdated(recordList);
+      updatedCount += recordList.size();
+      afterId = recordList.stream().mapToLong(record -> record.getId()).max().orElse(afterId);
+    } while (recordList.size() == bulkUpdateChunkSize);
+
+    return new ReminderBulkUpdateResult(updatedCount, null);
+  }
+
+  private void onBulkUpdated(List<ReminderRecord> recordList) {
+    recordList.forEach(record -> reminderCache.evict(record.getId()));
+    notifySaved(recordList.stream()
+      .map(record -> converter.toReminderEntity(record))
+      .collect(Collectors.toList()));
+  }
+
+  /**
+   * IDのリスト、または絞り込み条件に一致するリマインダーを一括削除するサービス
+   * 1つの巨大なトランザクションにならないよう、chunk-size 件ごとに分割して削除（コミット）する
+   *
+   * @param ids 削除するリマインダーのID（絞り込み条件で指定する場合は null）
+   * @param criteria 削除するリマインダーの絞り込み条件（IDで指定する場合は null）
+   * @return 削除した件数
+   */
+  public long deleteAll(List<Long> ids, ReminderCriteria criteria) {
+    long deletedCount = 0;
+    if (ids != null) {
+      for (int from = 0; from < ids.size(); from += bulkDeleteChunkSize) {
+        var chunkIds = ids.subList(from, Math.min(from + bulkDeleteChunkSize, ids.size()));
+        deletedCount += deleteChunk(chunkIds, null, chunkIds.size());
+      }
+
+      return deletedCount;
+    }
+
+    int chunkDeletedCount;
+    do {
+      chunkDeletedCount = deleteChunk(null, criteria, bulkDeleteChunkSize);
+      deletedCount += chunkDeletedCount;
+    } while (chunkDeletedCount == bulkDeleteChunkSize);
 
-    reminderRepository.update(id, reminderForm);
+    return deletedCount;
+  }
+
+  private int deleteChunk(List<Long> ids, ReminderCriteria criteria, int chunkSize) {
+    List<ReminderRecord> recordList = reminderRepository.deleteChunk(ids, criteria, chunkSize);
+    recordList.forEach(record -> reminderCache.evict(record.getId()));
+    notifyDeleted(recordList);
 
-    return findById(id);
+    return recordList.size();
   }
 
   /**
@@ -91,11 +366,39 @@ public class ReminderService {
    * @param id 削除するリマインダーのID
    */
   public void delete(@Min(1) Long id) {
-    // idチェック
-    reminderRepository.selectById(id)
+    // 削除対象の行が無ければ（0件削除）、IDが存在しないとみなす
+    var record = reminderRepository.delete(id)
       .orElseThrow(() -> new ReminderEntityNotFoundException(id));
 
-    reminderRepository.delete(id);
+    reminderCache.evict(id);
+    notifyDeleted(List.of(record));
+  }
+
+  private void notifySaved(List<ReminderEntity> entityList) {
+    afterCommit(() -> entityList.forEach(entity -> changeListeners.forEach(listener -> listener.onSaved(entity))));
+  }
+
+  private void notifyDeleted(List<ReminderRecord> deletedRecordList) {
+    afterCommit(() -> deletedRecordList.forEach(record -> changeListeners.forEach(listener -> listener.onDeleted(record.getId(), record.getVersion()))));
+  }
+
+  /**
+   * トランザクション内であればコミット後に、そうでなければその場で action を実行する
+   * ロールバックされた変更をリスナーに通知しないため
+   * コミットの順番と通知の順番は入れ替わりうるので、リスナー側で版番号を比べて古い通知を無視している
+   */
+  private void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        action.run();
+      }
+    });
   }
 
 }
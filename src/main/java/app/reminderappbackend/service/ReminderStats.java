@@ -0,0 +1,19 @@
+package app.reminderappbackend.service;
+
+import java.util.List;
+
+import lombok.Value;
+
+@Value
+public class ReminderStats {
+  long completedCount;
+  long incompleteCount;
+  // 期限が今日より前の未完了のリマインダーの件数
+  long overdueCount;
+  // インデックスが優先度（0〜2）の件数
+  List<Long> countByPriority;
+
+  public long getTotalCount() {
+    return completedCount + incompleteCount;
+  }
+}
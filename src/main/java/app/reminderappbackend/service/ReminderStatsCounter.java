@@ -0,0 +1,191 @@
+package app.reminderappbackend.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import app.reminderappbackend.repository.ReminderRepository;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * リマインダーの件数（優先度別・完了/未完了別・期限切れ）を、書き込みのたびに差分で更新するカウンタ
+ * 統計の取得はカウンタを読むだけなので、テーブルを走査しない
+ *
+ * 起動時に ReminderIndexInitializer がDBから全件を読み込んで構築し、
+ * 以降は ReminderService からの変更通知で追従する（コミットと順番が入れ替わって届いた古い通知は、版番号で無視する）
+ * 通知の取りこぼしなどによるずれは、定期的に GROUP BY の結果と照合して補正する
+ */
+@Slf4j
+@Component
+public class ReminderStatsCounter implements ReminderChangeListener {
+
+  private static final int PRIORITY_COUNT = 3;
+
+  private final ReminderRepository reminderRepository;
+  private final long tombstoneRetentionNanos;
+
+  // [優先度][完了なら1、未完了なら0] ごとの件数。書き込みが集中しても競合しないよう LongAdder を使う
+  private final LongAdder[][] countCells = new LongAdder[PRIORITY_COUNT][2];
+  // 未完了のリマインダーの、期限ごとの件数（期限切れの件数は、今日より前の部分を合計して求める）
+  private final ConcurrentSkipListMap<LocalDate, Long> incompleteCountByDueDate = new ConcurrentSkipListMap<>();
+  // 更新・削除時に、変更前の値のカウンタを減らすための逆引き（反映済みの版番号と、削除の墓標も保持する）
+  // 変更通知には変更前の値が含まれないため、IDごとに区分の判定に使う3項目だけを持つ（ReminderDueIndex などと同じく件数に比例する）
+  private final VersionedEntryMap<Snapshot> snapshotById = new VersionedEntryMap<>();
+  // 前回の照合で見つかった区分ごとのずれ（2回続けて同じずれが見つかった場合にだけ補正する）
+  private long[][] pendingCellDrift = new long[PRIORITY_COUNT][2];
+  private Map<LocalDate, Long> pendingOverdueDrift = Map.of();
+
+  public ReminderStatsCounter(
+    ReminderRepository reminderRepository,
+    @org.springframework.beans.factory.annotation.Value("${reminder.index.tombstone-retention}") Duration tombstoneRetention
+  ) {
+    this.reminderRepository = reminderRepository;
+    this.tombstoneRetentionNanos = tombstoneRetention.toNanos();
+    for (var cells : countCells) {
+      for (int i = 0; i < cells.length; i++) {
+        cells[i] = new LongAdder();
+      }
+    }
+  }
+
+  @Override
+  public void onSaved(ReminderEntity entity) {
+    snapshotById.save(entity.getId(), entity.getVersion(), toSnapshot(entity.getPriority(), entity.getIsCompleted(), entity.getDueDate()), this::replace);
+  }
+
+  @Override
+  public void onDeleted(Long id, Long version) {
+    snapshotById.delete(id, version, this::replace);
+  }
+
+  private static Snapshot toSnapshot(Integer priority, Boolean isCompleted, LocalDate dueDate) {
+    return new Snapshot(priority, Boolean.TRUE.equals(isCompleted), dueDate);
+  }
+
+  private void replace(Snapshot oldSnapshot, Snapshot newSnapshot) {
+    if (oldSnapshot != null) {
+      apply(oldSnapshot, -1);
+    }
+    if (newSnapshot != null) {
+      apply(newSnapshot, 1);
+    }
+  }
+
+  /**
+   * 遅れて届く通知が無くなった古い墓標を取り除く
+   */
+  @Scheduled(
+    initialDelayString = "${reminder.index.tombstone-retention}",
+    fixedDelayString = "${reminder.index.tombstone-retention}"
+  )
+  public void purgeTombstones() {
+    snapshotById.purgeTombstones(tombstoneRetentionNanos);
+  }
+
+  private void apply(Snapshot snapshot, int delta) {
+    if (isValidPriority(snapshot.getPriority())) {
+      cell(snapshot.getPriority(), snapshot.isCompleted()).add(delta);
+    }
+    if (!snapshot.isCompleted()) {
+      addIncompleteCount(snapshot.getDueDate(), delta);
+    }
+  }
+
+  private void addIncompleteCount(LocalDate dueDate, long delta) {
+    // 件数が0になった期限はエントリごと取り除く
+    incompleteCountByDueDate.merge(dueDate, delta, (current, add) -> (current + add == 0) ? null : current + add);
+  }
+
+  private LongAdder cell(int priority, boolean isCompleted) {
+    return countCells[priority][isCompleted ? 1 : 0];
+  }
+
+  private static boolean isValidPriority(Integer priority) {
+    return priority != null && priority >= 0 && priority < PRIORITY_COUNT;
+  }
+
+  /**
+   * 現在の統計を取得する
+   *
+   * @param today 期限切れを判定する基準日
+   * @return ReminderStats
+   */
+  public ReminderStats getStats(LocalDate today) {
+    var countByPriority = IntStream.range(0, PRIORITY_COUNT)
+      .mapToObj(priority -> cell(priority, true).sum() + cell(priority, false).sum())
+      .collect(Collectors.toList());
+    long completedCount = IntStream.range(0, PRIORITY_COUNT).mapToLong(priority -> cell(priority, true).sum()).sum();
+    long incompleteCount = IntStream.range(0, PRIORITY_COUNT).mapToLong(priority -> cell(priority, false).sum()).sum();
+    // 期限ごとにまとめているため、件数ではなく期限切れの日数に比例する
+    long overdueCount = incompleteCountByDueDate.headMap(today).values().stream().mapToLong(Long::longValue).sum();
+
+    return new ReminderStats(completedCount, incompleteCount, overdueCount, countByPriority);
+  }
+
+  /**
+   * カウンタを GROUP BY の集計結果と照合し、ずれていれば集計結果に合わせて補正する
+   * 変更通知はコミットの後に届くため、集計とカウンタの読み取りの間に書き込みがあると一時的にずれて見える
+   * そのため、同じ区分で同じ大きさのずれが2回続けて見つかった場合にだけ、取りこぼしとみなして補正する
+   * 照合で保持するのは区分ごとのずれだけなので、メモリは件数ではなく区分の数（優先度 × 完了/未完了、期限切れの日数）に比例する
+   */
+  @Scheduled(
+    initialDelayString = "${reminder.stats.reconcile-interval}",
+    fixedDelayString = "${reminder.stats.reconcile-interval}"
+  )
+  public synchronized void reconcile() {
+    var today = LocalDate.now();
+
+    var actualCells = new long[PRIORITY_COUNT][2];
+    reminderRepository.countByPriorityAndCompletion().stream()
+      .filter(record -> isValidPriority(record.getPriority()))
+      .forEach(record -> actualCells[record.getPriority()][Boolean.TRUE.equals(record.getIsCompleted()) ? 1 : 0] = record.getCount());
+    var cellDrift = new long[PRIORITY_COUNT][2];
+    for (int priority = 0; priority < PRIORITY_COUNT; priority++) {
+      for (int completed = 0; completed < 2; completed++) {
+        long drift = actualCells[priority][completed] - countCells[priority][completed].sum();
+        if (drift != 0 && drift == pendingCellDrift[priority][completed]) {
+          log.warn("Reconciled reminder stats: priority={}, isCompleted={}, drift={}", priority, completed == 1, drift);
+          countCells[priority][completed].add(drift);
+        } else {
+          cellDrift[priority][completed] = drift;
+        }
+      }
+    }
+    pendingCellDrift = cellDrift;
+
+    var actualOverdueMap = new HashMap<LocalDate, Long>();
+    reminderRepository.countIncompleteByDueDateBefore(today)
+      .forEach(record -> actualOverdueMap.put(record.getDueDate(), record.getCount()));
+    var dueDateSet = new HashSet<>(incompleteCountByDueDate.headMap(today).keySet());
+    dueDateSet.addAll(actualOverdueMap.keySet());
+    var overdueDrift = new HashMap<LocalDate, Long>();
+    for (var dueDate : dueDateSet) {
+      long drift = actualOverdueMap.getOrDefault(dueDate, 0L) - incompleteCountByDueDate.getOrDefault(dueDate, 0L);
+      if (drift != 0 && drift == pendingOverdueDrift.getOrDefault(dueDate, 0L)) {
+        log.warn("Reconciled reminder stats: overdue dueDate={}, drift={}", dueDate, drift);
+        addIncompleteCount(dueDate, drift);
+      } else if (drift != 0) {
+        overdueDrift.put(dueDate, drift);
+      }
+    }
+    pendingOverdueDrift = overdueDrift;
+  }
+
+  @Value
+  static class Snapshot {
+    Integer priority;
+    boolean completed;
+    LocalDate dueDate;
+  }
+
+}
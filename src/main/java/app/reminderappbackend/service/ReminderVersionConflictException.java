@@ -0,0 +1,11 @@
+package app.reminderappbackend.service;
+
+public class ReminderVersionConflictException extends RuntimeException {
+
+  private Long reminderId;
+
+  public ReminderVersionConflictException(Long id) {
+    super("ReminderEntity (id = " + id + ") has been modified by another request.");
+    this.reminderId = id;
+  }
+}
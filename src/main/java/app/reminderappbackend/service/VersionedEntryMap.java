@@ -0,0 +1,90 @@
+package app.reminderappbackend.service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * インメモリのインデックスが、IDごとに反映済みの版番号と値を保持するためのマップ
+ * 変更通知はコミット後に別々のスレッドから届くため、同じIDへの通知の順番がコミットの順番と入れ替わることがある
+ * 反映済みより古い版番号の通知は無視し、削除は (ID, 版番号) の墓標として残すことで、
+ * 遅れて届いた保存の通知で削除済みの行が復活したり、古い内容で上書きされたりしないようにする
+ *
+ * @param <V> インデックスに反映した値（削除済みの場合は墓標として null）
+ */
+class VersionedEntryMap<V> {
+
+  private record Entry<V>(long version, V value, long deletedAtNanos) {
+    boolean isTombstone() {
+      return value == null;
+    }
+  }
+
+  private final ConcurrentHashMap<Long, Entry<V>> entryById = new ConcurrentHashMap<>();
+  // 墓標を除いたエントリの数
+  private final AtomicInteger liveCount = new AtomicInteger();
+
+  /**
+   * 保存の通知を反映する（反映済みの版番号以下の通知、削除済みのIDへの通知は無視する）
+   *
+   * @param id リマインダーのID
+   * @param version 保存後の版番号
+   * @param value 新しい値
+   * @param transition 反映する場合に (古い値, 新しい値) を受け取り、付随するデータ構造を更新する（古い値は未反映なら null）
+   */
+  public void save(Long id, long version, V value, BiConsumer<V, V> transition) {
+    // 同じIDへの変更は compute でシリアライズし、版番号の比較と付随するデータ構造の更新を1つの操作にする
+    entryById.compute(id, (key, entry) -> {
+      // IDは再利用されないため、削除済みのIDへの保存の通知は版番号にかかわらず削除より前のもの
+      if (entry != null && (entry.isTombstone() || entry.version() >= version)) {
+        return entry;
+      }
+
+      transition.accept((entry == null) ? null : entry.value(), value);
+      if (entry == null) {
+        liveCount.incrementAndGet();
+      }
+      return new Entry<>(version, value, 0);
+    });
+  }
+
+  /**
+   * 削除の通知を反映し、墓標を残す（反映済みの版番号より古い通知は無視する）
+   *
+   * @param id リマインダーのID
+   * @param version 削除した行の版番号
+   * @param transition 反映する場合に古い値を受け取り、付随するデータ構造から取り除く（古い値は未反映なら null）
+   */
+  public void delete(Long id, long version, BiConsumer<V, V> transition) {
+    entryById.compute(id, (key, entry) -> {
+      if (entry != null && (entry.version() > version || entry.isTombstone())) {
+        return entry;
+      }
+
+      transition.accept((entry == null) ? null : entry.value(), null);
+      if (entry != null) {
+        liveCount.decrementAndGet();
+      }
+      return new Entry<>(version, null, System.nanoTime());
+    });
+  }
+
+  /**
+   * 墓標を除いたエントリの数（インデックスに載っているリマインダーの件数）
+   */
+  public int size() {
+    return liveCount.get();
+  }
+
+  /**
+   * 削除から retentionNanos 以上経った墓標を取り除く
+   * それより遅れて届く通知は無いものとみなす（墓標がIDの数だけ増え続けないように）
+   *
+   * @param retentionNanos 墓標を残す期間
+   */
+  public void purgeTombstones(long retentionNanos) {
+    long now = System.nanoTime();
+    entryById.values().removeIf(entry -> entry.isTombstone() && now - entry.deletedAtNanos() >= retentionNanos);
+  }
+
+}
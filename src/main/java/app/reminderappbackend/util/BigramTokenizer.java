@@ -0,0 +1,75 @@
+package app.reminderappbackend.util;
+
+import java.text.Normalizer;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 文字 bigram によるトークナイザ
+ * 日本語は単語の区切りが無いため、形態素解析の代わりに隣り合う2文字をトークンにする（「カレーのルー」→「カレ」「レー」「ーの」…）
+ * 英数字や記号で区切られた1文字だけの語は、そのまま1文字のトークンにする
+ *
+ * 1文字のクエリ（「薬」など）でも検索できるよう、インデックスに載せる側（tokenize）は各文字の1文字のトークンも出力する
+ * クエリ側（tokenizeQuery）は bigram だけにする（bigram が一致すれば、その1文字ずつも必ず一致するため）
+ */
+public final class BigramTokenizer {
+
+  private BigramTokenizer() {
+  }
+
+  /**
+   * インデックスに載せるテキストをトークン（bigram と1文字）に分割し、トークンごとの出現回数を返す
+   * 全角/半角・大文字/小文字の違いは正規化してから分割する
+   *
+   * @param text 分割するテキスト（null の場合は空）
+   * @return Map<String, Integer> トークン → 出現回数
+   */
+  public static Map<String, Integer> tokenize(String text) {
+    return tokenize(text, true);
+  }
+
+  /**
+   * 検索クエリをトークンに分割し、トークンごとの出現回数を返す
+   * 2文字以上の語は bigram だけに、1文字だけの語は1文字のトークンにする
+   *
+   * @param query 分割するクエリ（null の場合は空）
+   * @return Map<String, Integer> トークン → 出現回数
+   */
+  public static Map<String, Integer> tokenizeQuery(String query) {
+    return tokenize(query, false);
+  }
+
+  private static Map<String, Integer> tokenize(String text, boolean withUnigrams) {
+    var tokenCountMap = new HashMap<String, Integer>();
+    if (text == null) {
+      return tokenCountMap;
+    }
+
+    var normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase();
+    int runStart = -1;
+    for (int i = 0; i <= normalized.length(); i++) {
+      // 長音記号（ー）も文字（Lm）として扱われるため、カタカナ語は途中で区切られない
+      boolean isTokenChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+      if (isTokenChar && runStart < 0) {
+        runStart = i;
+      } else if (!isTokenChar && runStart >= 0) {
+        addRun(tokenCountMap, normalized, runStart, i, withUnigrams);
+        runStart = -1;
+      }
+    }
+
+    return tokenCountMap;
+  }
+
+  private static void addRun(Map<String, Integer> tokenCountMap, String text, int start, int end, boolean withUnigrams) {
+    if (withUnigrams || end - start == 1) {
+      for (int i = start; i < end; i++) {
+        tokenCountMap.merge(text.substring(i, i + 1), 1, Integer::sum);
+      }
+    }
+    for (int i = start; i < end - 1; i++) {
+      tokenCountMap.merge(text.substring(i, i + 2), 1, Integer::sum);
+    }
+  }
+
+}
@@ -0,0 +1,101 @@
+package app.reminderappbackend.util;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import lombok.Value;
+
+/**
+ * 届いた順のバイト列を改行（\r\n または \n）で区切り、区切り文字を取り除いた1行ずつの文字列（UTF-8）にする
+ * 1行が maxLineBytes を超えた場合は、その行の残りを読み捨てて「長すぎる行」として返す
+ * 保持するのは読みかけの1行（maxLineBytes まで）だけなので、改行のない巨大な入力でもメモリ使用量は一定で、次の行から読み直せる
+ * 読みかけの行を状態として持つため、入力ごとにインスタンスを作ること（スレッドセーフではない）
+ */
+public class BoundedLineSplitter {
+
+  @Value
+  public static class Line {
+    /** 行の文字列（長すぎる行の場合は null） */
+    String text;
+    boolean oversized;
+  }
+
+  private final int maxLineBytes;
+  private final ByteArrayOutputStream currentLine = new ByteArrayOutputStream();
+  private boolean oversized = false;
+
+  public BoundedLineSplitter(int maxLineBytes) {
+    this.maxLineBytes = maxLineBytes;
+  }
+
+  /**
+   * バイト列を読み進め、読み終えた行を返す（最後の改行以降は次の呼び出しに持ち越す）
+   *
+   * @param bytes 入力のバイト列
+   * @param offset 読み始める位置
+   * @param length 読むバイト数
+   * @return List<Line> この呼び出しで読み終えた行
+   */
+  public List<Line> split(byte[] bytes, int offset, int length) {
+    var lineList = new ArrayList<Line>();
+    int start = offset;
+    int end = offset + length;
+    for (int i = offset; i < end; i++) {
+      if (bytes[i] == '\n') {
+        append(bytes, start, i - start);
+        lineList.add(completeLine());
+        start = i + 1;
+      }
+    }
+    append(bytes, start, end - start);
+
+    return lineList;
+  }
+
+  /**
+   * 入力の終わりに呼び出し、改行で終わっていない最後の行を返す
+   *
+   * @return Optional<Line> 最後の行（改行で終わっていた場合は空）
+   */
+  public Optional<Line> finish() {
+    if (currentLine.size() == 0 && !oversized) {
+      return Optional.empty();
+    }
+
+    return Optional.of(completeLine());
+  }
+
+  private void append(byte[] bytes, int offset, int length) {
+    if (oversized || length == 0) {
+      return;
+    }
+    if (currentLine.size() + length > maxLineBytes) {
+      // 上限を超えた時点で読みかけの内容を捨て、改行まで読み飛ばす
+      oversized = true;
+      currentLine.reset();
+      return;
+    }
+
+    currentLine.write(bytes, offset, length);
+  }
+
+  private Line completeLine() {
+    Line line;
+    if (oversized) {
+      line = new Line(null, true);
+    } else {
+      var bytes = currentLine.toByteArray();
+      int length = (bytes.length > 0 && bytes[bytes.length - 1] == '\r') ? bytes.length - 1 : bytes.length;
+      line = new Line(new String(bytes, 0, length, StandardCharsets.UTF_8), false);
+    }
+
+    currentLine.reset();
+    oversized = false;
+
+    return line;
+  }
+
+}
@@ -0,0 +1,42 @@
+package app.reminderappbackend.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import org.springframework.stereotype.Component;
+
+import app.reminderappbackend.service.ReminderEntity;
+
+/**
+ * ページの最終要素のソートキー（dueDate, id）と、クライアントへ返す不透明なカーソル文字列を相互に変換する
+ * クライアントがカーソルの中身に依存しないよう、URLセーフなBase64でエンコードしている
+ */
+@Component
+public class CursorConverter {
+
+  private static final String SEPARATOR = ":";
+
+  public String encode(ReminderEntity last) {
+    var raw = last.getDueDate() + SEPARATOR + last.getId();
+
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public ReminderCursor decode(String cursor) {
+    try {
+      var raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      var keys = raw.split(SEPARATOR, 2);
+      if (keys.length != 2) {
+        throw new InvalidCursorException(cursor);
+      }
+
+      return new ReminderCursor(LocalDate.parse(keys[0]), Long.valueOf(keys[1]));
+    } catch (IllegalArgumentException | DateTimeParseException ex) {
+      // NumberFormatException は IllegalArgumentException のサブクラス
+      throw new InvalidCursorException(cursor);
+    }
+  }
+
+}
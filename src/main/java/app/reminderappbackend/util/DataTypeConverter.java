@@ -3,28 +3,47 @@ package app.reminderappbackend.util;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.springframework.stereotype.Component;
 
+import app.reminderappbackend.repository.ReminderCriteria;
 import app.reminderappbackend.repository.ReminderRecord;
+import app.reminderappbackend.service.ReminderBulkUpdateResult;
 import app.reminderappbackend.service.ReminderEntity;
+import app.reminderappbackend.service.ReminderImportResult;
+import app.reminderappbackend.service.ReminderStats;
+import reminderapi.model.ReminderBulkUpdateResultDTO;
 import reminderapi.model.ReminderDTO;
+import reminderapi.model.ReminderFilter;
 import reminderapi.model.ReminderForm;
+import reminderapi.model.ReminderImportErrorDTO;
+import reminderapi.model.ReminderImportResultDTO;
+import reminderapi.model.ReminderPriorityCountDTO;
+import reminderapi.model.ReminderStatsDTO;
 
 @Component
 public class DataTypeConverter {
 
+  /**
+   * 一覧を view=summary で取得したエンティティは description, createdAt, updatedAt が null のため、DTO でも null のまま（レスポンスでは省かれる）
+   *
+   * @param entity
+   * @return ReminderDTO
+   */
   public ReminderDTO toReminderDTO(ReminderEntity entity) {
     return new ReminderDTO(
       entity.getId(),
       entity.getTitle(),
-      entity.getDescription(),
       entity.getDueDate(),
       entity.getPriority(),
-      entity.getIsCompleted(),
-      entity.getCreatedAt(),
-      entity.getUpdatedAt()
-    );
+      entity.getIsCompleted()
+    )
+      .description(entity.getDescription())
+      .createdAt(entity.getCreatedAt())
+      .updatedAt(entity.getUpdatedAt());
   }
 
   public ReminderRecord toReminderRecord(ReminderForm form) {
@@ -36,7 +55,8 @@ public class DataTypeConverter {
       form.getPriority(),
       form.getIsCompleted(),
       LocalDateTime.now(),
-      LocalDateTime.now()
+      LocalDateTime.now(),
+      0L
     );
   }
 
@@ -49,7 +69,59 @@ public class DataTypeConverter {
       record.getPriority(),
       record.isCompleted(),
       toOffsetDateTime(record.getCreatedAt()),
-      toOffsetDateTime(record.getUpdatedAt())
+      toOffsetDateTime(record.getUpdatedAt()),
+      record.getVersion()
+    );
+  }
+
+  public ReminderCriteria toReminderCriteria(ReminderFilter filter) {
+    return new ReminderCriteria(
+      filter.getIsCompleted(),
+      filter.getPriority(),
+      filter.getDueBefore(),
+      filter.getDueAfter()
+    );
+  }
+
+  public ReminderImportResultDTO toReminderImportResultDTO(ReminderImportResult result) {
+    var errorList = result.getLineErrorList().stream()
+      .map(lineError -> new ReminderImportErrorDTO(lineError.getLine(), lineError.getInvalidParams()))
+      .collect(Collectors.toList());
+
+    return new ReminderImportResultDTO(
+      result.getImportedCount(),
+      result.getFailedCount(),
+      TimeUnit.NANOSECONDS.toMillis(result.getElapsedNanos()),
+      result.getRowsPerSecond(),
+      errorList
+    );
+  }
+
+  /**
+   * 絞り込み条件で一括更新した場合、updatedIds は null のまま（レスポンスでは省かれる）
+   *
+   * @param result
+   * @return ReminderBulkUpdateResultDTO
+   */
+  public ReminderBulkUpdateResultDTO toReminderBulkUpdateResultDTO(ReminderBulkUpdateResult result) {
+    var dto = new ReminderBulkUpdateResultDTO(result.getUpdatedCount());
+    dto.setUpdatedIds(result.getUpdatedIdList());
+
+    return dto;
+  }
+
+  public ReminderStatsDTO toReminderStatsDTO(ReminderStats stats) {
+    var countByPriority = stats.getCountByPriority();
+    var priorityCountList = IntStream.range(0, countByPriority.size())
+      .mapToObj(priority -> new ReminderPriorityCountDTO(priority, countByPriority.get(priority)))
+      .collect(Collectors.toList());
+
+    return new ReminderStatsDTO(
+      stats.getTotalCount(),
+      stats.getCompletedCount(),
+      stats.getIncompleteCount(),
+      stats.getOverdueCount(),
+      priorityCountList
     );
   }
 
@@ -61,6 +133,11 @@ public class DataTypeConverter {
    * @return OffsetDateTime
    */
   private OffsetDateTime toOffsetDateTime(LocalDateTime ldt) {
+    // 一覧を view=summary で取得したレコードには created_at, updated_at が無い
+    if (ldt == null) {
+      return null;
+    }
+
     return ldt.atOffset(ZoneOffset.UTC);
   }
 
@@ -0,0 +1,136 @@
+package app.reminderappbackend.util;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.springframework.http.MediaType;
+
+import app.reminderappbackend.service.ReminderEntity;
+
+/**
+ * リマインダーの版番号（version）から強い ETag を生成し、If-None-Match と照合する
+ * 版番号は更新のたびに必ず増えるため、レスポンスのJSONを組み立てなくても内容が変わったかを判定できる
+ *
+ * 同じURLでも表現（JSON / CBOR / Smile）ごとにバイト列が異なるため、JSON 以外の ETag には表現のサブタイプを付ける
+ * （強い ETag は表現ごとに一意でなければならない。例: "1-3" と "1-3-cbor"）
+ */
+public final class EntityTags {
+
+  // リストの ETag に使うハッシュの長さ（バイト）
+  private static final int LIST_HASH_LENGTH = 16;
+
+  private EntityTags() {
+  }
+
+  /**
+   * リマインダー1件の、mediaType で表現した場合の ETag（"ID-版番号"、JSON 以外は "ID-版番号-サブタイプ"）
+   *
+   * @param entity リマインダー
+   * @param mediaType レスポンスの表現（null の場合は JSON）
+   * @return ETag（ダブルクォート付き）
+   */
+  public static String of(ReminderEntity entity, MediaType mediaType) {
+    return "\"" + entity.getId() + "-" + entity.getVersion() + representationSuffix(mediaType) + "\"";
+  }
+
+  /**
+   * リマインダーのリストの ETag
+   * 並び順も含めて (ID, 版番号) の列をハッシュするため、要素の追加・削除・更新・並び替えのいずれでも変わる
+   *
+   * @param entityList リマインダーのリスト
+   * @param mediaType レスポンスの表現（null の場合は JSON）
+   * @return ETag（ダブルクォート付き）
+   */
+  public static String of(List<ReminderEntity> entityList, MediaType mediaType) {
+    var buffer = ByteBuffer.allocate(entityList.size() * Long.BYTES * 2);
+    entityList.forEach(entity -> buffer.putLong(entity.getId()).putLong(entity.getVersion()));
+    var hash = Arrays.copyOf(sha256(buffer.array()), LIST_HASH_LENGTH);
+
+    return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash) + representationSuffix(mediaType) + "\"";
+  }
+
+  private static String representationSuffix(MediaType mediaType) {
+    if (mediaType == null || mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+      return "";
+    }
+
+    return "-" + mediaType.getSubtype();
+  }
+
+  /**
+   * If-None-Match ヘッダの値が ETag に一致するかを判定する
+   * If-None-Match は弱い比較で判定するため、W/ 付きの ETag も一致とみなす
+   *
+   * @param ifNoneMatch If-None-Match ヘッダの値（null の場合は一致しない）
+   * @param etag 現在の ETag
+   * @return 一致すれば true（304 Not Modified を返して良い）
+   */
+  public static boolean matches(String ifNoneMatch, String etag) {
+    if (ifNoneMatch == null) {
+      return false;
+    }
+    if (ifNoneMatch.trim().equals("*")) {
+      return true;
+    }
+
+    return Arrays.stream(ifNoneMatch.split(","))
+      .map(String::trim)
+      .map(tag -> tag.startsWith("W/") ? tag.substring("W/".length()) : tag)
+      .anyMatch(etag::equals);
+  }
+
+  /**
+   * If-Match ヘッダの値から、指定したIDのリマインダーの ETag に含まれる版番号をすべて取り出す
+   * If-Match は強い比較で判定するため、W/ 付きの ETag は対象にしない
+   * 更新の前提条件はリソースの版番号だけで決まるため、どの表現で取得した ETag（"1-3" や "1-3-cbor"）でも版番号を取り出す
+   * 複数の ETag が列挙された場合は、いずれかが現在の版番号と一致すれば前提条件を満たす（例: "1-3", "1-4"）
+   *
+   * @param ifMatch If-Match ヘッダの値
+   * @param id リマインダーのID
+   * @return List<Long> 版番号（重複は除く。指定したIDの ETag が含まれていない場合は空）
+   */
+  public static List<Long> versionsOf(String ifMatch, Long id) {
+    var prefix = "\"" + id + "-";
+    return Arrays.stream(ifMatch.split(","))
+      .map(String::trim)
+      .filter(tag -> tag.startsWith(prefix) && tag.endsWith("\"") && tag.length() > prefix.length() + 1)
+      .map(tag -> tag.substring(prefix.length(), tag.length() - 1))
+      .flatMap(version -> parseVersion(version).stream())
+      .distinct()
+      .collect(Collectors.toList());
+  }
+
+  /**
+   * ETag の版番号の部分（表現の接尾辞は除く）を数値に変換する
+   * long に収まらない版番号はどの版とも一致しないため、不正な ETag と同じく空にする（412 Precondition Failed になる）
+   */
+  private static Optional<Long> parseVersion(String versionAndSuffix) {
+    var suffixSeparator = versionAndSuffix.indexOf('-');
+    var version = (suffixSeparator < 0) ? versionAndSuffix : versionAndSuffix.substring(0, suffixSeparator);
+    if (version.isEmpty() || suffixSeparator == versionAndSuffix.length() - 1 || !version.chars().allMatch(c -> c >= '0' && c <= '9')) {
+      return Optional.empty();
+    }
+
+    try {
+      return Optional.of(Long.parseLong(version));
+    } catch (NumberFormatException ex) {
+      return Optional.empty();
+    }
+  }
+
+  private static byte[] sha256(byte[] input) {
+    try {
+      return MessageDigest.getInstance("SHA-256").digest(input);
+    } catch (NoSuchAlgorithmException ex) {
+      // SHA-256 はすべての Java 実装でサポートが必須のため、ここには到達しない
+      throw new IllegalStateException(ex);
+    }
+  }
+
+}
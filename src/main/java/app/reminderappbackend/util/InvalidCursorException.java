@@ -0,0 +1,8 @@
+package app.reminderappbackend.util;
+
+public class InvalidCursorException extends InvalidParameterException {
+
+  public InvalidCursorException(String cursor) {
+    super("cursor", "cursor (" + cursor + ") is invalid.");
+  }
+}
@@ -0,0 +1,18 @@
+package app.reminderappbackend.util;
+
+import lombok.Getter;
+
+/**
+ * Bean Validation では表現できない、リクエストパラメータの不正を表す例外
+ * BadRequestError の invalid-params として返す
+ */
+@Getter
+public class InvalidParameterException extends RuntimeException {
+
+  private final String parameterName;
+
+  public InvalidParameterException(String parameterName, String reason) {
+    super(reason);
+    this.parameterName = parameterName;
+  }
+}
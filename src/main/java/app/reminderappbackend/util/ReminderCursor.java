@@ -0,0 +1,14 @@
+package app.reminderappbackend.util;
+
+import java.time.LocalDate;
+
+import lombok.Value;
+
+/**
+ * カーソルページングのシーク位置（前ページ最終要素のソートキー）
+ */
+@Value
+public class ReminderCursor {
+  LocalDate dueDate;
+  Long id;
+}
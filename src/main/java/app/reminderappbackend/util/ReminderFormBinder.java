@@ -0,0 +1,101 @@
+package app.reminderappbackend.util;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import reminderapi.model.InvalidParam;
+import reminderapi.model.ReminderForm;
+
+/**
+ * 型の決まっていない要素（一括作成の配列要素など）を ReminderForm に変換し、要素単位でバリデーションする
+ * リクエスト全体を400にせず、不正な要素だけをエラーとして扱いたい場合に使う
+ */
+@Component
+@RequiredArgsConstructor
+public class ReminderFormBinder {
+
+  private final ObjectMapper objectMapper;
+  private final Validator validator;
+
+  @Value
+  public static class BindResult {
+    ReminderForm form;
+    List<InvalidParam> invalidParams;
+
+    public boolean isValid() {
+      return invalidParams.isEmpty();
+    }
+  }
+
+  /**
+   * 要素を ReminderForm に変換してバリデーションする
+   *
+   * @param source JSONをデシリアライズした要素（Map や JsonNode）
+   * @return BindResult 不正な要素の場合は form が null で、invalidParams にエラー詳細が入る
+   */
+  public BindResult bind(Object source) {
+    if (source == null) {
+      return new BindResult(null, List.of(new InvalidParam("", "must not be null")));
+    }
+
+    ReminderForm form;
+    try {
+      form = objectMapper.convertValue(source, ReminderForm.class);
+    } catch (IllegalArgumentException ex) {
+      // 日付の書式違いなど、型変換に失敗した場合
+      return new BindResult(null, List.of(createInvalidParam(ex)));
+    }
+
+    var invalidParams = validator.validate(form).stream()
+      .map(ReminderFormBinder::createInvalidParam)
+      .collect(Collectors.toList());
+    if (!invalidParams.isEmpty()) {
+      return new BindResult(null, invalidParams);
+    }
+
+    return new BindResult(form, List.of());
+  }
+
+  /**
+   * JSON文字列（NDJSON の1行など）をパースしてから ReminderForm に変換してバリデーションする
+   * JSONとして壊れている場合も例外にはせず、不正な要素として返す
+   *
+   * @param json ReminderForm 1件分のJSON文字列
+   * @return BindResult
+   */
+  public BindResult bindJson(String json) {
+    try {
+      return bind(objectMapper.readTree(json));
+    } catch (JsonProcessingException ex) {
+      return new BindResult(null, List.of(new InvalidParam("", ex.getOriginalMessage())));
+    }
+  }
+
+  private static InvalidParam createInvalidParam(ConstraintViolation<ReminderForm> violation) {
+    return new InvalidParam(violation.getPropertyPath().toString(), violation.getMessage());
+  }
+
+  private static InvalidParam createInvalidParam(IllegalArgumentException ex) {
+    if (ex.getCause() instanceof JsonMappingException mappingException) {
+      var name = mappingException.getPath().stream()
+        .map(reference -> reference.getFieldName())
+        .filter(fieldName -> fieldName != null)
+        .collect(Collectors.joining("."));
+
+      return new InvalidParam(name, mappingException.getOriginalMessage());
+    }
+
+    return new InvalidParam("", ex.getMessage());
+  }
+
+}
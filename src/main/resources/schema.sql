@@ -6,5 +6,14 @@ CREATE TABLE reminder (
   priority INT CHECK (priority >= 0 AND priority <= 2),
   is_completed BOOLEAN DEFAULT false,
   created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
-  updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+  updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  -- 更新のたびに1増える版番号（ETag に使用する）
+  version BIGINT NOT NULL DEFAULT 0
 );
+
+-- 一覧取得のソートキー（due_date, id）。カーソルページングのシークにも使用する
+CREATE INDEX idx_reminder_due_date_id ON reminder (due_date, id);
+
+-- 一覧の絞り込み用。等価条件の列を先頭に置き、続く (due_date, id) でソート済みのまま範囲検索できるようにする
+CREATE INDEX idx_reminder_is_completed_due_date_id ON reminder (is_completed, due_date, id);
+CREATE INDEX idx_reminder_priority_due_date_id ON reminder (priority, due_date, id);
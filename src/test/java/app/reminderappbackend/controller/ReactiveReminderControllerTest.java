@@ -0,0 +1,663 @@
+package app.reminderappbackend.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import app.reminderappbackend.ReminderAppBackendApplication;
+import reminderapi.model.ReminderForm;
+
+// reactive プロファイル（WebFlux + R2DBC）で、ReminderControllerTest と同じシナリオを実際のポートに対して確認する
+// ReminderControllerTest の（MVC の）コンテキストとインメモリDBを共有しないよう、DB名を分ける
+// 初期データ（ID 1〜3）は書き換えず、MVC の結果と突き合わせるテストに使う
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+  "spring.datasource.url=jdbc:h2:mem:reactive-test;DB_CLOSE_ON_EXIT=TRUE;MODE=PostgreSQL",
+  "spring.r2dbc.url=r2dbc:h2:mem:///reactive-test?options=MODE=PostgreSQL"
+})
+@ActiveProfiles("reactive")
+public class ReactiveReminderControllerTest {
+
+  // レスポンスの突き合わせに使う、MVC で起動した同じアプリケーション（初期データだけの別のインメモリDB）
+  private static ConfigurableApplicationContext mvcContext;
+  private static WebTestClient mvcClient;
+
+  @Autowired
+  private WebTestClient webTestClient;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @BeforeAll
+  static void startMvcApplication() {
+    mvcContext = new SpringApplicationBuilder(ReminderAppBackendApplication.class)
+      .web(WebApplicationType.SERVLET)
+      .properties(
+        "server.port=0",
+        "management.server.port=0",
+        "spring.datasource.url=jdbc:h2:mem:parity-mvc;DB_CLOSE_ON_EXIT=TRUE;MODE=PostgreSQL"
+      )
+      .run();
+    int port = ((WebServerApplicationContext) mvcContext).getWebServer().getPort();
+    mvcClient = WebTestClient.bindToServer().baseUrl("http://localhost:" + port).build();
+  }
+
+  @AfterAll
+  static void stopMvcApplication() {
+    if (mvcContext != null) {
+      mvcContext.close();
+    }
+  }
+
+  @Nested
+  class method_of_getReminder {
+    @Test
+    void 指定のIDに紐づくリソースが取得できるか() {
+      Long verifyId = 1L;
+
+      webTestClient.get().uri("/reminders/{id}", verifyId)
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().contentType(MediaType.APPLICATION_JSON)
+        .expectBody()
+        .jsonPath("$.id").isEqualTo(verifyId)
+        .jsonPath("$.title").isEqualTo("カレーのルーを購入する")
+        .jsonPath("$.description").isEqualTo("夕飯がカレーなのでカレーのルーを買います")
+        .jsonPath("$.dueDate").isEqualTo("2023-09-14")
+        .jsonPath("$.priority").isEqualTo(1)
+        .jsonPath("$.isCompleted").isEqualTo(false);
+    }
+
+    @Test
+    void ETagが一致する場合304を返し変更後は200を返すか() {
+      Long createdId = createReminder();
+      String etag = webTestClient.get().uri("/reminders/{id}", createdId)
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().exists("ETag")
+        .returnResult(String.class).getResponseHeaders().getETag();
+
+      webTestClient.get().uri("/reminders/{id}", createdId)
+        .header("If-None-Match", etag)
+        .exchange()
+        .expectStatus().isNotModified()
+        .expectHeader().valueEquals("ETag", etag)
+        .expectBody().isEmpty();
+
+      // 内容を変えずに更新しても版番号は増えるため、ETag は変わる
+      webTestClient.patch().uri("/reminders/batch")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue("{\"ids\": [" + createdId + "], \"isCompleted\": true}")
+        .exchange()
+        .expectStatus().isOk();
+      webTestClient.get().uri("/reminders/{id}", createdId)
+        .header("If-None-Match", etag)
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().value("ETag", Matchers.not(etag));
+
+      deleteReminder(createdId);
+    }
+
+    @Test
+    void 返せる表現が無い場合ETagが一致しても406を返すか() {
+      Long createdId = createReminder();
+      String etag = webTestClient.get().uri("/reminders/{id}", createdId)
+        .exchange()
+        .returnResult(String.class).getResponseHeaders().getETag();
+
+      // */* はあるが、返せる表現はすべて q=0 で拒否している
+      webTestClient.get().uri("/reminders/{id}", createdId)
+        .header("Accept", "application/json;q=0, application/cbor;q=0, application/x-jackson-smile;q=0, */*")
+        .header("If-None-Match", etag)
+        .exchange()
+        .expectStatus().isEqualTo(406);
+
+      deleteReminder(createdId);
+    }
+
+    @Test
+    void 存在しないIDを指定したときに404を投げるか() {
+      Long verifyId = 99L;
+
+      webTestClient.get().uri("/reminders/{id}", verifyId)
+        .exchange()
+        .expectStatus().isNotFound()
+        .expectHeader().contentType(MediaType.APPLICATION_JSON)
+        .expectBody()
+        .jsonPath("$.title").isEqualTo("Resource Not Found")
+        .jsonPath("$.detail").isEqualTo("ReminderEntity (id = " + verifyId + ") is not found.");
+    }
+  }
+
+  @Nested
+  class method_of_getReminderList {
+    @Test
+    void 指定範囲のリソースをリストで取得できるか() {
+      webTestClient.get().uri("/reminders/?limit=10&offset=0")
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().contentType(MediaType.APPLICATION_JSON)
+        .expectBody()
+        .jsonPath("$.page.size").isEqualTo(3)
+        .jsonPath("$.results").isNotEmpty();
+    }
+
+    @Test
+    void ページのETagが一致する場合304を返すか() {
+      String etag = webTestClient.get().uri("/reminders/?limit=10")
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().exists("ETag")
+        .returnResult(String.class).getResponseHeaders().getETag();
+
+      webTestClient.get().uri("/reminders/?limit=10")
+        .header("If-None-Match", "\"stale\", W/" + etag)
+        .exchange()
+        .expectStatus().isNotModified()
+        .expectBody().isEmpty();
+    }
+
+    @Test
+    void nextCursorを辿って次のページを取得できるか() throws Exception {
+      var firstPage = webTestClient.get().uri("/reminders/?limit=1")
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.page.size").isEqualTo(1)
+        .jsonPath("$.page.nextCursor").isNotEmpty()
+        .returnResult();
+      var firstPageJson = objectMapper.readTree(firstPage.getResponseBody());
+      String nextCursor = firstPageJson.at("/page/nextCursor").asText();
+      Long firstId = firstPageJson.at("/results/0/id").asLong();
+
+      webTestClient.get().uri(builder -> builder.path("/reminders/")
+          .queryParam("limit", 100)
+          .queryParam("cursor", nextCursor)
+          .build())
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.results[*].id").value(Matchers.not(Matchers.hasItem(firstId.intValue())))
+        .jsonPath("$.page.nextCursor").doesNotExist();
+    }
+
+    @Test
+    void summaryを指定した場合一覧表示に使わない項目を省くか() {
+      webTestClient.get().uri("/reminders/?limit=10&view=summary")
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.page.size").isEqualTo(3)
+        .jsonPath("$.results[0].id").isNumber()
+        .jsonPath("$.results[0].title").isNotEmpty()
+        .jsonPath("$.results[0].dueDate").isNotEmpty()
+        .jsonPath("$.results[0].priority").isNumber()
+        .jsonPath("$.results[0].isCompleted").isBoolean()
+        // null を書き出すのではなく、キーごと省かれるはず
+        .jsonPath("$.results[0].description").doesNotExist()
+        .jsonPath("$.results[0].createdAt").doesNotExist()
+        .jsonPath("$.results[0].updatedAt").doesNotExist();
+    }
+
+    @Test
+    void 不正なviewを指定した場合400のエラーレスポンスを返すか() {
+      webTestClient.get().uri("/reminders/?limit=10&view=compact")
+        .exchange()
+        .expectStatus().isBadRequest()
+        .expectBody()
+        .jsonPath("$.invalid-params[0].name").isEqualTo("view");
+    }
+
+    @Test
+    void 不正なカーソルを指定した場合400のエラーレスポンスを返すか() {
+      webTestClient.get().uri("/reminders/?limit=10&cursor=***")
+        .exchange()
+        .expectStatus().isBadRequest()
+        .expectHeader().contentType(MediaType.APPLICATION_JSON)
+        .expectBody()
+        .jsonPath("$.title").isEqualTo("Bad Request")
+        .jsonPath("$.invalid-params[0].name").isEqualTo("cursor");
+    }
+
+    @Test
+    void 不正なリクエストを行った場合400のエラーレスポンスを返すか() {
+      webTestClient.get().uri("/reminders/?limit=0&offset=0")
+        .exchange()
+        .expectStatus().isBadRequest()
+        .expectHeader().contentType(MediaType.APPLICATION_JSON)
+        .expectBody()
+        .jsonPath("$.title").isEqualTo("Bad Request")
+        .jsonPath("$.detail").isEqualTo("リクエストが不正です。正しいリクエストでリトライしてください")
+        .jsonPath("$.invalid-params[0].name").isEqualTo("limit")
+        .jsonPath("$.invalid-params[0].reason").isEqualTo("must be greater than or equal to 1");
+    }
+  }
+
+  @Nested
+  class method_of_getDueReminderList {
+    @Test
+    void 期限が近いリソースをリストで取得できるか() {
+      webTestClient.get().uri("/reminders/due?within=P7D")
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.page.limit").isEqualTo(100)
+        .jsonPath("$.results").isArray();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"7days", "P-1D", "P101Y", "P999999999Y"})
+    void 不正な期間を指定した場合400のエラーレスポンスを返すか(String within) {
+      webTestClient.get().uri("/reminders/due?within={within}", within)
+        .exchange()
+        .expectStatus().isBadRequest()
+        .expectBody()
+        .jsonPath("$.invalid-params[0].name").isEqualTo("within");
+    }
+  }
+
+  @Nested
+  class method_of_exportReminders {
+    @Test
+    void 全リソースを1行1件のNDJSONで取得できるか() throws Exception {
+      String body = webTestClient.get().uri("/reminders/export")
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+        .expectBody(String.class)
+        .returnResult().getResponseBody();
+
+      String[] lines = body.split("\n");
+      assertThat(lines).hasSize(3);
+      for (String line : lines) {
+        var json = objectMapper.readTree(line);
+        assertThat(json.get("id").isNumber()).isTrue();
+        assertThat(json.get("title").isTextual()).isTrue();
+      }
+    }
+  }
+
+  @Nested
+  class method_of_createReminder {
+    @Test
+    void 不正なリクエストを行った場合400のエラーレスポンスを返すか() {
+      webTestClient.post().uri("/reminders/")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(createHasNullForm())
+        .exchange()
+        .expectStatus().isBadRequest()
+        .expectHeader().contentType(MediaType.APPLICATION_JSON)
+        .expectBody()
+        .jsonPath("$.title").isEqualTo("Bad Request")
+        .jsonPath("$.detail").isEqualTo("リクエストが不正です。正しいリクエストでリトライしてください")
+        .jsonPath("$.invalid-params[0].name").isEqualTo("title")
+        .jsonPath("$.invalid-params[0].reason").isEqualTo("must not be null");
+    }
+  }
+
+  @Nested
+  class method_of_createReminderBatch {
+    @Test
+    void 正常な要素だけを作成し不正な要素はエラーとして返すか() throws Exception {
+      List<ReminderForm> formList = List.of(createNormalForm(), createHasNullForm(), createNormalForm());
+
+      var result = webTestClient.post().uri("/reminders/batch")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(formList)
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().contentType(MediaType.APPLICATION_JSON)
+        .expectBody()
+        .jsonPath("$.createdIds.length()").isEqualTo(2)
+        .jsonPath("$.results.length()").isEqualTo(3)
+        .jsonPath("$.results[0].index").isEqualTo(0)
+        .jsonPath("$.results[0].id").isNumber()
+        .jsonPath("$.results[1].id").doesNotExist()
+        .jsonPath("$.results[1].invalid-params[0].name").isEqualTo("title")
+        .jsonPath("$.results[1].invalid-params[0].reason").isEqualTo("must not be null")
+        .jsonPath("$.results[2].id").isNumber()
+        .returnResult();
+
+      // 一覧件数のテストに影響しないよう、作成したリソースを削除する
+      var createdIds = objectMapper.readTree(result.getResponseBody()).get("createdIds");
+      webTestClient.post().uri("/reminders/batch/delete")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue("{\"ids\": " + createdIds + "}")
+        .exchange()
+        .expectBody()
+        .jsonPath("$.deletedCount").isEqualTo(2);
+    }
+  }
+
+  @Nested
+  class method_of_importReminders {
+    @Test
+    void 正常な行だけを登録し不正な行はエラーとして返すか() {
+      String content = String.join("\n",
+        "{\"title\": \"Hello.\", \"description\": \"line 1\", \"dueDate\": \"2000-01-01\", \"priority\": 1, \"isCompleted\": false}",
+        "{\"title\": \"broken",
+        "",
+        "{\"title\": null, \"description\": \"line 4\", \"dueDate\": \"2000-01-01\", \"priority\": 1, \"isCompleted\": false}",
+        "{\"title\": \"Hello.\", \"description\": \"line 5\", \"dueDate\": \"2000-01-01\", \"priority\": 2, \"isCompleted\": true}"
+      );
+
+      webTestClient.post().uri("/reminders/import")
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .bodyValue(content)
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().contentType(MediaType.APPLICATION_JSON)
+        .expectBody()
+        .jsonPath("$.importedCount").isEqualTo(2)
+        .jsonPath("$.failedCount").isEqualTo(2)
+        .jsonPath("$.rowsPerSecond").isNumber()
+        .jsonPath("$.errors[0].line").isEqualTo(2)
+        .jsonPath("$.errors[1].line").isEqualTo(4)
+        .jsonPath("$.errors[1].invalid-params[0].name").isEqualTo("title");
+
+      // 一覧件数のテストに影響しないよう、登録したリソースを削除する
+      webTestClient.post().uri("/reminders/batch/delete")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue("{\"filter\": {\"dueBefore\": \"2000-01-02\"}}")
+        .exchange()
+        .expectBody()
+        .jsonPath("$.deletedCount").isEqualTo(2);
+    }
+
+    @Test
+    void 上限のサイズを超える行を読み捨てて次の行から読み直すか() {
+      String content = String.join("\n",
+        "{\"title\": \"" + "x".repeat(70 * 1024) + "\"}",
+        "{\"title\": \"Hello.\", \"description\": \"line 2\", \"dueDate\": \"2000-01-01\", \"priority\": 1, \"isCompleted\": false}"
+      );
+
+      webTestClient.post().uri("/reminders/import")
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .bodyValue(content)
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.importedCount").isEqualTo(1)
+        .jsonPath("$.failedCount").isEqualTo(1)
+        .jsonPath("$.errors[0].line").isEqualTo(1)
+        .jsonPath("$.errors[0].invalid-params[0].reason").isEqualTo("line must not exceed 65536 bytes");
+
+      // 一覧件数のテストに影響しないよう、登録したリソースを削除する
+      webTestClient.post().uri("/reminders/batch/delete")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue("{\"filter\": {\"dueBefore\": \"2000-01-02\"}}")
+        .exchange()
+        .expectBody()
+        .jsonPath("$.deletedCount").isEqualTo(1);
+    }
+  }
+
+  @Nested
+  class method_of_deleteReminderBatch {
+    @Test
+    void 削除した件数を返すか() {
+      webTestClient.post().uri("/reminders/batch/delete")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue("{\"ids\": [99, 100]}")
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().contentType(MediaType.APPLICATION_JSON)
+        .expectBody()
+        .jsonPath("$.deletedCount").isEqualTo(0);
+    }
+
+    @Test
+    void 絞り込み条件で指定したリソースを削除できるか() {
+      createReminder();
+      createReminder();
+
+      webTestClient.post().uri("/reminders/batch/delete")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue("{\"filter\": {\"dueAfter\": \"2023-10-25\", \"dueBefore\": \"2023-10-27\"}}")
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.deletedCount").isEqualTo(2);
+    }
+
+    @Test
+    void IDのリストと絞り込み条件の両方を指定した場合400のエラーレスポンスを返すか() {
+      webTestClient.post().uri("/reminders/batch/delete")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue("{\"ids\": [1], \"filter\": {\"isCompleted\": true}}")
+        .exchange()
+        .expectStatus().isBadRequest()
+        .expectBody()
+        .jsonPath("$.invalid-params[0].name").isEqualTo("ids");
+    }
+  }
+
+  @Nested
+  class method_of_updateReminder {
+    @Test
+    void If_Matchが古いETagの場合412を返すか() {
+      Long createdId = createReminder();
+      String etag = webTestClient.get().uri("/reminders/{id}", createdId)
+        .exchange()
+        .returnResult(String.class).getResponseHeaders().getETag();
+
+      webTestClient.put().uri("/reminders/{id}", createdId)
+        .header("If-Match", etag)
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(createNormalForm())
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().value("ETag", Matchers.not(etag));
+
+      webTestClient.put().uri("/reminders/{id}", createdId)
+        .header("If-Match", etag)
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(createNormalForm())
+        .exchange()
+        .expectStatus().isEqualTo(412)
+        .expectHeader().contentType(MediaType.APPLICATION_JSON)
+        .expectBody()
+        .jsonPath("$.title").isEqualTo("Precondition Failed");
+
+      deleteReminder(createdId);
+    }
+
+    @Test
+    void If_Matchに複数のETagを指定した場合いずれかが一致すれば更新できるか() {
+      Long createdId = createReminder();
+      String staleEtag = webTestClient.get().uri("/reminders/{id}", createdId)
+        .exchange()
+        .returnResult(String.class).getResponseHeaders().getETag();
+      webTestClient.put().uri("/reminders/{id}", createdId)
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(createNormalForm())
+        .exchange()
+        .expectStatus().isOk();
+      String currentEtag = webTestClient.get().uri("/reminders/{id}", createdId)
+        .exchange()
+        .returnResult(String.class).getResponseHeaders().getETag();
+
+      webTestClient.put().uri("/reminders/{id}", createdId)
+        .header("If-Match", staleEtag + ", " + currentEtag)
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(createNormalForm())
+        .exchange()
+        .expectStatus().isOk();
+
+      // 更新後は列挙したどの ETag とも一致しない
+      webTestClient.put().uri("/reminders/{id}", createdId)
+        .header("If-Match", staleEtag + ", " + currentEtag)
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(createNormalForm())
+        .exchange()
+        .expectStatus().isEqualTo(412);
+
+      deleteReminder(createdId);
+    }
+
+    @Test
+    void If_Matchの版番号がlongに収まらない場合412を返すか() {
+      Long verifyId = 3L;
+
+      webTestClient.put().uri("/reminders/{id}", verifyId)
+        .header("If-Match", "\"" + verifyId + "-99999999999999999999\"")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(createNormalForm())
+        .exchange()
+        .expectStatus().isEqualTo(412)
+        .expectBody()
+        .jsonPath("$.title").isEqualTo("Precondition Failed");
+    }
+
+    @Test
+    void 存在しないIDを指定したときに404を投げるか() {
+      Long verifyId = 99L;
+
+      webTestClient.put().uri("/reminders/{id}", verifyId)
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(createNormalForm())
+        .exchange()
+        .expectStatus().isNotFound()
+        .expectBody()
+        .jsonPath("$.title").isEqualTo("Resource Not Found")
+        .jsonPath("$.detail").isEqualTo("ReminderEntity (id = " + verifyId + ") is not found.");
+    }
+  }
+
+  @Nested
+  class contentNegotiation {
+    @Test
+    void 表現ごとに異なるETagとVaryを返すか() {
+      Long verifyId = 1L;
+
+      String jsonEtag = webTestClient.get().uri("/reminders/{id}", verifyId)
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().values("Vary", Matchers.hasItem("Accept"))
+        .returnResult(String.class).getResponseHeaders().getETag();
+      String cborEtag = webTestClient.get().uri("/reminders/{id}", verifyId)
+        .accept(MediaType.APPLICATION_CBOR)
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().contentType(MediaType.APPLICATION_CBOR)
+        .expectHeader().values("Vary", Matchers.hasItem("Accept"))
+        .returnResult(byte[].class).getResponseHeaders().getETag();
+      assertThat(cborEtag).isNotEqualTo(jsonEtag);
+
+      // JSON の ETag では、CBOR の表現に 304 を返さない
+      webTestClient.get().uri("/reminders/{id}", verifyId)
+        .accept(MediaType.APPLICATION_CBOR)
+        .header("If-None-Match", jsonEtag)
+        .exchange()
+        .expectStatus().isOk();
+    }
+  }
+
+  // 同じリクエストに対して、MVC と WebFlux が同じ JSON（とステータス、ETag）を返すか
+  // createdAt / updatedAt は起動した時刻で決まるため、比較から除く
+  @Nested
+  class parityWithMvc {
+    @Test
+    void リソースの取得で同じJSONとETagを返すか() throws Exception {
+      assertSameResponse("/reminders/1");
+    }
+
+    @Test
+    void summaryの一覧で同じJSONとETagを返すか() throws Exception {
+      assertSameResponse("/reminders/?limit=10&view=summary");
+    }
+
+    @Test
+    void 存在しないIDのエラーレスポンスが同じか() throws Exception {
+      assertSameResponse("/reminders/99");
+    }
+
+    @Test
+    void バリデーションエラーのレスポンスが同じか() throws Exception {
+      assertSameResponse("/reminders/?limit=0&offset=0");
+    }
+
+    private void assertSameResponse(String uri) throws Exception {
+      var reactiveResult = webTestClient.get().uri(uri).exchange().expectBody().returnResult();
+      var mvcResult = mvcClient.get().uri(uri).exchange().expectBody().returnResult();
+
+      assertThat(reactiveResult.getStatus()).isEqualTo(mvcResult.getStatus());
+      assertThat(reactiveResult.getResponseHeaders().getETag()).isEqualTo(mvcResult.getResponseHeaders().getETag());
+      assertThat(toComparableJson(reactiveResult)).isEqualTo(toComparableJson(mvcResult));
+    }
+
+    private JsonNode toComparableJson(EntityExchangeResult<byte[]> result) throws Exception {
+      var json = objectMapper.readTree(result.getResponseBody());
+      json.findParents("createdAt").forEach(parent -> ((ObjectNode) parent).remove(List.of("createdAt", "updatedAt")));
+
+      return json;
+    }
+  }
+
+  private Long createReminder() {
+    var created = webTestClient.post().uri("/reminders/")
+      .contentType(MediaType.APPLICATION_JSON)
+      .bodyValue(createNormalForm())
+      .exchange()
+      .expectStatus().isCreated()
+      .expectBody()
+      .returnResult();
+
+    try {
+      return objectMapper.readTree(created.getResponseBody()).get("id").asLong();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void deleteReminder(Long id) {
+    webTestClient.delete().uri("/reminders/{id}", id)
+      .exchange()
+      .expectStatus().isNoContent();
+  }
+
+  public ReminderForm createNormalForm() {
+    return new ReminderForm(
+      "Hello.",
+      "Hello SpringBoot App.",
+      LocalDate.of(2023, 10, 26),
+      1,
+      false
+    );
+  }
+
+  public ReminderForm createHasNullForm() {
+    return new ReminderForm(
+      null,
+      "Hello SpringBoot App.",
+      LocalDate.of(2023, 10, 26),
+      1,
+      false
+    );
+  }
+}
@@ -1,23 +1,43 @@
 package app.reminderappbackend.controller;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
 
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 
+import app.reminderappbackend.repository.SlowStatement;
+import app.reminderappbackend.repository.SlowStatementLog;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import reminderapi.model.ReminderForm;
 
-@SpringBootTest
+// レート制限は、テストの中の連続したリクエストでは超えないように緩める（制限のテストはバケットを直接使い切る）
+@SpringBootTest(properties = {
+  "reminder.rate-limit.read.limit=10000",
+  "reminder.rate-limit.write.limit=10000",
+  "reminder.rate-limit.api-keys=greedy-client,another-client"
+})
 @AutoConfigureMockMvc
 public class ReminderControllerTest {
 
@@ -27,6 +47,21 @@ public class ReminderControllerTest {
   @Autowired
   private ObjectMapper objectMapper;
 
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Autowired
+  private SlowStatementLog slowStatementLog;
+
+  @Autowired
+  private SlowStatementEndpoint slowStatementEndpoint;
+
+  @Autowired
+  private ReminderAdmissionInterceptor admissionInterceptor;
+
+  @Autowired
+  private ReminderRateLimitFilter rateLimitFilter;
+
   @Nested
   class method_of_getReminder {
     @Test
@@ -44,6 +79,45 @@ public class ReminderControllerTest {
         .andExpect(MockMvcResultMatchers.jsonPath("$.isCompleted").value("false"));
     }
 
+    @Test
+    void ETagが一致する場合304を返し変更後は200を返すか() throws Exception {
+      Long verifyId = 2L;
+
+      String etag = mockMvc.perform(MockMvcRequestBuilders.get("/reminders/{id}", verifyId))
+        .andExpect(MockMvcResultMatchers.status().isOk())
+        .andExpect(MockMvcResultMatchers.header().exists("ETag"))
+        .andReturn().getResponse().getHeader("ETag");
+
+      mockMvc.perform(MockMvcRequestBuilders.get("/reminders/{id}", verifyId)
+        .header("If-None-Match", etag))
+        .andExpect(MockMvcResultMatchers.status().isNotModified())
+        .andExpect(MockMvcResultMatchers.header().string("ETag", etag))
+        .andExpect(MockMvcResultMatchers.content().string(""));
+
+      // 内容を変えずに更新しても版番号は増えるため、ETag は変わる
+      mockMvc.perform(MockMvcRequestBuilders.patch("/reminders/batch")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"ids\": [" + verifyId + "], \"isCompleted\": true}"))
+        .andExpect(MockMvcResultMatchers.status().isOk());
+      mockMvc.perform(MockMvcRequestBuilders.get("/reminders/{id}", verifyId)
+        .header("If-None-Match", etag))
+        .andExpect(MockMvcResultMatchers.status().isOk())
+        .andExpect(MockMvcResultMatchers.header().string("ETag", Matchers.not(etag)));
+    }
+
+    @Test
+    void 返せる表現が無い場合ETagが一致しても406を返すか() throws Exception {
+      Long verifyId = 2L;
+      String etag = mockMvc.perform(MockMvcRequestBuilders.get("/reminders/{id}", verifyId))
+        .andReturn().getResponse().getHeader("ETag");
+
+      // */* はあるが、返せる表現はすべて q=0 で拒否している
+      mockMvc.perform(MockMvcRequestBuilders.get("/reminders/{id}", verifyId)
+        .header("Accept", "application/json;q=0, application/cbor;q=0, application/x-jackson-smile;q=0, */*")
+        .header("If-None-Match", etag))
+        .andExpect(MockMvcResultMatchers.status().isNotAcceptable());
+    }
+
     @Test
     void 存在しないIDを指定したときに404を投げるか() throws Exception {
       Long verifyId = 99L;
@@ -69,6 +143,99 @@ public class ReminderControllerTest {
       .andExpect(MockMvcResultMatchers.jsonPath("$.results").isNotEmpty());
     }
 
+    @Test
+    void ページのETagが一致する場合304を返すか() throws Exception {
+      String etag = mockMvc.perform(MockMvcRequestBuilders.get("/reminders/")
+        .param("limit", "10"))
+      .andExpect(MockMvcResultMatchers.status().isOk())
+      .andExpect(MockMvcResultMatchers.header().exists("ETag"))
+      .andReturn().getResponse().getHeader("ETag");
+
+      mockMvc.perform(MockMvcRequestBuilders.get("/reminders/")
+        .param("limit", "10")
+        .header("If-None-Match", "\"stale\", W/" + etag))
+      .andExpect(MockMvcResultMatchers.status().isNotModified())
+      .andExpect(MockMvcResultMatchers.content().string(""));
+    }
+
+    @Test
+    void nextCursorを辿って次のページを取得できるか() throws Exception {
+      var firstPage = mockMvc.perform(MockMvcRequestBuilders.get("/reminders/")
+        .param("limit", "1"))
+      .andExpect(MockMvcResultMatchers.status().isOk())
+      .andExpect(MockMvcResultMatchers.jsonPath("$.page.size").value(1))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.page.nextCursor").isNotEmpty())
+      .andReturn();
+      var firstPageJson = objectMapper.readTree(firstPage.getResponse().getContentAsString());
+      String nextCursor = firstPageJson.at("/page/nextCursor").asText();
+      Long firstId = firstPageJson.at("/results/0/id").asLong();
+
+      mockMvc.perform(MockMvcRequestBuilders.get("/reminders/")
+        .param("limit", "100")
+        .param("cursor", nextCursor))
+      .andExpect(MockMvcResultMatchers.status().isOk())
+      .andExpect(MockMvcResultMatchers.jsonPath("$.results[*].id").value(Matchers.not(Matchers.hasItem(firstId.intValue()))))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.page.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void 絞り込み条件に一致するリソースだけを取得できるか() throws Exception {
+      mockMvc.perform(MockMvcRequestBuilders.get("/reminders/")
+        .param("limit", "10")
+        .param("isCompleted", "true")
+        .param("dueBefore", "2023-09-16"))
+      .andExpect(MockMvcResultMatchers.status().isOk())
+      .andExpect(MockMvcResultMatchers.jsonPath("$.page.size").value(1))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.results[0].id").value(2));
+    }
+
+    @Test
+    void summaryを指定した場合一覧表示に使わない項目を省くか() throws Exception {
+      mockMvc.perform(MockMvcRequestBuilders.get("/reminders/")
+        .param("limit", "10")
+        .param("view", "summary"))
+      .andExpect(MockMvcResultMatchers.status().isOk())
+      .andExpect(MockMvcResultMatchers.jsonPath("$.page.size").value(3))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.results[0].id").isNumber())
+      .andExpect(MockMvcResultMatchers.jsonPath("$.results[0].title").isString())
+      .andExpect(MockMvcResultMatchers.jsonPath("$.results[0].dueDate").isString())
+      .andExpect(MockMvcResultMatchers.jsonPath("$.results[0].priority").isNumber())
+      .andExpect(MockMvcResultMatchers.jsonPath("$.results[0].isCompleted").isBoolean())
+      // null を書き出すのではなく、キーごと省かれるはず
+      .andExpect(MockMvcResultMatchers.content().string(Matchers.not(Matchers.containsString("\"description\""))))
+      .andExpect(MockMvcResultMatchers.content().string(Matchers.not(Matchers.containsString("\"createdAt\""))))
+      .andExpect(MockMvcResultMatchers.content().string(Matchers.not(Matchers.containsString("\"updatedAt\""))));
+    }
+
+    @Test
+    void 不正なviewを指定した場合400のエラーレスポンスを返すか() throws Exception {
+      mockMvc.perform(MockMvcRequestBuilders.get("/reminders/")
+        .param("limit", "10")
+        .param("view", "compact"))
+      .andExpect(MockMvcResultMatchers.status().isBadRequest())
+      .andExpect(MockMvcResultMatchers.jsonPath("$.invalid-params[0].name").value("view"));
+    }
+
+    @Test
+    void 範囲外の優先度で絞り込んだ場合400のエラーレスポンスを返すか() throws Exception {
+      mockMvc.perform(MockMvcRequestBuilders.get("/reminders/")
+        .param("limit", "10")
+        .param("priority", "3"))
+      .andExpect(MockMvcResultMatchers.status().isBadRequest())
+      .andExpect(MockMvcResultMatchers.jsonPath("$.invalid-params[0].name").value("priority"));
+    }
+
+    @Test
+    void 不正なカーソルを指定した場合400のエラーレスポンスを返すか() throws Exception {
+      mockMvc.perform(MockMvcRequestBuilders.get("/reminders/")
+        .param("limit", "10")
+        .param("cursor", "***"))
+      .andExpect(MockMvcResultMatchers.status().isBadRequest())
+      .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.title").value("Bad Request"))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.invalid-params[0].name").value("cursor"));
+    }
+
     @Test
     void 不正なリクエストを行った場合400のエラーレスポンスを返すか() throws Exception {
       mockMvc.perform(MockMvcRequestBuilders.get("/reminders/")
@@ -83,6 +250,29 @@ public class ReminderControllerTest {
     }
   }
 
+  @Nested
+  class method_of_exportReminders {
+    @Test
+    void 全リソースを1行1件のNDJSONで取得できるか() throws Exception {
+      var asyncResult = mockMvc.perform(MockMvcRequestBuilders.get("/reminders/export"))
+        .andExpect(MockMvcResultMatchers.request().asyncStarted())
+        .andReturn();
+
+      var result = mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(asyncResult))
+        .andExpect(MockMvcResultMatchers.status().isOk())
+        .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_NDJSON))
+        .andReturn();
+
+      String[] lines = result.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n");
+      assertThat(lines).isNotEmpty();
+      for (String line : lines) {
+        var json = objectMapper.readTree(line);
+        assertThat(json.get("id").isNumber()).isTrue();
+        assertThat(json.get("title").isTextual()).isTrue();
+      }
+    }
+  }
+
   @Nested
   class method_of_createReminder {
     @Test
@@ -119,6 +309,228 @@ public class ReminderControllerTest {
     }
   }
 
+  @Nested
+  class method_of_createReminderBatch {
+    @Test
+    void 正常な要素だけを作成し不正な要素はエラーとして返すか() throws Exception {
+      List<ReminderForm> formList = List.of(createNormalForm(), createHasNullForm(), createNormalForm());
+
+      var result = mockMvc.perform(MockMvcRequestBuilders.post("/reminders/batch")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(formList)))
+      .andExpect(MockMvcResultMatchers.status().isOk())
+      .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.createdIds.length()").value(2))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.results.length()").value(3))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.results[0].index").value(0))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.results[0].id").isNumber())
+      .andExpect(MockMvcResultMatchers.jsonPath("$.results[1].id").doesNotExist())
+      .andExpect(MockMvcResultMatchers.jsonPath("$.results[1].invalid-params[0].name").value("title"))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.results[1].invalid-params[0].reason").value("must not be null"))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.results[2].id").isNumber())
+      .andReturn();
+
+      // 一覧件数のテストに影響しないよう、作成したリソースを削除する
+      var createdIds = objectMapper.readTree(result.getResponse().getContentAsString()).get("createdIds");
+      mockMvc.perform(MockMvcRequestBuilders.post("/reminders/batch/delete")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"ids\": " + createdIds + "}"))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.deletedCount").value(2));
+    }
+
+    @Test
+    void 型変換できない要素はエラーとして返すか() throws Exception {
+      String content = "[{\"title\": \"Hello.\", \"description\": \"Hello.\", \"dueDate\": \"not-a-date\", \"priority\": 1, \"isCompleted\": false}]";
+
+      mockMvc.perform(MockMvcRequestBuilders.post("/reminders/batch")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(content))
+      .andExpect(MockMvcResultMatchers.status().isOk())
+      .andExpect(MockMvcResultMatchers.jsonPath("$.createdIds").isEmpty())
+      .andExpect(MockMvcResultMatchers.jsonPath("$.results[0].invalid-params[0].name").value("dueDate"));
+    }
+  }
+
+  @Nested
+  class method_of_getDueReminderList {
+    @Test
+    void 期限が近いリソースをリストで取得できるか() throws Exception {
+      mockMvc.perform(MockMvcRequestBuilders.get("/reminders/due")
+        .param("within", "P7D"))
+      .andExpect(MockMvcResultMatchers.status().isOk())
+      .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.page.limit").value(100))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.results").isArray());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"7days", "P-1D", "P101Y", "P999999999Y"})
+    void 不正な期間を指定した場合400のエラーレスポンスを返すか(String within) throws Exception {
+      mockMvc.perform(MockMvcRequestBuilders.get("/reminders/due")
+        .param("within", within))
+      .andExpect(MockMvcResultMatchers.status().isBadRequest())
+      .andExpect(MockMvcResultMatchers.jsonPath("$.invalid-params[0].name").value("within"));
+    }
+  }
+
+  @Nested
+  class method_of_searchReminders {
+    @Test
+    void 検索クエリにヒットするリソースを取得できるか() throws Exception {
+      mockMvc.perform(MockMvcRequestBuilders.get("/reminders/search")
+        .param("q", "ランニング"))
+      .andExpect(MockMvcResultMatchers.status().isOk())
+      .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.total").value(Matchers.greaterThanOrEqualTo(1)))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.results[*].id").value(Matchers.hasItem(2)));
+    }
+
+    @Test
+    void 記号だけの検索クエリを指定した場合400のエラーレスポンスを返すか() throws Exception {
+      mockMvc.perform(MockMvcRequestBuilders.get("/reminders/search")
+        .param("q", "!?"))
+      .andExpect(MockMvcResultMatchers.status().isBadRequest())
+      .andExpect(MockMvcResultMatchers.jsonPath("$.invalid-params[0].name").value("q"));
+    }
+  }
+
+  @Nested
+  class method_of_getReminderStats {
+    @Test
+    void 統計を取得できるか() throws Exception {
+      mockMvc.perform(MockMvcRequestBuilders.get("/reminders/stats"))
+      .andExpect(MockMvcResultMatchers.status().isOk())
+      .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.totalCount").isNumber())
+      .andExpect(MockMvcResultMatchers.jsonPath("$.overdueCount").isNumber())
+      .andExpect(MockMvcResultMatchers.jsonPath("$.byPriority.length()").value(3))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.byPriority[0].priority").value(0));
+    }
+  }
+
+  @Nested
+  class method_of_importReminders {
+    @Test
+    void 正常な行だけを登録し不正な行はエラーとして返すか() throws Exception {
+      String content = String.join("\n",
+        "{\"title\": \"Hello.\", \"description\": \"line 1\", \"dueDate\": \"2000-01-01\", \"priority\": 1, \"isCompleted\": false}",
+        "{\"title\": \"broken",
+        "",
+        "{\"title\": null, \"description\": \"line 4\", \"dueDate\": \"2000-01-01\", \"priority\": 1, \"isCompleted\": false}",
+        "{\"title\": \"Hello.\", \"description\": \"line 5\", \"dueDate\": \"2000-01-01\", \"priority\": 2, \"isCompleted\": true}"
+      );
+
+      mockMvc.perform(MockMvcRequestBuilders.post("/reminders/import")
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .content(content))
+      .andExpect(MockMvcResultMatchers.status().isOk())
+      .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.importedCount").value(2))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.failedCount").value(2))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.rowsPerSecond").isNumber())
+      .andExpect(MockMvcResultMatchers.jsonPath("$.errors[0].line").value(2))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.errors[1].line").value(4))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.errors[1].invalid-params[0].name").value("title"));
+
+      // 一覧件数のテストに影響しないよう、登録したリソースを削除する
+      mockMvc.perform(MockMvcRequestBuilders.post("/reminders/batch/delete")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"filter\": {\"dueBefore\": \"2000-01-02\"}}"))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.deletedCount").value(2));
+    }
+
+    @Test
+    void 上限のサイズを超える行を読み捨てて次の行から読み直すか() throws Exception {
+      String content = String.join("\n",
+        "{\"title\": \"" + "x".repeat(70 * 1024) + "\"}",
+        "{\"title\": \"Hello.\", \"description\": \"line 2\", \"dueDate\": \"2000-01-01\", \"priority\": 1, \"isCompleted\": false}"
+      );
+
+      mockMvc.perform(MockMvcRequestBuilders.post("/reminders/import")
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .content(content))
+      .andExpect(MockMvcResultMatchers.status().isOk())
+      .andExpect(MockMvcResultMatchers.jsonPath("$.importedCount").value(1))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.failedCount").value(1))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.errors[0].line").value(1))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.errors[0].invalid-params[0].reason").value("line must not exceed 65536 bytes"));
+
+      // 一覧件数のテストに影響しないよう、登録したリソースを削除する
+      mockMvc.perform(MockMvcRequestBuilders.post("/reminders/batch/delete")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"filter\": {\"dueBefore\": \"2000-01-02\"}}"))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.deletedCount").value(1));
+    }
+  }
+
+  @Nested
+  class method_of_updateReminderBatch {
+    @Test
+    void IDのリストで指定したリソースを一括更新できるか() throws Exception {
+      mockMvc.perform(MockMvcRequestBuilders.patch("/reminders/batch")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"ids\": [2], \"priority\": 0}"))
+      .andExpect(MockMvcResultMatchers.status().isOk())
+      .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.updatedCount").value(1))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.updatedIds[0]").value(2));
+
+      mockMvc.perform(MockMvcRequestBuilders.get("/reminders/{id}", 2L))
+        .andExpect(MockMvcResultMatchers.jsonPath("$.priority").value("0"));
+    }
+
+    @Test
+    void 絞り込み条件で指定した場合は件数だけを返すか() throws Exception {
+      mockMvc.perform(MockMvcRequestBuilders.patch("/reminders/batch")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"filter\": {\"dueBefore\": \"2000-01-01\"}, \"isCompleted\": true}"))
+      .andExpect(MockMvcResultMatchers.status().isOk())
+      .andExpect(MockMvcResultMatchers.jsonPath("$.updatedCount").value(0))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.updatedIds").doesNotExist());
+    }
+
+    @Test
+    void IDのリストと絞り込み条件のどちらも指定しない場合400のエラーレスポンスを返すか() throws Exception {
+      mockMvc.perform(MockMvcRequestBuilders.patch("/reminders/batch")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"isCompleted\": true}"))
+      .andExpect(MockMvcResultMatchers.status().isBadRequest())
+      .andExpect(MockMvcResultMatchers.jsonPath("$.title").value("Bad Request"))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.invalid-params[0].name").value("ids"));
+    }
+
+    @Test
+    void 絞り込み条件が空の場合400のエラーレスポンスを返すか() throws Exception {
+      mockMvc.perform(MockMvcRequestBuilders.patch("/reminders/batch")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"filter\": {}, \"isCompleted\": true}"))
+      .andExpect(MockMvcResultMatchers.status().isBadRequest())
+      .andExpect(MockMvcResultMatchers.jsonPath("$.invalid-params[0].name").value("filter"));
+    }
+  }
+
+  @Nested
+  class method_of_deleteReminderBatch {
+    @Test
+    void 削除した件数を返すか() throws Exception {
+      mockMvc.perform(MockMvcRequestBuilders.post("/reminders/batch/delete")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"ids\": [99, 100]}"))
+      .andExpect(MockMvcResultMatchers.status().isOk())
+      .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.deletedCount").value(0));
+    }
+
+    @Test
+    void IDのリストと絞り込み条件の両方を指定した場合400のエラーレスポンスを返すか() throws Exception {
+      mockMvc.perform(MockMvcRequestBuilders.post("/reminders/batch/delete")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"ids\": [1], \"filter\": {\"isCompleted\": true}}"))
+      .andExpect(MockMvcResultMatchers.status().isBadRequest())
+      .andExpect(MockMvcResultMatchers.jsonPath("$.invalid-params[0].name").value("ids"));
+    }
+  }
+
   @Nested
   class method_of_updateReminder {
     @Test
@@ -155,6 +567,85 @@ public class ReminderControllerTest {
       .andExpect(MockMvcResultMatchers.jsonPath("$.invalid-params[0].reason").value("must not be null"));
     }
 
+    @Test
+    void If_Matchが古いETagの場合412を返すか() throws Exception {
+      var created = mockMvc.perform(MockMvcRequestBuilders.post("/reminders/")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(createNormalForm())))
+      .andReturn();
+      Long createdId = objectMapper.readTree(created.getResponse().getContentAsString()).get("id").asLong();
+      String etag = mockMvc.perform(MockMvcRequestBuilders.get("/reminders/{id}", createdId))
+        .andReturn().getResponse().getHeader("ETag");
+
+      String updatedEtag = mockMvc.perform(MockMvcRequestBuilders.put("/reminders/{id}", createdId)
+        .header("If-Match", etag)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(createNormalForm())))
+      .andExpect(MockMvcResultMatchers.status().isOk())
+      .andExpect(MockMvcResultMatchers.header().string("ETag", Matchers.not(etag)))
+      .andReturn().getResponse().getHeader("ETag");
+
+      mockMvc.perform(MockMvcRequestBuilders.put("/reminders/{id}", createdId)
+        .header("If-Match", etag)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(createNormalForm())))
+      .andExpect(MockMvcResultMatchers.status().isPreconditionFailed())
+      .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.title").value("Precondition Failed"));
+
+      // 一覧件数のテストに影響しないよう、作成したリソースを削除する
+      mockMvc.perform(MockMvcRequestBuilders.delete("/reminders/{id}", createdId))
+      .andExpect(MockMvcResultMatchers.status().isNoContent());
+      assertThat(updatedEtag).isNotNull();
+    }
+
+    @Test
+    void If_Matchに複数のETagを指定した場合いずれかが一致すれば更新できるか() throws Exception {
+      var created = mockMvc.perform(MockMvcRequestBuilders.post("/reminders/")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(createNormalForm())))
+      .andReturn();
+      Long createdId = objectMapper.readTree(created.getResponse().getContentAsString()).get("id").asLong();
+      String staleEtag = mockMvc.perform(MockMvcRequestBuilders.get("/reminders/{id}", createdId))
+        .andReturn().getResponse().getHeader("ETag");
+      mockMvc.perform(MockMvcRequestBuilders.put("/reminders/{id}", createdId)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(createNormalForm())))
+      .andExpect(MockMvcResultMatchers.status().isOk());
+      String currentEtag = mockMvc.perform(MockMvcRequestBuilders.get("/reminders/{id}", createdId))
+        .andReturn().getResponse().getHeader("ETag");
+
+      mockMvc.perform(MockMvcRequestBuilders.put("/reminders/{id}", createdId)
+        .header("If-Match", staleEtag + ", " + currentEtag)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(createNormalForm())))
+      .andExpect(MockMvcResultMatchers.status().isOk());
+
+      // 更新後は列挙したどの ETag とも一致しない
+      mockMvc.perform(MockMvcRequestBuilders.put("/reminders/{id}", createdId)
+        .header("If-Match", staleEtag + ", " + currentEtag)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(createNormalForm())))
+      .andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+
+      // 一覧件数のテストに影響しないよう、作成したリソースを削除する
+      mockMvc.perform(MockMvcRequestBuilders.delete("/reminders/{id}", createdId))
+      .andExpect(MockMvcResultMatchers.status().isNoContent());
+    }
+
+    @Test
+    void If_Matchの版番号がlongに収まらない場合412を返すか() throws Exception {
+      Long verifyId = 3L;
+
+      mockMvc.perform(MockMvcRequestBuilders.put("/reminders/{id}", verifyId)
+        .header("If-Match", "\"" + verifyId + "-99999999999999999999\"")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(createNormalForm())))
+      .andExpect(MockMvcResultMatchers.status().isPreconditionFailed())
+      .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.title").value("Precondition Failed"));
+    }
+
     @Test
     void 存在しないIDを指定したときに404を投げるか() throws Exception {
       Long verifyId = 99L;
@@ -192,6 +683,252 @@ public class ReminderControllerTest {
     }
   }
 
+  @Nested
+  class metrics {
+    @Test
+    void エンドポイントとステートメントごとのレイテンシが記録されるか() throws Exception {
+      mockMvc.perform(MockMvcRequestBuilders.get("/reminders/")
+        .param("limit", "10"))
+      .andExpect(MockMvcResultMatchers.status().isOk());
+
+      var requestTimer = meterRegistry.find("http.server.requests").tag("operation", "getReminderList").timer();
+      assertThat(requestTimer).isNotNull();
+      assertThat(requestTimer.count()).isPositive();
+
+      var statementTimer = meterRegistry.find("reminder.db.statement").tag("statement", "ReminderRepository.selectList").timer();
+      assertThat(statementTimer).isNotNull();
+      assertThat(statementTimer.count()).isPositive();
+
+      var rowsSummary = meterRegistry.find("reminder.db.statement.rows").tag("statement", "ReminderRepository.selectList").summary();
+      assertThat(rowsSummary).isNotNull();
+      assertThat(rowsSummary.max()).isPositive().as("テストデータの行数が記録されるはず");
+
+      assertThat(meterRegistry.find("reminder.db.result.mapping").tag("statement", "ReminderRepository.selectList").timer())
+        .isNotNull();
+    }
+  }
+
+  @Nested
+  class contentNegotiation {
+    @ParameterizedTest
+    @ValueSource(strings = {"application/cbor", "application/x-jackson-smile"})
+    void バイナリ形式でJSONと同じ内容を返すか(String mediaType) throws Exception {
+      var json = mockMvc.perform(MockMvcRequestBuilders.get("/reminders/")
+        .param("limit", "10"))
+      .andExpect(MockMvcResultMatchers.status().isOk())
+      .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON))
+      .andReturn().getResponse().getContentAsByteArray();
+
+      var binary = mockMvc.perform(MockMvcRequestBuilders.get("/reminders/")
+        .param("limit", "10")
+        .accept(mediaType))
+      .andExpect(MockMvcResultMatchers.status().isOk())
+      .andExpect(MockMvcResultMatchers.content().contentType(mediaType))
+      .andReturn().getResponse().getContentAsByteArray();
+
+      var binaryMapper = new ObjectMapper(mediaType.equals("application/cbor") ? new CBORFactory() : new SmileFactory());
+      assertThat(binaryMapper.readTree(binary)).isEqualTo(objectMapper.readTree(json));
+    }
+
+    @Test
+    void 表現ごとに異なるETagとVaryを返すか() throws Exception {
+      Long verifyId = 3L;
+
+      String jsonEtag = mockMvc.perform(MockMvcRequestBuilders.get("/reminders/{id}", verifyId))
+        .andExpect(MockMvcResultMatchers.status().isOk())
+        .andExpect(MockMvcResultMatchers.header().string("Vary", Matchers.containsString("Accept")))
+        .andReturn().getResponse().getHeader("ETag");
+      String cborEtag = mockMvc.perform(MockMvcRequestBuilders.get("/reminders/{id}", verifyId)
+        .accept(MediaType.APPLICATION_CBOR))
+        .andExpect(MockMvcResultMatchers.status().isOk())
+        .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_CBOR))
+        .andExpect(MockMvcResultMatchers.header().string("Vary", Matchers.containsString("Accept")))
+        .andReturn().getResponse().getHeader("ETag");
+      assertThat(cborEtag).isNotEqualTo(jsonEtag);
+
+      // JSON の ETag では、CBOR の表現に 304 を返さない
+      mockMvc.perform(MockMvcRequestBuilders.get("/reminders/{id}", verifyId)
+        .accept(MediaType.APPLICATION_CBOR)
+        .header("If-None-Match", jsonEtag))
+        .andExpect(MockMvcResultMatchers.status().isOk());
+      mockMvc.perform(MockMvcRequestBuilders.get("/reminders/{id}", verifyId)
+        .accept(MediaType.APPLICATION_CBOR)
+        .header("If-None-Match", cborEtag))
+        .andExpect(MockMvcResultMatchers.status().isNotModified())
+        .andExpect(MockMvcResultMatchers.header().string("Vary", Matchers.containsString("Accept")));
+
+      // 一覧の ETag も表現ごとに変わる
+      String jsonListEtag = mockMvc.perform(MockMvcRequestBuilders.get("/reminders/")
+        .param("limit", "10"))
+        .andReturn().getResponse().getHeader("ETag");
+      mockMvc.perform(MockMvcRequestBuilders.get("/reminders/")
+        .param("limit", "10")
+        .accept("application/x-jackson-smile"))
+        .andExpect(MockMvcResultMatchers.status().isOk())
+        .andExpect(MockMvcResultMatchers.header().string("ETag", Matchers.not(jsonListEtag)));
+    }
+
+    @Test
+    void 別の表現で取得したETagでも更新できるか() throws Exception {
+      var created = mockMvc.perform(MockMvcRequestBuilders.post("/reminders/")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(createNormalForm())))
+      .andReturn();
+      Long createdId = objectMapper.readTree(created.getResponse().getContentAsString()).get("id").asLong();
+      String cborEtag = mockMvc.perform(MockMvcRequestBuilders.get("/reminders/{id}", createdId)
+        .accept(MediaType.APPLICATION_CBOR))
+        .andReturn().getResponse().getHeader("ETag");
+
+      mockMvc.perform(MockMvcRequestBuilders.put("/reminders/{id}", createdId)
+        .header("If-Match", cborEtag)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(createNormalForm())))
+      .andExpect(MockMvcResultMatchers.status().isOk())
+      .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON));
+
+      // 一覧件数のテストに影響しないよう、作成したリソースを削除する
+      mockMvc.perform(MockMvcRequestBuilders.delete("/reminders/{id}", createdId))
+      .andExpect(MockMvcResultMatchers.status().isNoContent());
+    }
+  }
+
+  @Nested
+  class rateLimit {
+    @Test
+    void レスポンスにRateLimitヘッダを付けるか() throws Exception {
+      mockMvc.perform(MockMvcRequestBuilders.get("/reminders/stats"))
+        .andExpect(MockMvcResultMatchers.status().isOk())
+        .andExpect(MockMvcResultMatchers.header().string("RateLimit-Limit", "10000"))
+        .andExpect(MockMvcResultMatchers.header().string("RateLimit-Policy", "10000;w=10"))
+        .andExpect(MockMvcResultMatchers.header().exists("RateLimit-Remaining"))
+        .andExpect(MockMvcResultMatchers.header().exists("RateLimit-Reset"));
+    }
+
+    @Test
+    void 上限を超えたクライアントにだけ429とRetryAfterを返すか() throws Exception {
+      var request = new MockHttpServletRequest();
+      request.addHeader(ReminderRateLimitFilter.API_KEY_HEADER, "greedy-client");
+      var readLimiter = rateLimitFilter.limiterFor("GET");
+      while (readLimiter.tryConsume(rateLimitFilter.clientKey(request)).consumed()) {
+        // バケットを使い切る
+      }
+
+      mockMvc.perform(MockMvcRequestBuilders.get("/reminders/stats")
+        .header(ReminderRateLimitFilter.API_KEY_HEADER, "greedy-client"))
+      .andExpect(MockMvcResultMatchers.status().isTooManyRequests())
+      .andExpect(MockMvcResultMatchers.header().string("RateLimit-Remaining", "0"))
+      .andExpect(MockMvcResultMatchers.header().string("Retry-After", "1"))
+      .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.title").value("Too Many Requests"));
+
+      // 他のクライアントと、同じクライアントの書き込みは制限されない
+      mockMvc.perform(MockMvcRequestBuilders.get("/reminders/stats")
+        .header(ReminderRateLimitFilter.API_KEY_HEADER, "another-client"))
+      .andExpect(MockMvcResultMatchers.status().isOk());
+      assertThat(rateLimitFilter.limiterFor("POST").tryConsume(rateLimitFilter.clientKey(request)).consumed()).isTrue();
+    }
+
+    @Test
+    void 未登録のAPIキーは無視してIPアドレスで識別するか() {
+      var request = new MockHttpServletRequest();
+      request.setRemoteAddr("192.0.2.1");
+      request.addHeader(ReminderRateLimitFilter.API_KEY_HEADER, "random-key-" + System.nanoTime());
+
+      assertThat(rateLimitFilter.clientKey(request)).isEqualTo("ip:192.0.2.1");
+    }
+
+    @Test
+    void 追跡するクライアントの上限を超えた分は共有の上限でまとめて制限するか() {
+      var limiter = new ClientRateLimiter(OperationClass.READ, 1, Duration.ofSeconds(10), Duration.ofMinutes(5), 2, new SimpleMeterRegistry());
+
+      assertThat(limiter.tryConsume("ip:192.0.2.1").consumed()).isTrue();
+      assertThat(limiter.tryConsume("ip:192.0.2.2").consumed()).isTrue();
+      // 上限（2クライアント）に達した後の新しいクライアントは、1つのバケットを共有する
+      assertThat(limiter.tryConsume("ip:192.0.2.3").consumed()).isTrue();
+      assertThat(limiter.tryConsume("ip:192.0.2.4").consumed()).isFalse();
+    }
+  }
+
+  @Nested
+  class admission {
+    @Test
+    void 同時実行数の上限に達したとき503とRetryAfterを返すか() throws Exception {
+      var readLimiter = admissionInterceptor.limiterFor("GET");
+      var acquiredCount = 0;
+      try {
+        while (readLimiter.tryAcquire()) {
+          acquiredCount++;
+        }
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/reminders/")
+          .param("limit", "10"))
+        .andExpect(MockMvcResultMatchers.status().isServiceUnavailable())
+        .andExpect(MockMvcResultMatchers.header().string("Retry-After", "1"))
+        .andExpect(MockMvcResultMatchers.jsonPath("$.title").value("Service Unavailable"));
+
+        // 書き込みの枠は、読み取りの混雑の影響を受けない
+        assertThat(admissionInterceptor.limiterFor("POST").tryAcquire()).isTrue();
+        admissionInterceptor.limiterFor("POST").release();
+      } finally {
+        for (var i = 0; i < acquiredCount; i++) {
+          readLimiter.release();
+        }
+      }
+
+      assertThat(meterRegistry.find("reminder.admission.rejected").tag("operation.class", "read").counters())
+        .anySatisfy(counter -> assertThat(counter.count()).isPositive());
+
+      mockMvc.perform(MockMvcRequestBuilders.get("/reminders/")
+        .param("limit", "10"))
+      .andExpect(MockMvcResultMatchers.status().isOk());
+      assertThat(readLimiter.inFlight()).isZero();
+    }
+
+    @Test
+    void エクスポートは書き出し終えるまで枠を保持するか() throws Exception {
+      var readLimiter = admissionInterceptor.limiterFor("GET");
+
+      var asyncResult = mockMvc.perform(MockMvcRequestBuilders.get("/reminders/export"))
+        .andExpect(MockMvcResultMatchers.request().asyncStarted())
+        .andReturn();
+      // 非同期処理が始まっても、書き出しのスレッドがDBのコネクションを使っている間は枠を返さない
+      assertThat(readLimiter.inFlight()).isEqualTo(1);
+
+      mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(asyncResult))
+        .andExpect(MockMvcResultMatchers.status().isOk());
+      assertThat(readLimiter.inFlight()).isZero();
+    }
+  }
+
+  @Nested
+  class slowStatements {
+    @Test
+    void 遅いステートメントの記録を新しい順に取得して削除できるか() throws Exception {
+      slowStatementLog.clear();
+      slowStatementLog.add(new SlowStatement(OffsetDateTime.now(), "ReminderRepository.selectList", "SELECT 1", null, 300L, "plan-1"));
+      slowStatementLog.add(new SlowStatement(OffsetDateTime.now(), "ReminderRepository.selectById", "SELECT 2", List.of("1"), 400L, "plan-2"));
+
+      var slowStatements = slowStatementEndpoint.slowStatements();
+      assertThat(slowStatements).extracting(SlowStatement::getStatement)
+        .containsExactly("ReminderRepository.selectById", "ReminderRepository.selectList");
+      assertThat(slowStatements.get(0).getParameters()).containsExactly("1");
+      assertThat(slowStatements.get(0).getDurationMillis()).isEqualTo(400L);
+      assertThat(slowStatements.get(0).getPlan()).isEqualTo("plan-2");
+
+      slowStatementEndpoint.clearSlowStatements();
+
+      assertThat(slowStatementLog.list()).isEmpty();
+    }
+
+    @Test
+    void クライアント向けのポートでは記録を公開しないか() throws Exception {
+      mockMvc.perform(MockMvcRequestBuilders.get("/admin/slow-statements"))
+        .andExpect(MockMvcResultMatchers.status().isNotFound());
+      mockMvc.perform(MockMvcRequestBuilders.get("/actuator/slowstatements"))
+        .andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+  }
+
   public ReminderForm createNormalForm() {
     return new ReminderForm(
       "Hello.",
@@ -5,6 +5,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
@@ -155,6 +156,105 @@ public class ReminderRepositoryTest {
       assertThat(actualRecordList)
         .hasSize(expectedListSize).as("Listのサイズは一致するはず");
     }
+
+    @ParameterizedTest
+    @CsvSource({
+      // isCompleted, priority, dueBefore, dueAfter, 期待するID（テストデータ: (2023-09-14, p1, 未完了), (2023-09-15, p2, 完了), (2023-09-16, p0, 未完了)）
+      "false,  ,           ,           , 1;3",
+      "     , 2,           ,           , 2",
+      "     ,  , 2023-09-16,           , 1;2",
+      "     ,  ,           , 2023-09-14, 2;3",
+      "false,  , 2023-09-16, 2023-09-14, ''",
+    })
+    void 絞り込み条件が機能するか(Boolean isCompleted, Integer priority, LocalDate dueBefore, LocalDate dueAfter, String expectedIds) {
+      var criteria = new ReminderCriteria(isCompleted, priority, dueBefore, dueAfter);
+      List<ReminderRecord> actualRecordList = reminderRepository.selectList(defaultLimit, defaultOffset, criteria);
+
+      List<Long> expectedIdList = expectedIds.isEmpty()
+        ? List.of()
+        : Arrays.stream(expectedIds.split(";")).map(Long::valueOf).toList();
+      assertThat(actualRecordList)
+        .extracting(ReminderRecord::getId)
+        .containsExactlyElementsOf(expectedIdList).as("条件に一致する要素だけが (due_date, id) の昇順で取得できるはず");
+    }
+
+    @Test
+    void 空の絞り込み条件を指定した場合と条件なしの場合で同じリストになるか() {
+      var emptyCriteria = new ReminderCriteria(null, null, null, null);
+      List<ReminderRecord> expectedRecordList = reminderRepository.selectList(defaultLimit, defaultOffset);
+      List<ReminderRecord> actualRecordList = reminderRepository.selectList(defaultLimit, defaultOffset, emptyCriteria);
+      List<ReminderRecord> providerRecordList = reminderRepository.selectListByCriteria(defaultLimit, defaultOffset, emptyCriteria, ReminderProjection.FULL);
+
+      assertThat(actualRecordList).isEqualTo(expectedRecordList);
+      assertThat(providerRecordList)
+        .isEqualTo(expectedRecordList).as("静的なステートメントとプロバイダで組み立てたステートメントは同じ結果を返すはず");
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void summaryでは一覧表示に使わない列を読み出さないか(boolean withCriteria) {
+      var criteria = withCriteria ? new ReminderCriteria(null, null, LocalDate.of(2099, 1, 1), null) : null;
+      List<ReminderRecord> fullRecordList = reminderRepository.selectList(defaultLimit, defaultOffset, criteria, ReminderProjection.FULL);
+      List<ReminderRecord> summaryRecordList = reminderRepository.selectList(defaultLimit, defaultOffset, criteria, ReminderProjection.SUMMARY);
+
+      assertThat(summaryRecordList)
+        .extracting(ReminderRecord::getId)
+        .containsExactlyElementsOf(fullRecordList.stream().map(ReminderRecord::getId).toList()).as("full と同じ要素が同じ順に取得できるはず");
+      assertThat(summaryRecordList)
+        .allSatisfy(record -> {
+          assertThat(record.getTitle()).isNotNull();
+          assertThat(record.getDueDate()).isNotNull();
+          assertThat(record.getPriority()).isNotNull();
+          assertThat(record.getVersion()).isNotNull();
+          assertThat(record.getDescription()).isNull();
+          assertThat(record.getCreatedAt()).isNull();
+          assertThat(record.getUpdatedAt()).isNull();
+        });
+    }
+  }
+
+  @Nested
+  class method_of_selectListAfter {
+    Integer defaultLimit = 10;
+
+    @Test
+    void 指定したキーより後ろのリソースを取得できるか() {
+      // テストデータ: (2023-09-14, 1), (2023-09-15, 2), (2023-09-16, 3)
+      List<ReminderRecord> actualRecordList = reminderRepository.selectListAfter(defaultLimit, LocalDate.of(2023, 9, 14), 1L);
+
+      assertThat(actualRecordList)
+        .extracting(ReminderRecord::getId)
+        .containsExactly(2L, 3L).as("(due_date, id) の昇順で、キーより後ろの要素だけが取得できるはず");
+    }
+
+    @Test
+    void offsetで取得したページと同じ並びになるか() {
+      List<ReminderRecord> expectedRecordList = reminderRepository.selectList(defaultLimit, 1L);
+
+      ReminderRecord first = reminderRepository.selectList(1, 0L).get(0);
+      List<ReminderRecord> actualRecordList = reminderRepository.selectListAfter(defaultLimit, first.getDueDate(), first.getId());
+
+      assertThat(actualRecordList)
+        .extracting(ReminderRecord::getId)
+        .containsExactlyElementsOf(expectedRecordList.stream().map(ReminderRecord::getId).toList());
+    }
+
+    @Test
+    void 絞り込み条件とカーソルを組み合わせられるか() {
+      var criteria = new ReminderCriteria(false, null, null, null);
+      List<ReminderRecord> actualRecordList = reminderRepository.selectListAfter(defaultLimit, LocalDate.of(2023, 9, 14), 1L, criteria);
+
+      assertThat(actualRecordList)
+        .extracting(ReminderRecord::getId)
+        .containsExactly(3L).as("キーより後ろの未完了の要素だけが取得できるはず");
+    }
+
+    @Test
+    void 最終要素のキーを指定した場合リストは空か() {
+      List<ReminderRecord> actualRecordList = reminderRepository.selectListAfter(defaultLimit, LocalDate.of(2023, 9, 16), 3L);
+
+      assertThat(actualRecordList).isEmpty();
+    }
   }
 
   @Nested
@@ -226,6 +326,51 @@ public class ReminderRepositoryTest {
       assertThat(actualRecord.isCompleted()).isEqualTo(defaultForm.getIsCompleted());
     }
 
+    @Test
+    void 更新後のレコードが戻り値で返るか() {
+      Optional<ReminderRecord> actualOptRecord = reminderRepository.update(defaultId, defaultForm);
+      ReminderRecord actualRecord = actualOptRecord.get();
+
+      assertThat(actualRecord.getId()).isEqualTo(defaultId);
+      assertThat(actualRecord.getTitle()).isEqualTo(defaultForm.getTitle());
+      assertThat(actualRecord.getDescription()).isEqualTo(defaultForm.getDescription());
+      assertThat(actualRecord.getDueDate()).isEqualTo(defaultForm.getDueDate());
+      assertThat(actualRecord.getPriority()).isEqualTo(defaultForm.getPriority());
+      assertThat(actualRecord.isCompleted()).isEqualTo(defaultForm.getIsCompleted());
+    }
+
+    @Test
+    void 更新のたびに版番号が1増えるか() {
+      Long beforeVersion = reminderRepository.selectById(defaultId).get().getVersion();
+
+      ReminderRecord firstRecord = reminderRepository.update(defaultId, defaultForm).get();
+      ReminderRecord secondRecord = reminderRepository.update(defaultId, defaultForm).get();
+
+      assertThat(firstRecord.getVersion()).isEqualTo(beforeVersion + 1);
+      assertThat(secondRecord.getVersion())
+        .isEqualTo(beforeVersion + 2).as("内容が同じでも、更新すれば版番号は増えるはず");
+    }
+
+    @Test
+    void 版番号が一致しない場合は更新されないか() {
+      Long currentVersion = reminderRepository.selectById(defaultId).get().getVersion();
+
+      Optional<ReminderRecord> staleOptRecord = reminderRepository.update(defaultId, defaultForm, List.of(currentVersion + 1));
+      Optional<ReminderRecord> actualOptRecord = reminderRepository.update(defaultId, defaultForm, List.of(currentVersion + 1, currentVersion));
+
+      assertThat(staleOptRecord).isEmpty().as("版番号が一致しなければ、Optionalは空であるべき");
+      assertThat(actualOptRecord).isPresent().as("候補のいずれかが版番号に一致すれば、更新されるはず");
+      assertThat(actualOptRecord.get().getVersion()).isEqualTo(currentVersion + 1);
+    }
+
+    @Test
+    void 存在しないIDを指定したときにOptionalが空であるか() {
+      Optional<ReminderRecord> actualOptRecord = reminderRepository.update(99L, defaultForm);
+
+      assertThat(actualOptRecord)
+        .isEmpty().as("更新対象の行が無ければ、Optionalは空であるべき");
+    }
+
     @Test
     void 更新したレコードのNullチェック() {
       reminderRepository.update(defaultId, defaultForm);
@@ -251,6 +396,82 @@ public class ReminderRepositoryTest {
     }
   }
 
+  @Nested
+  class method_of_bulkUpdate {
+    @Test
+    void IDのリストで指定したレコードを一括更新できるか() {
+      List<ReminderRecord> actualRecordList = reminderRepository.bulkUpdate(List.of(1L, 3L), null, true, null);
+
+      assertThat(actualRecordList)
+        .extracting(ReminderRecord::getId)
+        .containsExactlyInAnyOrder(1L, 3L);
+      assertThat(actualRecordList)
+        .allSatisfy(actualRecord -> assertThat(actualRecord.isCompleted()).isTrue());
+      assertThat(reminderRepository.selectById(2L).get().getPriority())
+        .isEqualTo(2).as("指定していないレコードは更新されないはず");
+    }
+
+    @Test
+    void 絞り込み条件に一致するレコードを一括更新できるか() {
+      ReminderCriteria criteria = new ReminderCriteria(false, null, LocalDate.of(2023, 9, 16), null);
+
+      List<ReminderRecord> actualRecordList = reminderRepository.bulkUpdate(null, criteria, null, 0);
+
+      assertThat(actualRecordList)
+        .extracting(ReminderRecord::getId)
+        .containsExactly(1L).as("未完了かつ期限が2023-09-16より前のレコードは1件のはず");
+      assertThat(actualRecordList.get(0).getPriority()).isEqualTo(0);
+      assertThat(actualRecordList.get(0).isCompleted())
+        .isFalse().as("isCompleted を指定していなければ更新されないはず");
+    }
+  }
+
+  @Nested
+  class method_of_bulkUpdateChunk {
+    @Test
+    void 絞り込み条件に一致するレコードをIDの順にchunkSize件ずつ更新できるか() {
+      ReminderCriteria criteria = new ReminderCriteria(null, null, LocalDate.of(2023, 9, 17), null);
+
+      List<ReminderRecord> firstChunk = reminderRepository.bulkUpdateChunk(criteria, null, 0, 0L, 2);
+      List<ReminderRecord> secondChunk = reminderRepository.bulkUpdateChunk(criteria, null, 0, 2L, 2);
+
+      assertThat(firstChunk)
+        .extracting(ReminderRecord::getId)
+        .containsExactlyInAnyOrder(1L, 2L);
+      assertThat(secondChunk)
+        .extracting(ReminderRecord::getId)
+        .containsExactly(3L).as("更新後も条件に一致するが、afterId 以前のレコードは更新されないはず");
+      assertThat(secondChunk.get(0).getPriority()).isEqualTo(0);
+      assertThat(reminderRepository.bulkUpdateChunk(criteria, null, 0, 3L, 2)).isEmpty();
+    }
+  }
+
+  @Nested
+  class method_of_deleteChunk {
+    @Test
+    void IDのリストで指定したレコードを削除できるか() {
+      List<ReminderRecord> actualRecordList = reminderRepository.deleteChunk(List.of(1L, 3L, 99L), null, 3);
+
+      assertThat(actualRecordList)
+        .extracting(ReminderRecord::getId)
+        .containsExactlyInAnyOrder(1L, 3L).as("存在しないIDは無視されるはず");
+      assertThat(reminderRepository.selectById(1L)).isEmpty();
+      assertThat(reminderRepository.selectById(2L)).isPresent();
+    }
+
+    @Test
+    void 絞り込み条件に一致するレコードをchunkSize件ずつ削除できるか() {
+      ReminderCriteria criteria = new ReminderCriteria(null, null, LocalDate.of(2023, 9, 17), null);
+
+      List<ReminderRecord> firstChunk = reminderRepository.deleteChunk(null, criteria, 2);
+      List<ReminderRecord> secondChunk = reminderRepository.deleteChunk(null, criteria, 2);
+
+      assertThat(firstChunk).hasSize(2).as("1回目は chunkSize 件削除されるはず");
+      assertThat(secondChunk).hasSize(1).as("2回目は残りの1件だけ削除されるはず");
+      assertThat(reminderRepository.selectList(10, 0L)).isEmpty();
+    }
+  }
+
   @Nested
   class method_of_delete {
     Long defaultId = 1L;
@@ -263,6 +484,18 @@ public class ReminderRepositoryTest {
         .isInstanceOf(NoSuchElementException.class)
         .as("レコードの削除が成功していれば、存在しないレコードにアクセスすることになり、NoSuchElementExceptionが発生するはず");
     }
+
+    @Test
+    void 削除したレコードが版番号とともに返るか() {
+      Long beforeVersion = reminderRepository.selectById(defaultId).get().getVersion();
+
+      ReminderRecord deletedRecord = reminderRepository.delete(defaultId).get();
+
+      assertThat(deletedRecord.getId()).isEqualTo(defaultId);
+      assertThat(deletedRecord.getVersion()).isEqualTo(beforeVersion);
+      assertThat(reminderRepository.delete(defaultId))
+        .isEmpty().as("削除済みのIDを指定した場合、削除したレコードは空であるはず");
+    }
   }
 
   private ReminderRecord createExpectedRecord() {
@@ -274,7 +507,8 @@ public class ReminderRepositoryTest {
       1,
       false,
       LocalDateTime.now(),
-      LocalDateTime.now()
+      LocalDateTime.now(),
+      0L
     );
   }
 
@@ -287,7 +521,8 @@ public class ReminderRepositoryTest {
       1,
       false,
       LocalDateTime.now(),
-      LocalDateTime.now()
+      LocalDateTime.now(),
+      0L
     );
   }
 
@@ -300,7 +535,8 @@ public class ReminderRepositoryTest {
       1,
       false,
       LocalDateTime.now(),
-      LocalDateTime.now()
+      LocalDateTime.now(),
+      0L
     );
   }
 
@@ -5,14 +5,31 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.time.Period;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import app.reminderappbackend.repository.ReminderCriteria;
+import app.reminderappbackend.repository.ReminderRecord;
+import app.reminderappbackend.repository.ReminderRepository;
 import reminderapi.model.ReminderForm;
 
 @SpringBootTest
@@ -21,6 +38,21 @@ public class ReminderServiceTest {
   @Autowired
   private ReminderService service;
 
+  @Autowired
+  private ReminderEntityCache reminderCache;
+
+  @Autowired
+  private ReminderStatsCounter reminderStatsCounter;
+
+  @Autowired
+  private ReminderDueIndex reminderDueIndex;
+
+  @Autowired
+  private ReminderSearchIndex reminderSearchIndex;
+
+  @Autowired
+  private ReminderRepository reminderRepository;
+
   @Nested
   class method_of_findById {
     @Test
@@ -47,6 +79,18 @@ public class ReminderServiceTest {
       assertThatThrownBy(() -> service.findById(verifyId))
         .isInstanceOf(ReminderEntityNotFoundException.class);
     }
+
+    @Test
+    void 同じIDを続けて取得した場合2回目はキャッシュから返すか() {
+      Long verifyId = 2L;
+      service.findById(verifyId);
+      long beforeHitCount = reminderCache.stats().hitCount();
+
+      ReminderEntity actualEntity = service.findById(verifyId);
+
+      assertThat(actualEntity.getId()).isEqualTo(verifyId);
+      assertThat(reminderCache.stats().hitCount()).isEqualTo(beforeHitCount + 1);
+    }
   }
 
   @Nested
@@ -130,6 +174,23 @@ public class ReminderServiceTest {
 
   @Nested
   class method_of_update {
+    @Test
+    void 更新後に取得した場合キャッシュではなく更新後の内容を返すか() {
+      // 他のテストが読む初期データを書き換えないよう、ここで作成したリソースを更新して必ず削除する
+      Long verifyId = service.create(createForm()).getId();
+      try {
+        service.findById(verifyId);
+
+        ReminderForm verifyForm = createForm();
+        verifyForm.setTitle("updated.");
+        service.update(verifyId, verifyForm);
+
+        assertThat(service.findById(verifyId).getTitle()).isEqualTo("updated.");
+      } finally {
+        service.delete(verifyId);
+      }
+    }
+
     @Test
     void IDが存在しない場合ReminderEntityNotFoundExceptionを投げるか() {
       Long verifyId = 99L;
@@ -138,10 +199,108 @@ public class ReminderServiceTest {
       assertThatThrownBy(() -> service.update(verifyId, verifyForm))
         .isInstanceOf(ReminderEntityNotFoundException.class);
     }
+
+    @Test
+    void 版番号が一致しない場合ReminderVersionConflictExceptionを投げるか() {
+      // 一覧件数のテストに影響しないよう、ここで作成したリソースは必ず削除される
+      ReminderEntity createdEntity = service.create(createForm());
+      try {
+        ReminderEntity updatedEntity = service.update(createdEntity.getId(), createForm(), List.of(createdEntity.getVersion()));
+        assertThat(updatedEntity.getVersion()).isEqualTo(createdEntity.getVersion() + 1);
+
+        assertThatThrownBy(() -> service.update(createdEntity.getId(), createForm(), List.of(createdEntity.getVersion())))
+          .as("古い版番号では更新できないはず").isInstanceOf(ReminderVersionConflictException.class);
+        assertThatThrownBy(() -> service.update(99L, createForm(), List.of(0L)))
+          .as("IDが存在しない場合は、版番号にかかわらず NotFound のはず").isInstanceOf(ReminderEntityNotFoundException.class);
+      } finally {
+        service.delete(createdEntity.getId());
+      }
+    }
+
+    @Test
+    void 同じ版番号での並行更新は1件だけ成功するか() throws Exception {
+      ReminderEntity createdEntity = service.create(createForm());
+      ExecutorService executor = Executors.newFixedThreadPool(4);
+      try {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> futureList = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+          futureList.add(executor.submit(() -> {
+            start.await();
+            try {
+              service.update(createdEntity.getId(), createForm(), createdEntity.getVersion());
+              return true;
+            } catch (ReminderVersionConflictException ex) {
+              return false;
+            }
+          }));
+        }
+        start.countDown();
+
+        long successCount = 0;
+        for (Future<Boolean> future : futureList) {
+          if (future.get(10, TimeUnit.SECONDS)) {
+            successCount++;
+          }
+        }
+        assertThat(successCount).as("同じ版番号を前提にした更新は、1件だけが成功するはず").isEqualTo(1);
+      } finally {
+        executor.shutdownNow();
+        service.delete(createdEntity.getId());
+      }
+    }
+
+    @Test
+    void 更新と削除が並行した場合でも404のセマンティクスが保たれるか() throws Exception {
+      ExecutorService executor = Executors.newFixedThreadPool(2);
+      try {
+        for (int i = 0; i < 20; i++) {
+          // 一覧件数のテストに影響しないよう、ここで作成したリソースは必ず削除される
+          Long verifyId = service.create(createForm()).getId();
+          CountDownLatch start = new CountDownLatch(1);
+
+          Future<ReminderEntity> updateFuture = executor.submit(() -> {
+            start.await();
+            return service.update(verifyId, createForm());
+          });
+          Future<?> deleteFuture = executor.submit(() -> {
+            start.await();
+            service.delete(verifyId);
+            return null;
+          });
+          start.countDown();
+
+          deleteFuture.get(10, TimeUnit.SECONDS);
+          try {
+            // 削除より先に更新されていれば更新結果が、後であれば404になるはず
+            assertThat(updateFuture.get(10, TimeUnit.SECONDS).getId()).isEqualTo(verifyId);
+          } catch (ExecutionException ex) {
+            assertThat(ex.getCause()).isInstanceOf(ReminderEntityNotFoundException.class);
+          }
+          assertThatThrownBy(() -> service.findById(verifyId))
+            .isInstanceOf(ReminderEntityNotFoundException.class)
+            .as("削除後は、更新の成否にかかわらずリソースは存在しないはず");
+        }
+      } finally {
+        executor.shutdownNow();
+      }
+    }
   }
 
   @Nested
   class method_of_delete {
+    @Test
+    void 削除後に取得した場合キャッシュではなくReminderEntityNotFoundExceptionを投げるか() {
+      // 一覧件数のテストに影響しないよう、ここで作成したリソースを削除する
+      ReminderEntity created = service.create(createForm());
+      service.findById(created.getId());
+
+      service.delete(created.getId());
+
+      assertThatThrownBy(() -> service.findById(created.getId()))
+        .isInstanceOf(ReminderEntityNotFoundException.class);
+    }
+
     @Test
     void IDが存在しない場合ReminderEntityNotFoundExceptionを投げるか() {
       Long verifyId = 99L;
@@ -149,6 +308,400 @@ public class ReminderServiceTest {
       assertThatThrownBy(() -> service.delete(verifyId))
         .isInstanceOf(ReminderEntityNotFoundException.class);
     }
+
+    @Test
+    void 同じIDを並行して削除した場合成功するのは1回だけか() throws Exception {
+      Long verifyId = service.create(createForm()).getId();
+      ExecutorService executor = Executors.newFixedThreadPool(4);
+      try {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+          futures.add(executor.submit(() -> {
+            start.await();
+            try {
+              service.delete(verifyId);
+              return true;
+            } catch (ReminderEntityNotFoundException ex) {
+              return false;
+            }
+          }));
+        }
+        start.countDown();
+
+        long succeededCount = 0;
+        for (Future<Boolean> future : futures) {
+          if (future.get(10, TimeUnit.SECONDS)) {
+            succeededCount++;
+          }
+        }
+        assertThat(succeededCount).isEqualTo(1).as("残りの削除は404になるはず");
+      } finally {
+        executor.shutdownNow();
+      }
+    }
+  }
+
+  @Nested
+  class method_of_updateAll {
+    @Test
+    void 絞り込み条件に一致するリソースをchunkSize件ずつすべて更新できるか() {
+      // 一覧件数のテストに影響しないよう、ここで作成したリソースだけが条件に一致するようにする
+      ReminderForm form = createForm();
+      form.setDueDate(LocalDate.of(2000, 1, 1));
+      List<Long> createdIdList = List.of(service.create(form).getId(), service.create(form).getId(), service.create(form).getId());
+      ReminderCriteria criteria = new ReminderCriteria(null, null, LocalDate.of(2000, 1, 2), null);
+      // 更新後も条件に一致し続けるが、同じリソースを2回更新しないこと
+      ReminderService target = AopTestUtils.getTargetObject(service);
+      ReflectionTestUtils.setField(target, "bulkUpdateChunkSize", 2);
+      try {
+        ReminderBulkUpdateResult actualResult = service.updateAll(null, criteria, true, null);
+
+        assertThat(actualResult.getUpdatedCount()).isEqualTo(3);
+        assertThat(actualResult.getUpdatedIdList())
+          .as("絞り込み条件で指定した場合、IDのリストは返さないはず").isNull();
+        createdIdList.forEach(id -> {
+          assertThat(service.findById(id).getIsCompleted()).isTrue();
+          assertThat(service.findById(id).getVersion()).isEqualTo(1L).as("1回だけ更新されるはず");
+        });
+      } finally {
+        ReflectionTestUtils.setField(target, "bulkUpdateChunkSize", 500);
+        service.deleteAll(createdIdList, null);
+      }
+    }
+
+    @Test
+    void IDのリストで指定した場合は更新したIDを返すか() {
+      // 他のテストが読む初期データを書き換えないよう、ここで作成したリソースを更新して必ず削除する
+      Long createdId = service.create(createForm()).getId();
+      try {
+        ReminderBulkUpdateResult actualResult = service.updateAll(List.of(createdId, 99L), null, null, 0);
+
+        assertThat(actualResult.getUpdatedCount()).isEqualTo(1);
+        assertThat(actualResult.getUpdatedIdList()).containsExactly(createdId).as("存在しないIDは含まれないはず");
+        assertThat(service.findById(createdId).getPriority()).isEqualTo(0);
+      } finally {
+        service.delete(createdId);
+      }
+    }
+  }
+
+  @Nested
+  class method_of_deleteAll {
+    @Test
+    void 絞り込み条件に一致するリソースをすべて削除できるか() {
+      // 一覧件数のテストに影響しないよう、ここで作成したリソースだけが条件に一致するようにする
+      ReminderForm form = createForm();
+      form.setDueDate(LocalDate.of(2000, 1, 1));
+      List<Long> createdIdList = List.of(service.create(form).getId(), service.create(form).getId());
+      ReminderCriteria criteria = new ReminderCriteria(null, null, LocalDate.of(2000, 1, 2), null);
+
+      long actualDeletedCount = service.deleteAll(null, criteria);
+
+      assertThat(actualDeletedCount).isEqualTo(2);
+      createdIdList.forEach(id -> assertThatThrownBy(() -> service.findById(id))
+        .isInstanceOf(ReminderEntityNotFoundException.class));
+    }
+  }
+
+  @Nested
+  class method_of_findDueWithin {
+    @Test
+    void 作成_更新_削除がインデックスに反映されるか() {
+      ReminderForm form = createForm();
+      form.setDueDate(LocalDate.now().plusDays(3));
+      Long createdId = service.create(form).getId();
+
+      assertThat(service.findDueWithin(Period.ofDays(7), 1000))
+        .extracting(ReminderEntity::getId)
+        .as("期限が期間内の未完了のリマインダーは含まれるはず").contains(createdId);
+      assertThat(service.findDueWithin(Period.ofDays(2), 1000))
+        .extracting(ReminderEntity::getId)
+        .as("期限が期間外のリマインダーは含まれないはず").doesNotContain(createdId);
+
+      form.setIsCompleted(true);
+      service.update(createdId, form);
+      assertThat(service.findDueWithin(Period.ofDays(7), 1000))
+        .extracting(ReminderEntity::getId)
+        .as("完了したリマインダーは含まれないはず").doesNotContain(createdId);
+
+      form.setIsCompleted(false);
+      service.update(createdId, form);
+      service.delete(createdId);
+      assertThat(service.findDueWithin(Period.ofDays(7), 1000))
+        .extracting(ReminderEntity::getId)
+        .as("削除したリマインダーは含まれないはず").doesNotContain(createdId);
+    }
+
+    @Test
+    void 期限の昇順でlimit件まで返すか() {
+      ReminderForm form = createForm();
+      form.setDueDate(LocalDate.now().plusDays(2));
+      Long laterId = service.create(form).getId();
+      form.setDueDate(LocalDate.now().plusDays(1));
+      Long earlierId = service.create(form).getId();
+
+      try {
+        List<ReminderEntity> actualEntityList = service.findDueWithin(Period.ofDays(2), 1000);
+        assertThat(actualEntityList)
+          .extracting(ReminderEntity::getDueDate)
+          .isSorted();
+        assertThat(actualEntityList)
+          .extracting(ReminderEntity::getId)
+          .containsSubsequence(earlierId, laterId);
+        assertThat(service.findDueWithin(Period.ofDays(2), 1)).hasSize(1);
+      } finally {
+        service.delete(laterId);
+        service.delete(earlierId);
+      }
+    }
+
+    @Test
+    void 更新と削除が並行した場合でもインデックスがDBの内容と一致するか() throws Exception {
+      // 他のテストのリソースと範囲が重ならないよう、遠い未来の期限で作成する
+      LocalDate baseDate = LocalDate.of(2100, 1, 1);
+      List<Long> idList = new ArrayList<>();
+      for (int i = 0; i < 30; i++) {
+        ReminderForm form = createForm();
+        form.setDueDate(baseDate);
+        idList.add(service.create(form).getId());
+      }
+
+      ExecutorService executor = Executors.newFixedThreadPool(8);
+      try {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+          Random random = new Random(i);
+          futures.add(executor.submit(() -> {
+            start.await();
+            for (int j = 0; j < 200; j++) {
+              Long id = idList.get(random.nextInt(idList.size()));
+              try {
+                if (random.nextInt(100) == 0) {
+                  service.delete(id);
+                } else {
+                  ReminderForm form = createForm();
+                  form.setDueDate(baseDate.plusDays(random.nextInt(30)));
+                  form.setIsCompleted(random.nextBoolean());
+                  service.update(id, form);
+                }
+              } catch (ReminderEntityNotFoundException ex) {
+                // 他のスレッドに削除済み
+              }
+            }
+            return null;
+          }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+          future.get(60, TimeUnit.SECONDS);
+        }
+
+        List<String> expectedList = idList.stream()
+          .map(id -> reminderRepository.selectById(id))
+          .flatMap(Optional::stream)
+          .filter(record -> !record.isCompleted())
+          .sorted(Comparator.comparing(ReminderRecord::getDueDate).thenComparing(ReminderRecord::getId))
+          .map(record -> record.getId() + ":" + record.getDueDate() + ":" + record.getVersion())
+          .collect(Collectors.toList());
+        List<String> actualList = reminderDueIndex.findDueBetween(baseDate, baseDate.plusDays(30), 1000).stream()
+          .map(entity -> entity.getId() + ":" + entity.getDueDate() + ":" + entity.getVersion())
+          .collect(Collectors.toList());
+        assertThat(actualList)
+          .as("古い通知で削除済みの行が復活したり、古い内容が残ったりしないはず")
+          .containsExactlyElementsOf(expectedList);
+      } finally {
+        executor.shutdownNow();
+        // 一覧件数のテストに影響しないよう、ここで作成したリソースを削除する
+        for (Long id : idList) {
+          try {
+            service.delete(id);
+          } catch (ReminderEntityNotFoundException ex) {
+            // 並行処理の中で削除済み
+          }
+        }
+      }
+    }
+  }
+
+  @Nested
+  class method_of_search {
+    @Test
+    void タイトルに含むものを説明に含むものより上位で返すか() {
+      ReminderForm form = createForm();
+      form.setTitle("買い物");
+      form.setDescription("ゾウガメの餌を買う");
+      Long descriptionHitId = service.create(form).getId();
+      form.setTitle("ゾウガメの餌やり");
+      form.setDescription("朝と夕方の2回");
+      Long titleHitId = service.create(form).getId();
+
+      try {
+        ReminderSearchResult actualResult = service.search("ゾウガメ", 10, 0);
+
+        assertThat(actualResult.getTotal()).isEqualTo(2);
+        assertThat(actualResult.getEntityList())
+          .extracting(ReminderEntity::getId)
+          .containsExactly(titleHitId, descriptionHitId).as("タイトルに含むものが上位に来るはず");
+        assertThat(service.search("ゾウガメ", 1, 1).getEntityList())
+          .extracting(ReminderEntity::getId)
+          .containsExactly(descriptionHitId).as("offset と limit でページングできるはず");
+      } finally {
+        service.delete(descriptionHitId);
+        service.delete(titleHitId);
+      }
+    }
+
+    @Test
+    void 更新と削除がインデックスに反映されるか() {
+      ReminderForm form = createForm();
+      form.setTitle("オオサンショウウオ");
+      Long createdId = service.create(form).getId();
+      assertThat(service.search("サンショウウオ", 10, 0).getTotal()).isEqualTo(1);
+
+      form.setTitle("Shoebill（ハシビロコウ）");
+      service.update(createdId, form);
+      assertThat(service.search("サンショウウオ", 10, 0).getTotal())
+        .as("更新で消えた語ではヒットしないはず").isZero();
+      assertThat(service.search("ＳＨＯＥＢＩＬＬ", 10, 0).getEntityList())
+        .extracting(ReminderEntity::getId)
+        .as("更新後の語でヒットするはず（全角/半角・大文字/小文字は区別しない）").containsExactly(createdId);
+
+      service.delete(createdId);
+      assertThat(service.search("ハシビロコウ", 10, 0).getEntityList())
+        .extracting(ReminderEntity::getId)
+        .as("削除したリマインダーはヒットしないはず").doesNotContain(createdId);
+    }
+
+    @Test
+    void 一文字のクエリでもヒットするか() {
+      ReminderForm form = createForm();
+      form.setTitle("風邪薬を飲む");
+      Long createdId = service.create(form).getId();
+
+      try {
+        assertThat(service.search("薬", 10, 0).getEntityList())
+          .extracting(ReminderEntity::getId)
+          .as("語の途中の1文字でもヒットするはず").contains(createdId);
+      } finally {
+        service.delete(createdId);
+      }
+    }
+
+    @Test
+    void 順番が入れ替わって届いた古い変更通知を無視するか() {
+      // DBに存在しないIDで、インデックスに直接変更通知を送る
+      Long phantomId = -2L;
+      reminderSearchIndex.onSaved(createPhantomEntity(phantomId, "カモノハシ", 1L));
+      reminderSearchIndex.onSaved(createPhantomEntity(phantomId, "ハリモグラ", 0L));
+      assertThat(reminderSearchIndex.search("ハリモグラ", 10, 0).getIdList())
+        .as("古い版の内容で上書きされないはず").doesNotContain(phantomId);
+      assertThat(reminderSearchIndex.search("カモノハシ", 10, 0).getIdList()).contains(phantomId);
+
+      reminderSearchIndex.onDeleted(phantomId, 1L);
+      reminderSearchIndex.onSaved(createPhantomEntity(phantomId, "カモノハシ", 1L));
+      assertThat(reminderSearchIndex.search("カモノハシ", 10, 0).getIdList())
+        .as("削除より後に届いた保存の通知で復活しないはず").doesNotContain(phantomId);
+    }
+
+    private ReminderEntity createPhantomEntity(Long id, String title, Long version) {
+      return new ReminderEntity(
+        id, title, null, LocalDate.now(), 1, false,
+        OffsetDateTime.now(), OffsetDateTime.now(), version
+      );
+    }
+  }
+
+  @Nested
+  class method_of_getStats {
+    @Test
+    void 作成_更新_削除がカウンタに反映されるか() {
+      ReminderStats beforeStats = service.getStats();
+
+      ReminderForm form = createForm();
+      form.setPriority(2);
+      form.setDueDate(LocalDate.now().minusDays(1));
+      Long createdId = service.create(form).getId();
+      ReminderStats createdStats = service.getStats();
+      assertThat(createdStats.getTotalCount()).isEqualTo(beforeStats.getTotalCount() + 1);
+      assertThat(createdStats.getIncompleteCount()).isEqualTo(beforeStats.getIncompleteCount() + 1);
+      assertThat(createdStats.getOverdueCount()).isEqualTo(beforeStats.getOverdueCount() + 1);
+      assertThat(createdStats.getCountByPriority().get(2)).isEqualTo(beforeStats.getCountByPriority().get(2) + 1);
+
+      form.setIsCompleted(true);
+      form.setPriority(0);
+      service.update(createdId, form);
+      ReminderStats updatedStats = service.getStats();
+      assertThat(updatedStats.getCompletedCount()).isEqualTo(beforeStats.getCompletedCount() + 1);
+      assertThat(updatedStats.getOverdueCount()).as("完了したリマインダーは期限切れに数えないはず").isEqualTo(beforeStats.getOverdueCount());
+      assertThat(updatedStats.getCountByPriority().get(0)).isEqualTo(beforeStats.getCountByPriority().get(0) + 1);
+      assertThat(updatedStats.getCountByPriority().get(2)).isEqualTo(beforeStats.getCountByPriority().get(2));
+
+      service.delete(createdId);
+      ReminderStats deletedStats = service.getStats();
+      assertThat(deletedStats.getTotalCount()).isEqualTo(beforeStats.getTotalCount());
+      assertThat(deletedStats.getCompletedCount()).isEqualTo(beforeStats.getCompletedCount());
+    }
+
+    @Test
+    void 照合でカウンタのずれを補正できるか() {
+      reconcileStats();
+      ReminderStats expectedStats = service.getStats();
+
+      // DBに存在しないリマインダーの変更通知を送り、カウンタをずらす
+      ReminderEntity phantomEntity = new ReminderEntity(
+        -1L, "phantom", "phantom", LocalDate.now().minusDays(1), 1, false,
+        OffsetDateTime.now(), OffsetDateTime.now(), 0L
+      );
+      reminderStatsCounter.onSaved(phantomEntity);
+      assertThat(service.getStats()).isNotEqualTo(expectedStats);
+
+      try {
+        reminderStatsCounter.reconcile();
+        assertThat(service.getStats()).as("1回目の照合では、一時的なずれと区別できないため補正しないはず").isNotEqualTo(expectedStats);
+
+        reminderStatsCounter.reconcile();
+        assertThat(service.getStats()).as("同じずれが続けて見つかれば集計結果に合わせて補正されるはず").isEqualTo(expectedStats);
+      } finally {
+        reminderStatsCounter.onDeleted(phantomEntity.getId(), phantomEntity.getVersion());
+        reconcileStats();
+      }
+    }
+
+    @Test
+    void 照合で通知を取りこぼした更新を反映するか() {
+      ReminderForm form = createForm();
+      form.setPriority(2);
+      Long createdId = service.create(form).getId();
+
+      try {
+        ReminderStats beforeStats = service.getStats();
+
+        // サービスを経由せずに更新し、変更通知を取りこぼした状態にする
+        form.setPriority(0);
+        reminderRepository.update(createdId, form);
+        assertThat(service.getStats()).isEqualTo(beforeStats);
+
+        reconcileStats();
+
+        ReminderStats reconciledStats = service.getStats();
+        assertThat(reconciledStats.getCountByPriority().get(0))
+          .as("集計結果に合わせて補正されるはず").isEqualTo(beforeStats.getCountByPriority().get(0) + 1);
+        assertThat(reconciledStats.getCountByPriority().get(2)).isEqualTo(beforeStats.getCountByPriority().get(2) - 1);
+        assertThat(reconciledStats.getTotalCount()).isEqualTo(beforeStats.getTotalCount());
+      } finally {
+        service.delete(createdId);
+        // 逆引きは更新前の優先度のままなので、削除でずれたカウンタを補正しておく
+        reconcileStats();
+      }
+    }
+
+    // 照合は同じずれが2回続けて見つかった場合にだけ補正するため、2回続けて照合する
+    private void reconcileStats() {
+      reminderStatsCounter.reconcile();
+      reminderStatsCounter.reconcile();
+    }
   }
 
   public ReminderEntity createExpectedEntity() {
@@ -160,7 +713,8 @@ public class ReminderServiceTest {
       1,
       false,
       OffsetDateTime.now(ZoneOffset.UTC).plusHours(9), // 実測値のタイムゾーン（UTC）に合わせる
-      OffsetDateTime.now(ZoneOffset.UTC).plusHours(9)  // 実測値のタイムゾーン（UTC）に合わせる
+      OffsetDateTime.now(ZoneOffset.UTC).plusHours(9), // 実測値のタイムゾーン（UTC）に合わせる
+      0L
     );
   }
 